@@ -0,0 +1,14 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks;
+
+import fr.cneftali.integrations.dropwizard.spring.AbstractSpringApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ComponentScan("fr.cneftali.integrations.dropwizard.spring.benchmarks.resources")
+public class BenchmarkApplication extends AbstractSpringApplication<io.dropwizard.Configuration> {
+
+    public static void main(final String[] args) throws Exception {
+        new BenchmarkApplication().run(args);
+    }
+}
@@ -0,0 +1,58 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks;
+
+import fr.cneftali.integrations.dropwizard.spring.context.CandidateComponentsIndex;
+import fr.cneftali.integrations.dropwizard.spring.context.IndexedAnnotationConfigWebApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the refresh of a context scanning a package, walking the class path or reading the component index
+ * generated by {@code dropwizard-spring-indexer}. Run it from the shaded jar to get the cost of scanning a fat jar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentScanBenchmark {
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    @Param({"fr.cneftali.integrations.dropwizard.spring.benchmarks.components", "fr"})
+    private String basePackage;
+
+    private CandidateComponentsIndex componentIndex;
+
+    @Setup
+    public void setUp() throws IOException {
+        componentIndex = indexed ? CandidateComponentsIndex.load(getClass().getClassLoader()) : null;
+        if (indexed && componentIndex == null) {
+            throw new IllegalStateException("No component index, build the benchmarks with dropwizard-spring-indexer");
+        }
+    }
+
+    @Benchmark
+    public int refresh() {
+        final IndexedAnnotationConfigWebApplicationContext context = new IndexedAnnotationConfigWebApplicationContext();
+        context.setComponentIndex(componentIndex);
+        context.scan(basePackage);
+        context.refresh();
+        final int beans = context.getBeanDefinitionCount();
+        context.close();
+        return beans;
+    }
+}
@@ -0,0 +1,105 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ISO8601DateFormat;
+import fr.cneftali.integrations.dropwizard.spring.jackson.Iso8601DateModule;
+import io.dropwizard.jackson.Jackson;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
+
+/**
+ * Compares date-heavy payloads (de)serialized through the cloned {@link ISO8601DateFormat} and through the
+ * {@link Iso8601DateModule}. Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateSerializationBenchmark {
+
+    @Param({"dateFormat", "module"})
+    private String dates;
+
+    @Param({"100"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<Event> events;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        final ObjectMapper objectMapper = Jackson.newObjectMapper()
+                                                 .disable(WRITE_DATES_AS_TIMESTAMPS)
+                                                 .setDateFormat(new ISO8601DateFormat());
+        if ("module".equals(dates)) {
+            objectMapper.registerModule(new Iso8601DateModule());
+        }
+        writer = objectMapper.writerFor(new TypeReference<List<Event>>() { });
+        reader = objectMapper.readerFor(new TypeReference<List<Event>>() { });
+        events = IntStream.range(0, size)
+                          .mapToObj(i -> {
+                              final Instant instant = Instant.ofEpochSecond(1500000000L + i);
+                              return new Event(i,
+                                               Date.from(instant),
+                                               Date.from(instant.plusSeconds(60)),
+                                               instant,
+                                               OffsetDateTime.ofInstant(instant, ZoneOffset.UTC));
+                          })
+                          .collect(Collectors.toList());
+        json = writer.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public List<Event> deserialize() throws Exception {
+        return reader.readValue(json);
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Event {
+
+        private long id;
+        private Date createdAt;
+        private Date updatedAt;
+        private Instant occurredAt;
+        private OffsetDateTime receivedAt;
+    }
+}
@@ -0,0 +1,27 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A typical resource payload: strings, numbers, dates, optional and nested values.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Greeting {
+
+    private long id;
+    private String language;
+    private String message;
+    private Date createdAt;
+    private Optional<String> author;
+    private List<String> tags;
+}
@@ -0,0 +1,104 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks;
+
+import com.codahale.metrics.MetricRegistry;
+import fr.cneftali.integrations.dropwizard.spring.SpringBundle;
+import fr.cneftali.integrations.dropwizard.spring.SpringConfiguration;
+import fr.cneftali.integrations.dropwizard.spring.SpringFactory;
+import io.dropwizard.Configuration;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.setup.Environment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.context.ConfigurableWebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SpringBundle#run(Configuration, Environment)} against 4 modules of 2500 beans each, refreshed one
+ * after the other or concurrently.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ModuleRefreshBenchmark {
+
+    private static final int MODULES = 4;
+    private static final int BEANS = 2500;
+
+    @Param({"false", "true"})
+    private boolean parallelRefresh;
+
+    private SpringBundle<ModuleConfiguration> springBundle;
+    private Environment environment;
+    private ModuleConfiguration configuration;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        springBundle = new SpringBundle<>("benchmark", BenchmarkApplication.class);
+        for (int i = 0; i < MODULES; i++) {
+            final String module = "module" + i;
+            springBundle.addModule(module)
+                        .addBeanFactoryPostProcessor(beanFactory -> {
+                            final BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+                            for (int j = 0; j < BEANS; j++) {
+                                registry.registerBeanDefinition(module + "-synthetic" + j,
+                                                                BeanDefinitionBuilder.genericBeanDefinition(SyntheticBean.class)
+                                                                                     .addPropertyValue("name", "synthetic" + j)
+                                                                                     .getBeanDefinition());
+                            }
+                        });
+        }
+        environment = new Environment("benchmark",
+                                      Jackson.newObjectMapper(),
+                                      Validators.newValidator(),
+                                      new MetricRegistry(),
+                                      getClass().getClassLoader());
+        configuration = new ModuleConfiguration();
+        configuration.getSpringFactory()
+                     .setParallelRefresh(parallelRefresh);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        springBundle.getModules()
+                    .values()
+                    .forEach(ConfigurableWebApplicationContext::close);
+        final ConfigurableApplicationContext context = springBundle.getContext();
+        context.close();
+        ((ConfigurableApplicationContext) context.getParent()).close();
+    }
+
+    @Benchmark
+    public SpringBundle<ModuleConfiguration> run() throws Exception {
+        springBundle.run(configuration, environment);
+        return springBundle;
+    }
+
+    public static class ModuleConfiguration extends Configuration implements SpringConfiguration {
+
+        private final SpringFactory springFactory = new SpringFactory();
+
+        @Override
+        public SpringFactory getSpringFactory() {
+            return springFactory;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import fr.cneftali.integrations.dropwizard.spring.AbstractSpringApplication;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Bootstrap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures (de)serialization through the {@link ObjectMapper} configured by {@link AbstractSpringApplication}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectMapperBenchmark {
+
+    @Param({"1", "100"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<Greeting> greetings;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Bootstrap<Configuration> bootstrap = new Bootstrap<>(new BenchmarkApplication());
+        bootstrap.getApplication()
+                 .initialize(bootstrap);
+        final ObjectMapper objectMapper = bootstrap.getObjectMapper();
+        writer = objectMapper.writerFor(new TypeReference<List<Greeting>>() { });
+        reader = objectMapper.readerFor(new TypeReference<List<Greeting>>() { });
+        greetings = IntStream.range(0, size)
+                             .mapToObj(i -> new Greeting(i,
+                                                         "en",
+                                                         "Hello world " + i,
+                                                         new Date(1500000000000L + i),
+                                                         Optional.of("benchmark"),
+                                                         Arrays.asList("spring", "dropwizard")))
+                             .collect(Collectors.toList());
+        json = writer.writeValueAsBytes(greetings);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(greetings);
+    }
+
+    @Benchmark
+    public List<Greeting> deserialize() throws Exception {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,51 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks;
+
+import fr.cneftali.integrations.dropwizard.spring.ParameterNameProvider;
+import fr.cneftali.integrations.dropwizard.spring.benchmarks.resources.GreetingResourceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ParameterNameProvider#getParameterNames(Method)} on a resource implementing a JAX-RS interface,
+ * on a fresh provider (cold) and on a provider whose cache has been filled (warm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterNameProviderBenchmark {
+
+    private Method method;
+    private ParameterNameProvider warmProvider;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = GreetingResourceImpl.class.getMethod("get", String.class, String.class, String.class);
+        warmProvider = new ParameterNameProvider();
+        warmProvider.preload(GreetingResourceImpl.class);
+    }
+
+    @Benchmark
+    public List<String> cold() {
+        return new ParameterNameProvider().getParameterNames(method);
+    }
+
+    @Benchmark
+    public List<String> warm() {
+        return warmProvider.getParameterNames(method);
+    }
+}
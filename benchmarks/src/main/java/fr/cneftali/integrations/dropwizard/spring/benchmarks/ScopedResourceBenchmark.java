@@ -0,0 +1,82 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks;
+
+import com.google.common.io.Resources;
+import fr.cneftali.integrations.dropwizard.spring.resource.Pooled;
+import fr.cneftali.integrations.dropwizard.spring.resource.ScopedResourceFeature;
+import io.dropwizard.Configuration;
+import io.dropwizard.testing.DropwizardTestSupport;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.servlet.ServletContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of requests dispatched in-process by Jersey to a singleton resource, to a prototype
+ * resource provided by the {@link ScopedResourceFeature}, and to a {@link Pooled} prototype resource.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ScopedResourceBenchmark {
+
+    private static final URI BASE_URI = URI.create("http://localhost/");
+
+    @Param({"greetings", "prototype-greetings", "pooled-greetings"})
+    private String resource;
+
+    private DropwizardTestSupport<Configuration> application;
+    private ApplicationHandler applicationHandler;
+    private URI requestUri;
+
+    @Setup
+    public void setUp() throws IOException {
+        final File configuration = File.createTempFile("benchmark", ".yml");
+        configuration.deleteOnExit();
+        try (InputStream in = Resources.getResource("benchmark.yml").openStream()) {
+            Files.copy(in, configuration.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        application = new DropwizardTestSupport<>(BenchmarkApplication.class, configuration.getAbsolutePath());
+        application.before();
+        applicationHandler = ((ServletContainer) application.getEnvironment()
+                                                            .getJerseyServletContainer()).getApplicationHandler();
+        requestUri = BASE_URI.resolve(resource + "/en?name=benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.after();
+    }
+
+    @Benchmark
+    public ContainerResponse get() throws Exception {
+        final ContainerRequest request = new ContainerRequest(BASE_URI, requestUri, "GET", null, new MapPropertiesDelegate());
+        return applicationHandler.apply(request)
+                                 .get();
+    }
+}
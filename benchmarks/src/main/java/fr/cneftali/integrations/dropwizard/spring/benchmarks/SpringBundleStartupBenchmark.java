@@ -0,0 +1,78 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks;
+
+import com.codahale.metrics.MetricRegistry;
+import fr.cneftali.integrations.dropwizard.spring.SpringBundle;
+import io.dropwizard.Configuration;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.setup.Environment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SpringBundle#run(Configuration, Environment)} against contexts holding an increasing number of
+ * beans, next to the resource scanned from {@link BenchmarkApplication}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class SpringBundleStartupBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int beans;
+
+    private SpringBundle<Configuration> springBundle;
+    private Environment environment;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        springBundle = new SpringBundle<>("benchmark", BenchmarkApplication.class);
+        springBundle.getContext()
+                    .addBeanFactoryPostProcessor(beanFactory -> {
+                        final BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
+                        for (int i = 0; i < beans; i++) {
+                            registry.registerBeanDefinition("synthetic" + i,
+                                                            BeanDefinitionBuilder.genericBeanDefinition(SyntheticBean.class)
+                                                                                 .addPropertyValue("name", "synthetic" + i)
+                                                                                 .getBeanDefinition());
+                        }
+                    });
+        environment = new Environment("benchmark",
+                                      Jackson.newObjectMapper(),
+                                      Validators.newValidator(),
+                                      new MetricRegistry(),
+                                      getClass().getClassLoader());
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        final ConfigurableApplicationContext context = springBundle.getContext();
+        context.close();
+        ((ConfigurableApplicationContext) context.getParent()).close();
+    }
+
+    @Benchmark
+    public SpringBundle<Configuration> run() throws Exception {
+        springBundle.run(new Configuration(), environment);
+        return springBundle;
+    }
+}
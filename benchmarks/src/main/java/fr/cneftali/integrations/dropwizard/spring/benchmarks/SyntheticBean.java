@@ -0,0 +1,14 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A plain bean used to inflate the size of the benchmarked Spring contexts.
+ */
+@Getter
+@Setter
+public class SyntheticBean {
+
+    private String name;
+}
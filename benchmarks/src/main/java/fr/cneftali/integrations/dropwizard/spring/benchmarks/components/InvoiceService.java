@@ -0,0 +1,7 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks.components;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public class InvoiceService {
+}
@@ -0,0 +1,19 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks.resources;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.Response;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+@Path("/greetings")
+@Produces(APPLICATION_JSON)
+@Consumes(APPLICATION_JSON)
+public interface GreetingResource {
+
+    @GET
+    @Path("/{language}")
+    Response get(@PathParam("language") String language,
+                 @QueryParam("name") String name,
+                 @HeaderParam("X-Request-Id") String requestId);
+
+}
@@ -0,0 +1,15 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks.resources;
+
+import org.springframework.stereotype.Component;
+
+import javax.ws.rs.core.Response;
+
+@Component
+public class GreetingResourceImpl implements GreetingResource {
+
+    @Override
+    public Response get(final String language, final String name, final String requestId) {
+        return Response.ok("Hello " + name)
+                       .build();
+    }
+}
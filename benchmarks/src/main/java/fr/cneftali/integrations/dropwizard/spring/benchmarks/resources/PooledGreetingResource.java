@@ -0,0 +1,26 @@
+package fr.cneftali.integrations.dropwizard.spring.benchmarks.resources;
+
+import fr.cneftali.integrations.dropwizard.spring.resource.Pooled;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Response;
+
+@Component
+@Pooled
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+@Path("/pooled-greetings")
+public class PooledGreetingResource {
+
+    @GET
+    @Path("/{language}")
+    public Response get(@PathParam("language") final String language, @QueryParam("name") final String name) {
+        return Response.ok("Hello " + name)
+                       .build();
+    }
+}
@@ -0,0 +1,180 @@
+package fr.cneftali.integrations.dropwizard.spring.indexer;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Lists the candidate components of a compilation in {@value #COMPONENTS_RESOURCE_LOCATION}, so that
+ * {@code SpringBundle} does not have to scan the class path at startup.
+ *
+ * <p>A candidate component is a concrete top-level or static nested class annotated, directly or through a
+ * meta-annotation, with one of the {@link #STEREOTYPES}: the classes found by the default filters of Spring's
+ * component scanning.</p>
+ *
+ * <p>On an incremental compilation, the components of the existing index that were not recompiled are kept, as long
+ * as their class still exists.</p>
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
+
+    public static final List<String> STEREOTYPES = Collections.unmodifiableList(Arrays.asList("org.springframework.stereotype.Component",
+                                                                                              "javax.inject.Named",
+                                                                                              "javax.annotation.ManagedBean"));
+
+    private final Map<String, Set<String>> components = new TreeMap<>();
+    private final Set<String> processed = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final Element element : roundEnv.getRootElements()) {
+            index(element);
+        }
+        if (roundEnv.processingOver()) {
+            final Map<String, Set<String>> previous = read();
+            if (previous != null) {
+                merge(previous);
+            }
+            if (previous != null || !components.isEmpty()) {
+                write();
+            }
+        }
+        return false;
+    }
+
+    private void index(final Element element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            return;
+        }
+        final TypeElement type = (TypeElement) element;
+        final String binaryName = processingEnv.getElementUtils()
+                                               .getBinaryName(type)
+                                               .toString();
+        processed.add(binaryName);
+        if (isIndependent(type) && !type.getModifiers()
+                                        .contains(Modifier.ABSTRACT)) {
+            final Set<String> stereotypes = new TreeSet<>();
+            for (final AnnotationMirror annotation : type.getAnnotationMirrors()) {
+                collectStereotypes(annotation, stereotypes, new HashSet<>());
+            }
+            if (!stereotypes.isEmpty()) {
+                components.put(binaryName, stereotypes);
+            }
+        }
+        for (final Element enclosed : type.getEnclosedElements()) {
+            index(enclosed);
+        }
+    }
+
+    private static boolean isIndependent(final TypeElement type) {
+        return type.getNestingKind()
+                   .isNested() ? type.getModifiers()
+                                     .contains(Modifier.STATIC) : true;
+    }
+
+    private static void collectStereotypes(final AnnotationMirror annotation,
+                                           final Set<String> stereotypes,
+                                           final Set<String> visited) {
+        final TypeElement annotationType = (TypeElement) annotation.getAnnotationType()
+                                                                   .asElement();
+        final String name = annotationType.getQualifiedName()
+                                          .toString();
+        if (!visited.add(name) || name.startsWith("java.lang.annotation.")) {
+            return;
+        }
+        if (STEREOTYPES.contains(name)) {
+            stereotypes.add(name);
+            return;
+        }
+        for (final AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+            collectStereotypes(metaAnnotation, stereotypes, visited);
+        }
+    }
+
+    /**
+     * @return the components of the index written by a previous compilation, {@code null} if there is none
+     */
+    private Map<String, Set<String>> read() {
+        final Map<String, Set<String>> previous = new TreeMap<>();
+        try {
+            final FileObject file = processingEnv.getFiler()
+                                                 .getResource(StandardLocation.CLASS_OUTPUT, "", COMPONENTS_RESOURCE_LOCATION);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.openInputStream(), StandardCharsets.ISO_8859_1))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final int separator = line.indexOf('=');
+                    if (separator > 0) {
+                        previous.put(line.substring(0, separator),
+                                     new TreeSet<>(Arrays.asList(line.substring(separator + 1)
+                                                                     .split(","))));
+                    }
+                }
+            }
+        } catch (final IOException | IllegalArgumentException e) {
+            // No previous index
+            return null;
+        }
+        return previous;
+    }
+
+    /**
+     * Keep the components of the previous index neither recompiled nor deleted since.
+     *
+     * @param previous the components of the previous index
+     */
+    private void merge(final Map<String, Set<String>> previous) {
+        previous.forEach((className, stereotypes) -> {
+            if (!processed.contains(className) && processingEnv.getElementUtils()
+                                                               .getTypeElement(className.replace('$', '.')) != null) {
+                components.putIfAbsent(className, stereotypes);
+            }
+        });
+    }
+
+    private void write() {
+        try {
+            final FileObject file = processingEnv.getFiler()
+                                                 .createResource(StandardLocation.CLASS_OUTPUT, "", COMPONENTS_RESOURCE_LOCATION);
+            try (OutputStream out = file.openOutputStream();
+                 Writer writer = new OutputStreamWriter(out, StandardCharsets.ISO_8859_1)) {
+                for (final Map.Entry<String, Set<String>> component : components.entrySet()) {
+                    writer.write(component.getKey() + "=" + String.join(",", component.getValue()) + "\n");
+                }
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager()
+                         .printMessage(Diagnostic.Kind.ERROR, "Unable to write " + COMPONENTS_RESOURCE_LOCATION + ": " + e);
+        }
+    }
+}
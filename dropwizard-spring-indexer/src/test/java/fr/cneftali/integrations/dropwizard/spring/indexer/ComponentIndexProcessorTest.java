@@ -0,0 +1,120 @@
+package fr.cneftali.integrations.dropwizard.spring.indexer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ComponentIndexProcessorTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void indexesTheConcreteComponents() throws Exception {
+        // Given
+        final List<File> sources = new ArrayList<>();
+        sources.add(source("org/springframework/stereotype/Component.java",
+                           "package org.springframework.stereotype; public @interface Component {}"));
+        sources.add(source("com/example/Service.java",
+                           "package com.example; @org.springframework.stereotype.Component public @interface Service {}"));
+        sources.add(source("com/example/DirectComponent.java",
+                           "package com.example; @org.springframework.stereotype.Component public class DirectComponent {}"));
+        sources.add(source("com/example/MetaAnnotatedComponent.java",
+                           "package com.example; @Service public class MetaAnnotatedComponent {}"));
+        sources.add(source("com/example/AbstractComponent.java",
+                           "package com.example; @Service public abstract class AbstractComponent {}"));
+        sources.add(source("com/example/Outer.java",
+                           "package com.example; public class Outer {"
+                           + " @Service public static class Nested {}"
+                           + " @Service public class Inner {} }"));
+        sources.add(source("com/example/Plain.java", "package com.example; public class Plain {}"));
+
+        // When
+        final boolean compiled = compile(sources);
+
+        // Then
+        assertThat(compiled).isTrue();
+        assertThat(index()).containsExactly("com.example.DirectComponent=org.springframework.stereotype.Component",
+                                            "com.example.MetaAnnotatedComponent=org.springframework.stereotype.Component",
+                                            "com.example.Outer$Nested=org.springframework.stereotype.Component");
+    }
+
+    @Test
+    public void writesNoIndexWithoutComponents() throws Exception {
+        // Given
+        final List<File> sources = Collections.singletonList(source("com/example/Plain.java",
+                                                                    "package com.example; public class Plain {}"));
+
+        // When
+        final boolean compiled = compile(sources);
+
+        // Then
+        assertThat(compiled).isTrue();
+        assertThat(new File(folder.getRoot(), "classes/" + ComponentIndexProcessor.COMPONENTS_RESOURCE_LOCATION)).doesNotExist();
+    }
+
+    @Test
+    public void keepsTheComponentsNotRecompiled() throws Exception {
+        // Given a first compilation of two components
+        final File component = source("org/springframework/stereotype/Component.java",
+                                      "package org.springframework.stereotype; public @interface Component {}");
+        final File kept = source("com/example/KeptComponent.java",
+                                 "package com.example; @org.springframework.stereotype.Component public class KeptComponent {}");
+        final File changed = source("com/example/ChangedComponent.java",
+                                    "package com.example; @org.springframework.stereotype.Component public class ChangedComponent {}");
+        assertThat(compile(Arrays.asList(component, kept, changed))).isTrue();
+        source("com/example/ChangedComponent.java", "package com.example; public class ChangedComponent {}");
+
+        // When only the class no longer a component is recompiled
+        final boolean compiled = compile(Collections.singletonList(changed));
+
+        // Then
+        assertThat(compiled).isTrue();
+        assertThat(index()).containsExactly("com.example.KeptComponent=org.springframework.stereotype.Component");
+    }
+
+    private File source(final String path, final String content) throws IOException {
+        final File file = new File(folder.getRoot(), "src/" + path);
+        Files.createDirectories(file.getParentFile()
+                                    .toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private boolean compile(final List<File> sources) throws IOException {
+        final File classes = new File(folder.getRoot(), "classes");
+        Files.createDirectories(classes.toPath());
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sources);
+            final JavaCompiler.CompilationTask task = compiler.getTask(null,
+                                                                       fileManager,
+                                                                       null,
+                                                                       Arrays.asList("-d", classes.getPath(), "-classpath", classes.getPath()),
+                                                                       null,
+                                                                       units);
+            task.setProcessors(Collections.singletonList(new ComponentIndexProcessor()));
+            return task.call();
+        }
+    }
+
+    private List<String> index() throws IOException {
+        return Files.readAllLines(new File(folder.getRoot(), "classes/" + ComponentIndexProcessor.COMPONENTS_RESOURCE_LOCATION).toPath(),
+                                  StandardCharsets.ISO_8859_1);
+    }
+}
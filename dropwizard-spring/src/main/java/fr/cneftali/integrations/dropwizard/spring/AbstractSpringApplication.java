@@ -1,6 +1,8 @@
 package fr.cneftali.integrations.dropwizard.spring;
 
 import com.fasterxml.jackson.databind.util.ISO8601DateFormat;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import fr.cneftali.integrations.dropwizard.spring.jackson.Iso8601DateModule;
 import io.dropwizard.Application;
 import io.dropwizard.Configuration;
 import io.dropwizard.jackson.Jackson;
@@ -13,11 +15,10 @@ import lombok.extern.slf4j.Slf4j;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_ABSENT;
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
-import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
 import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
 
 @Slf4j
-public abstract class AbstractSpringApplication<C extends Configuration> extends Application<C> implements SpringApplication {
+public abstract class AbstractSpringApplication<C extends Configuration> extends Application<C> implements SpringApplication<C> {
 
     private final SpringBundle<C> springBundle;
 
@@ -48,6 +49,13 @@ public abstract class AbstractSpringApplication<C extends Configuration> extends
         onInitialize(bootstrap);
     }
 
+    /**
+     * @return the Spring bundle, e.g. to add modules or role handlers from {@link #onInitialize(Bootstrap)}
+     */
+    protected SpringBundle<C> getSpringBundle() {
+        return springBundle;
+    }
+
     private void initBeanValidation(final Bootstrap<C> bootstrap) {
         bootstrap.setValidatorFactory(BaseValidator.newConfiguration()
                                                    .parameterNameProvider(new ParameterNameProvider())
@@ -59,9 +67,12 @@ public abstract class AbstractSpringApplication<C extends Configuration> extends
 
     private void initObjectMapper(final Bootstrap<C> bootstrap) {
         bootstrap.setObjectMapper(Jackson.newObjectMapper()
-                                         .enable(INDENT_OUTPUT)
                                          .disable(WRITE_DATES_AS_TIMESTAMPS)
                                          .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+                                         // Dates and java.time values use shared immutable formatters, the
+                                         // DateFormat is only left for calendars and map keys
+                                         .registerModule(new JavaTimeModule())
+                                         .registerModule(new Iso8601DateModule())
                                          .setDateFormat(new ISO8601DateFormat())
                                          .setSerializationInclusion(NON_ABSENT));
     }
@@ -0,0 +1,41 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.annotation.Annotation;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A role a Spring bean can fill in the Dropwizard environment, e.g. being a {@link io.dropwizard.lifecycle.Managed}
+ * or a resource annotated with {@link javax.ws.rs.Path}.
+ *
+ * <p>Roles are matched against bean types by {@link SpringBeanIndex}, see {@link BeanRoles} for the built-in ones.</p>
+ */
+@FunctionalInterface
+public interface BeanRole {
+
+    /**
+     * @param beanType the type of a bean in the Spring application context
+     * @return {@code true} if beans of this type fill this role
+     */
+    boolean matches(Class<?> beanType);
+
+    /**
+     * @param type the type to match
+     * @return a role filled by beans assignable to the given type
+     */
+    static BeanRole assignableTo(final Class<?> type) {
+        requireNonNull(type);
+        return type::isAssignableFrom;
+    }
+
+    /**
+     * @param annotationType the annotation to match
+     * @return a role filled by beans annotated with the given annotation, on their class or one of its interfaces
+     */
+    static BeanRole annotatedWith(final Class<? extends Annotation> annotationType) {
+        requireNonNull(annotationType);
+        return beanType -> AnnotationUtils.findAnnotation(beanType, annotationType) != null;
+    }
+}
@@ -0,0 +1,21 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+import io.dropwizard.setup.Environment;
+
+import java.util.Map;
+
+/**
+ * A {@link BeanRole} added by the application, registering the beans filling it in the Dropwizard environment.
+ *
+ * @see SpringBundle#addRoleHandler(BeanRoleHandler)
+ */
+public interface BeanRoleHandler extends BeanRole {
+
+    /**
+     * Register the beans filling this role in the Dropwizard {@link Environment}.
+     *
+     * @param environment the Dropwizard environment
+     * @param beans       the beans filling this role, by bean name
+     */
+    void register(Environment environment, Map<String, Object> beans);
+}
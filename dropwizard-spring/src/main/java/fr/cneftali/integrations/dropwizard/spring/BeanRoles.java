@@ -0,0 +1,56 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+import com.codahale.metrics.health.HealthCheck;
+import com.google.common.collect.ImmutableList;
+import fr.cneftali.integrations.dropwizard.spring.warmup.WarmUp;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.lifecycle.ServerLifecycleListener;
+import io.dropwizard.servlets.tasks.Task;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.ws.rs.Path;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.ext.Provider;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The {@link BeanRole}s registered by {@link SpringBundle} in the Dropwizard environment.
+ */
+public final class BeanRoles {
+
+    public static final BeanRole MANAGED = BeanRole.assignableTo(Managed.class);
+    public static final BeanRole LIFECYCLE = BeanRole.assignableTo(LifeCycle.class);
+    public static final BeanRole SERVER_LIFECYCLE_LISTENER = BeanRole.assignableTo(ServerLifecycleListener.class);
+    public static final BeanRole TASK = BeanRole.assignableTo(Task.class);
+    public static final BeanRole HEALTH_CHECK = BeanRole.assignableTo(HealthCheck.class);
+    public static final BeanRole PROVIDER = BeanRole.annotatedWith(Provider.class);
+    public static final BeanRole RESOURCE = BeanRole.annotatedWith(Path.class);
+    public static final BeanRole DYNAMIC_FEATURE = BeanRole.assignableTo(DynamicFeature.class);
+    public static final BeanRole BINDER = BeanRole.assignableTo(AbstractBinder.class);
+    public static final BeanRole EXECUTOR = beanClass -> ExecutorService.class.isAssignableFrom(beanClass)
+                                                         || ThreadPoolTaskExecutor.class.isAssignableFrom(beanClass)
+                                                         || ThreadPoolTaskScheduler.class.isAssignableFrom(beanClass);
+    public static final BeanRole WARM_UP = BeanRole.assignableTo(WarmUp.class);
+
+    /**
+     * All the built-in roles, in registration order.
+     */
+    public static final List<BeanRole> ALL = ImmutableList.of(MANAGED,
+                                                              LIFECYCLE,
+                                                              SERVER_LIFECYCLE_LISTENER,
+                                                              TASK,
+                                                              HEALTH_CHECK,
+                                                              PROVIDER,
+                                                              RESOURCE,
+                                                              DYNAMIC_FEATURE,
+                                                              BINDER,
+                                                              EXECUTOR,
+                                                              WARM_UP);
+
+    private BeanRoles() {
+    }
+}
@@ -1,6 +1,7 @@
 package fr.cneftali.integrations.dropwizard.spring;
 
 import org.hibernate.validator.parameternameprovider.ReflectionParameterNameProvider;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
 import javax.ws.rs.*;
@@ -9,8 +10,11 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Adds jersey support to parameter name discovery in hibernate validator.
@@ -18,17 +22,67 @@ import java.util.Optional;
  * <p>This provider will behave like the hibernate-provided {@link ReflectionParameterNameProvider} except when a
  * method parameter is annotated with a jersey parameter annotation, like {@link QueryParam}. If a jersey parameter
  * annotation is present the value of the annotation is used as the parameter name.</p>
+ *
+ * <p>Resolved names and JAX-RS interface methods are cached per {@link Method}, so the reflection is only paid
+ * once; {@link #preload(Class)} fills the cache for a resource class ahead of its first validation.</p>
  */
 public class ParameterNameProvider extends ReflectionParameterNameProvider {
 
+    private final ConcurrentMap<Method, List<String>> parameterNames = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, Method> jaxrsMethods = new ConcurrentHashMap<>();
+
     @Override
     public List<String> getParameterNames(final Method method) {
+        final List<String> names = parameterNames.get(method);
+        if (names != null) {
+            return names;
+        }
+        return parameterNames.computeIfAbsent(method,
+                                              m -> Collections.unmodifiableList(getParameterName(getJaxRSMethod(m))));
+    }
+
+    /**
+     * Returns the method declared by the {@link Path} annotated interface of the method's declaring class,
+     * or the method itself if there is none.
+     *
+     * @param method the implementation method
+     * @return the JAX-RS method carrying the parameter annotations
+     */
+    public Method getJaxRSMethod(final Method method) {
+        final Method jaxrsMethod = jaxrsMethods.get(method);
+        if (jaxrsMethod != null) {
+            return jaxrsMethod;
+        }
+        return jaxrsMethods.computeIfAbsent(method, this::findJaxRSMethod);
+    }
+
+    /**
+     * Resolves and caches the parameter names of every method declared in the class hierarchy of a resource.
+     *
+     * @param resourceClass the resource class
+     */
+    public void preload(final Class<?> resourceClass) {
+        for (final Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(resourceClass)) {
+            preloadDeclaredMethods(type);
+        }
+        for (Class<?> type = resourceClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            preloadDeclaredMethods(type);
+        }
+    }
+
+    private void preloadDeclaredMethods(final Class<?> type) {
+        for (final Method method : type.getDeclaredMethods()) {
+            getParameterNames(method);
+        }
+    }
+
+    private Method findJaxRSMethod(final Method method) {
         Class jaxrsClassDef = getJaxRSClass(method);
         Method jaxrsMethod = null;
         if (jaxrsClassDef != null) {
             jaxrsMethod = ReflectionUtils.findMethod(jaxrsClassDef, method.getName(), method.getParameterTypes());
         }
-        return getParameterName(jaxrsMethod == null ? method : jaxrsMethod);
+        return jaxrsMethod == null ? method : jaxrsMethod;
     }
 
     private Class getJaxRSClass(final Method method) {
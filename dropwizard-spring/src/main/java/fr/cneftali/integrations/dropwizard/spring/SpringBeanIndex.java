@@ -0,0 +1,168 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.scope.ScopedProxyUtils;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the beans of a Spring bean factory by the {@link BeanRole}s they fill.
+ *
+ * <p>The index is built in a single pass over the bean names: each bean type is resolved once, matched against every
+ * role, and only singletons filling at least one role are instantiated.</p>
+ *
+ * <p>The prototype and scoped {@link BeanRoles#RESOURCE resources} are not instantiated: a single instance would not
+ * honor their scope. Their types are indexed apart, see {@link #getScopedBeans(BeanRole)}. The prototype and scoped
+ * beans filling the other roles, e.g. health checks, are instantiated once like the singletons.</p>
+ *
+ * <p>The indexes of sibling contexts can be {@link #merge(Collection) merged}, their bean names being unique across
+ * them; {@link #getBeanFactory(String)} tells which one a bean comes from.</p>
+ */
+@Slf4j
+public class SpringBeanIndex {
+
+    private final Map<BeanRole, Map<String, Object>> beansByRole;
+    private final Map<BeanRole, Map<String, Class<?>>> scopedBeansByRole;
+    private final Map<String, ConfigurableListableBeanFactory> beanFactories;
+
+    private SpringBeanIndex(final Map<BeanRole, Map<String, Object>> beansByRole,
+                            final Map<BeanRole, Map<String, Class<?>>> scopedBeansByRole,
+                            final Map<String, ConfigurableListableBeanFactory> beanFactories) {
+        this.beansByRole = beansByRole;
+        this.scopedBeansByRole = scopedBeansByRole;
+        this.beanFactories = beanFactories;
+    }
+
+    /**
+     * Index the beans of a bean factory.
+     *
+     * @param beanFactory the bean factory, usually the one of a refreshed application context
+     * @param roles       the roles to index
+     * @return the index
+     */
+    public static SpringBeanIndex build(final ConfigurableListableBeanFactory beanFactory,
+                                        final Collection<? extends BeanRole> roles) {
+        final Map<BeanRole, Map<String, Object>> beansByRole = new IdentityHashMap<>();
+        final Map<BeanRole, Map<String, Class<?>>> scopedBeansByRole = new IdentityHashMap<>();
+        final Map<String, ConfigurableListableBeanFactory> beanFactories = new LinkedHashMap<>();
+        roles.forEach(role -> {
+            beansByRole.put(role, new LinkedHashMap<>());
+            scopedBeansByRole.put(role, new LinkedHashMap<>());
+        });
+
+        final List<BeanRole> matchingRoles = new ArrayList<>(roles.size());
+        final Iterator<String> beanNames = beanFactory.getBeanNamesIterator();
+        int indexed = 0;
+        while (beanNames.hasNext()) {
+            final String beanName = beanNames.next();
+            if (ScopedProxyUtils.isScopedTarget(beanName)) {
+                // Reached through its scoped proxy
+                continue;
+            }
+            if (beanFactory.containsBeanDefinition(beanName) && beanFactory.getBeanDefinition(beanName)
+                                                                           .isAbstract()) {
+                continue;
+            }
+            final Class<?> beanType = beanFactory.getType(beanName);
+            if (beanType == null) {
+                continue;
+            }
+            matchingRoles.clear();
+            for (final BeanRole role : roles) {
+                if (role.matches(beanType)) {
+                    matchingRoles.add(role);
+                }
+            }
+            if (!matchingRoles.isEmpty()) {
+                beanFactories.put(beanName, beanFactory);
+            }
+            final boolean scoped = !matchingRoles.isEmpty() && !beanFactory.isSingleton(beanName);
+            Object bean = null;
+            for (final BeanRole role : matchingRoles) {
+                if (scoped && role == BeanRoles.RESOURCE) {
+                    scopedBeansByRole.get(role)
+                                     .put(beanName, beanType);
+                } else {
+                    if (bean == null) {
+                        bean = beanFactory.getBean(beanName);
+                    }
+                    beansByRole.get(role)
+                               .put(beanName, bean);
+                }
+            }
+            indexed++;
+        }
+        log.debug("Indexed {} beans", indexed);
+        return new SpringBeanIndex(beansByRole, scopedBeansByRole, beanFactories);
+    }
+
+    /**
+     * Merge the indexes of sibling contexts, built for the same roles.
+     *
+     * @param indexes the indexes, in registration order
+     * @return the merged index
+     * @throws IllegalStateException if a bean name is indexed in several contexts
+     */
+    public static SpringBeanIndex merge(final Collection<SpringBeanIndex> indexes) {
+        final Map<BeanRole, Map<String, Object>> beansByRole = new IdentityHashMap<>();
+        final Map<BeanRole, Map<String, Class<?>>> scopedBeansByRole = new IdentityHashMap<>();
+        final Map<String, ConfigurableListableBeanFactory> beanFactories = new LinkedHashMap<>();
+        for (final SpringBeanIndex index : indexes) {
+            index.beanFactories.forEach((beanName, beanFactory) -> {
+                if (beanFactories.putIfAbsent(beanName, beanFactory) != null) {
+                    throw new IllegalStateException("Bean " + beanName + " is defined in several contexts");
+                }
+            });
+            index.beansByRole.forEach((role, beans) -> beansByRole.computeIfAbsent(role, r -> new LinkedHashMap<>())
+                                                                  .putAll(beans));
+            index.scopedBeansByRole.forEach((role, beans) -> scopedBeansByRole.computeIfAbsent(role, r -> new LinkedHashMap<>())
+                                                                              .putAll(beans));
+        }
+        return new SpringBeanIndex(beansByRole, scopedBeansByRole, beanFactories);
+    }
+
+    /**
+     * @param role an indexed role
+     * @return the singletons filling the role, by bean name, in bean definition order
+     */
+    public Map<String, Object> getBeans(final BeanRole role) {
+        return Collections.unmodifiableMap(getIndexed(beansByRole, role));
+    }
+
+    /**
+     * @param role an indexed role
+     * @return the types of the prototype and scoped beans filling the role, by bean name, in bean definition order;
+     * only {@link BeanRoles#RESOURCE} has any
+     */
+    public Map<String, Class<?>> getScopedBeans(final BeanRole role) {
+        return Collections.unmodifiableMap(getIndexed(scopedBeansByRole, role));
+    }
+
+    /**
+     * @param beanName the name of an indexed bean
+     * @return the bean factory the bean comes from
+     */
+    public ConfigurableListableBeanFactory getBeanFactory(final String beanName) {
+        final ConfigurableListableBeanFactory beanFactory = beanFactories.get(beanName);
+        if (beanFactory == null) {
+            throw new IllegalArgumentException("Bean not indexed: " + beanName);
+        }
+        return beanFactory;
+    }
+
+    private static <V> Map<String, V> getIndexed(final Map<BeanRole, Map<String, V>> index, final BeanRole role) {
+        final Map<String, V> beans = index.get(role);
+        if (beans == null) {
+            throw new IllegalArgumentException("Role not indexed: " + role);
+        }
+        return beans;
+    }
+}
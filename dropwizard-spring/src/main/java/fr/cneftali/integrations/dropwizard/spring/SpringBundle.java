@@ -0,0 +1,1309 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import fr.cneftali.integrations.dropwizard.spring.async.AsyncFactory;
+import fr.cneftali.integrations.dropwizard.spring.async.AsyncResourceFeature;
+import fr.cneftali.integrations.dropwizard.spring.cache.CacheTask;
+import fr.cneftali.integrations.dropwizard.spring.cache.CachesFactory;
+import fr.cneftali.integrations.dropwizard.spring.cache.ConfiguredCacheManager;
+import fr.cneftali.integrations.dropwizard.spring.context.CandidateComponentsIndex;
+import fr.cneftali.integrations.dropwizard.spring.context.ConfigurationPropertySource;
+import fr.cneftali.integrations.dropwizard.spring.context.IndexedAnnotationConfigWebApplicationContext;
+import fr.cneftali.integrations.dropwizard.spring.context.LazyInitializationBeanFactoryPostProcessor;
+import fr.cneftali.integrations.dropwizard.spring.context.SingletonPreWarmer;
+import fr.cneftali.integrations.dropwizard.spring.db.DataSourcesConfiguration;
+import fr.cneftali.integrations.dropwizard.spring.db.DataSourcesFactory;
+import fr.cneftali.integrations.dropwizard.spring.db.ManagedDataSources;
+import fr.cneftali.integrations.dropwizard.spring.event.EventsFactory;
+import fr.cneftali.integrations.dropwizard.spring.event.MeteredApplicationEventMulticaster;
+import fr.cneftali.integrations.dropwizard.spring.executor.ExecutorsFactory;
+import fr.cneftali.integrations.dropwizard.spring.executor.ManagedExecutors;
+import fr.cneftali.integrations.dropwizard.spring.health.HealthChecksFactory;
+import fr.cneftali.integrations.dropwizard.spring.jackson.IteratorJsonWriter;
+import fr.cneftali.integrations.dropwizard.spring.jackson.ObjectMapperFactory;
+import fr.cneftali.integrations.dropwizard.spring.jackson.ResourceSerializers;
+import fr.cneftali.integrations.dropwizard.spring.jackson.StreamJsonWriter;
+import fr.cneftali.integrations.dropwizard.spring.lifecycle.DependencyAwareLifecycle;
+import fr.cneftali.integrations.dropwizard.spring.lifecycle.LifeCycleManaged;
+import fr.cneftali.integrations.dropwizard.spring.lifecycle.LifecycleFactory;
+import fr.cneftali.integrations.dropwizard.spring.metrics.MetricsAnnotationBeanPostProcessor;
+import fr.cneftali.integrations.dropwizard.spring.metrics.MetricsFactory;
+import fr.cneftali.integrations.dropwizard.spring.metrics.ResourceMetricsListener;
+import fr.cneftali.integrations.dropwizard.spring.profiling.BeanStartupProfileTask;
+import fr.cneftali.integrations.dropwizard.spring.profiling.BeanStartupProfiler;
+import fr.cneftali.integrations.dropwizard.spring.profiling.ContextIntrospectionTask;
+import fr.cneftali.integrations.dropwizard.spring.profiling.MetadataCaches;
+import fr.cneftali.integrations.dropwizard.spring.resource.ScopedResourceFeature;
+import fr.cneftali.integrations.dropwizard.spring.servlet.InFlightRequestFilter;
+import fr.cneftali.integrations.dropwizard.spring.servlet.SpringContextLoaderListener;
+import fr.cneftali.integrations.dropwizard.spring.shutdown.ShutdownCoordinator;
+import fr.cneftali.integrations.dropwizard.spring.validation.ResourceValidation;
+import fr.cneftali.integrations.dropwizard.spring.validation.ValidationFactory;
+import fr.cneftali.integrations.dropwizard.spring.warmup.WarmUp;
+import fr.cneftali.integrations.dropwizard.spring.warmup.WarmUpFactory;
+import fr.cneftali.integrations.dropwizard.spring.warmup.WarmUpRunner;
+import io.dropwizard.Configuration;
+import io.dropwizard.ConfiguredBundle;
+import io.dropwizard.lifecycle.ExecutorServiceManager;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.lifecycle.ServerLifecycleListener;
+import io.dropwizard.servlets.tasks.Task;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.setup.Environment;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.web.context.ConfigurableWebApplicationContext;
+import org.springframework.web.context.request.RequestContextListener;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import javax.servlet.DispatcherType;
+import javax.validation.ValidatorFactory;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+@Slf4j
+public class SpringBundle<T extends Configuration> implements ConfiguredBundle<T> {
+
+    public static final String APPLICATION_NAME_BEAN_NAME = "dwApplicationName";
+    public static final String CONFIGURATION_BEAN_NAME = "dwConf";
+    public static final String ENVIRONMENT_BEAN_NAME = "dwEnv";
+    public static final String OBJECT_MAPPER_BEAN_NAME = "dwObjectMapper";
+    public static final String ASYNC_EXECUTOR_BEAN_NAME = "dwAsyncExecutor";
+    public static final String CACHE_MANAGER_BEAN_NAME = "dwCacheManager";
+    public static final String WARM_UP_HEALTH_CHECK_NAME = "spring-warm-up";
+    public static final String DATA_SOURCE_HEALTH_CHECK_PREFIX = "spring-data-source-";
+
+    private final String applicationName;
+    private final List<Class<?>> annotatedClasses;
+    private final IndexedAnnotationConfigWebApplicationContext context;
+    private final Map<String, IndexedAnnotationConfigWebApplicationContext> modules = new LinkedHashMap<>();
+    private final List<BeanRoleHandler> roleHandlers = new ArrayList<>();
+    private ValidatorFactory validatorFactory;
+    private ConfigurationPropertySource propertySource;
+    private ShutdownCoordinator shutdownCoordinator;
+    private ManagedDataSources dataSources;
+    private SpringBeanIndex index;
+
+    /**
+     * Creates a new KiwiSpringBundle to automatically initialize Dropwizard {@link Environment}
+     * <p/>
+     *
+     * @param applicationName
+     * @param annotatedClasses annotated classes,
+     * e.g. {@link org.springframework.context.annotation.Configuration @Configuration} classes
+     */
+    public SpringBundle(final String applicationName, final Class<?>... annotatedClasses) {
+        this.context = new IndexedAnnotationConfigWebApplicationContext();
+        this.applicationName = requireNonNull(applicationName);
+        if (annotatedClasses != null) {
+            this.annotatedClasses = Arrays.stream(annotatedClasses)
+                                          .collect(Collectors.toList());
+        } else {
+            this.annotatedClasses = Lists.newArrayList();
+        }
+    }
+
+    @Override
+    public void run(final T configuration, final Environment environment) throws Exception {
+        final SpringFactory springFactory = getSpringFactory(configuration);
+        if (springFactory.getShutdown()
+                         .isCoordinated()) {
+            this.shutdownCoordinator = new ShutdownCoordinator(springFactory.getShutdown()
+                                                                            .getTimeout(), environment.metrics());
+            shutdownCoordinator.registerShutdownHook();
+        }
+        final AnnotationConfigWebApplicationContext parent = new AnnotationConfigWebApplicationContext();
+        try {
+            runContexts(springFactory, configuration, environment, parent);
+        } catch (final Exception | Error e) {
+            // The shutdown phases are only added once the contexts are registered: release what is already open
+            if (shutdownCoordinator != null) {
+                shutdownCoordinator.removeShutdownHook();
+            }
+            closeAfterFailure(contexts(), parent, e);
+            if (dataSources != null) {
+                try {
+                    dataSources.stop();
+                } catch (final Exception stopFailure) {
+                    e.addSuppressed(stopFailure);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void runContexts(final SpringFactory springFactory,
+                             final T configuration,
+                             final Environment environment,
+                             final AnnotationConfigWebApplicationContext parent) throws Exception {
+        final BeanStartupProfiler profiler = springFactory.isProfiling() ? new BeanStartupProfiler() : null;
+        registerShutdownHook(parent);
+        registerProfiler(profiler, "parent", parent);
+        parent.refresh();
+        parent.getBeanFactory()
+              .registerSingleton(APPLICATION_NAME_BEAN_NAME, applicationName);
+        // Register Dropwizard Configuration as a Bean Spring.
+        registerConfiguration(configuration, parent);
+        registerPropertySource(springFactory, configuration, environment, parent);
+
+        // Register the Dropwizard environment
+        registerEnvironment(environment, parent);
+
+        // Register Dropwizard ObjectMapper as a Bean Spring, once tuned, so that Spring and Jersey share it.
+        springFactory.getObjectMapper()
+                     .getProfile()
+                     .configure(environment.getObjectMapper());
+        registerObjectMapper(environment.getObjectMapper(), parent);
+
+        // Register Dropwizard Metrics as a Bean Spring.
+        registerMetrics(environment, parent);
+
+        // Register the executor of the asynchronous resources as a Bean Spring.
+        final ExecutorService asyncExecutor = registerAsyncExecutor(springFactory.getAsync(), environment, parent);
+
+        // Register the Caffeine CacheManager as a Bean Spring, overridden by any CacheManager of the application.
+        registerCacheManager(springFactory.getCaches(), environment, parent);
+
+        // Register the pooled DataSources of the configuration as Beans Spring, warmed up before the contexts refresh.
+        this.dataSources = registerDataSources(springFactory.getDataSources(), configuration, environment, parent);
+
+        // The executor of the asynchronous event listeners, shared by the contexts
+        final ExecutorService eventExecutor = registerEventExecutor(springFactory.getEvents(), environment);
+
+        // The application context and the modules are siblings, refreshed concurrently
+        final Map<String, IndexedAnnotationConfigWebApplicationContext> contexts = contexts();
+        for (final Map.Entry<String, IndexedAnnotationConfigWebApplicationContext> entry : contexts.entrySet()) {
+            entry.getValue()
+                 .setParent(parent);
+            if (propertySource != null) {
+                // The parent property sources are merged behind the system ones, put the configuration back first
+                entry.getValue()
+                     .getEnvironment()
+                     .getPropertySources()
+                     .addFirst(propertySource);
+            }
+            registerShutdownHook(entry.getValue());
+            registerProfiler(profiler, entry.getKey(), entry.getValue());
+            registerModules(springFactory, environment, entry.getValue());
+            registerEventMulticaster(springFactory.getEvents(), eventExecutor, environment, entry.getValue());
+        }
+        if (!annotatedClasses.isEmpty()) {
+            this.context.register(annotatedClasses.toArray(new Class<?>[annotatedClasses.size()]));
+        }
+        refresh(springFactory, contexts, parent);
+
+        // Index the Spring beans by Dropwizard role in one pass per context
+        final List<BeanRole> roles = new ArrayList<>(BeanRoles.ALL);
+        roles.addAll(roleHandlers);
+        this.index = SpringBeanIndex.merge(contexts.values()
+                                                   .stream()
+                                                   .map(moduleContext -> SpringBeanIndex.build(moduleContext.getBeanFactory(), roles))
+                                                   .collect(Collectors.toList()));
+
+        // Initialize Dropwizard environment, executors first to be drained last
+        final ManagedExecutors executors = registerExecutors(springFactory.getExecutors(),
+                                                             environment,
+                                                             index.getBeans(BeanRoles.EXECUTOR));
+        if (springFactory.getLifecycle()
+                         .isParallel()) {
+            registerDependencyAwareLifecycle(springFactory.getLifecycle(), environment);
+        } else {
+            registerManaged(environment, index.getBeans(BeanRoles.MANAGED));
+            registerLifecycle(environment, index.getBeans(BeanRoles.LIFECYCLE));
+        }
+        registerServerLifecycleListeners(environment, index.getBeans(BeanRoles.SERVER_LIFECYCLE_LISTENER));
+        registerTasks(environment, index.getBeans(BeanRoles.TASK));
+        final Map<String, Object> healthChecks = new LinkedHashMap<>(index.getBeans(BeanRoles.HEALTH_CHECK));
+        if (dataSources != null && springFactory.getDataSources()
+                                                .isHealthChecks()) {
+            dataSources.getHealthChecks()
+                       .forEach((name, healthCheck) -> healthChecks.put(DATA_SOURCE_HEALTH_CHECK_PREFIX + name, healthCheck));
+        }
+        registerHealthChecks(springFactory.getHealthChecks(), environment, healthChecks);
+        registerProviders(environment, index.getBeans(BeanRoles.PROVIDER));
+        registerResources(environment, index.getBeans(BeanRoles.RESOURCE));
+        registerScopedResources(environment, index.getScopedBeans(BeanRoles.RESOURCE));
+        final Set<Class<?>> resourceClasses = getResourceClasses();
+        registerResourceMetrics(springFactory.getMetrics(), environment, resourceClasses);
+        registerAsyncResources(asyncExecutor, springFactory.getAsync(), environment, resourceClasses);
+        registerDynamicFeature(environment, index.getBeans(BeanRoles.DYNAMIC_FEATURE));
+        registerBinder(environment, index.getBeans(BeanRoles.BINDER));
+        roleHandlers.forEach(roleHandler -> roleHandler.register(environment, index.getBeans(roleHandler)));
+        registerValidation(springFactory.getValidation(), environment, resourceClasses);
+        registerSerializers(springFactory.getObjectMapper(), environment.getObjectMapper(), resourceClasses);
+        registerStreamingWriters(springFactory.getObjectMapper(), environment);
+        contexts.values()
+                .forEach(moduleContext -> registerPreWarm(springFactory, environment, moduleContext));
+        registerWarmUp(springFactory.getWarmUp(), environment, index.getBeans(BeanRoles.WARM_UP));
+        registerProfilerReport(profiler, environment);
+        registerIntrospection(springFactory, environment, profiler, parent, contexts);
+        registerShutdown(environment, executors, dataSources, contexts, parent);
+    }
+
+
+    /**
+     * @return the application context, then the modules, by name
+     */
+    private Map<String, IndexedAnnotationConfigWebApplicationContext> contexts() {
+        final Map<String, IndexedAnnotationConfigWebApplicationContext> contexts = new LinkedHashMap<>();
+        contexts.put("application", context);
+        contexts.putAll(modules);
+        return contexts;
+    }
+
+    @Override
+    public void initialize(final Bootstrap<?> bootstrap) {
+        this.validatorFactory = bootstrap.getValidatorFactory();
+    }
+
+    public ConfigurableWebApplicationContext getContext() {
+        return context;
+    }
+
+    /**
+     * Scan packages for components of the application context when the bundle runs, from the component index if
+     * enabled.
+     *
+     * @param basePackages the packages to scan
+     */
+    public void scan(final String... basePackages) {
+        context.scan(basePackages);
+    }
+
+    /**
+     * Add a module: a Spring application context sibling of the main one, sharing its parent (the Dropwizard
+     * configuration, environment, object mapper and metrics), refreshed concurrently with the others when the bundle
+     * runs. Its beans are registered in the Dropwizard {@link Environment} like those of the main context, their names
+     * must be unique across the modules.
+     *
+     * @param name             the name of the module
+     * @param annotatedClasses annotated classes,
+     *                         e.g. {@link org.springframework.context.annotation.Configuration @Configuration} classes
+     * @return the context of the module, not refreshed yet
+     */
+    public ConfigurableWebApplicationContext addModule(final String name, final Class<?>... annotatedClasses) {
+        if (modules.containsKey(requireNonNull(name)) || "application".equals(name)) {
+            throw new IllegalArgumentException("Duplicate module: " + name);
+        }
+        final IndexedAnnotationConfigWebApplicationContext module = new IndexedAnnotationConfigWebApplicationContext();
+        module.setDisplayName(name);
+        if (annotatedClasses.length > 0) {
+            module.register(annotatedClasses);
+        }
+        modules.put(name, module);
+        return module;
+    }
+
+    /**
+     * @return the contexts of the modules, by name
+     */
+    public Map<String, ConfigurableWebApplicationContext> getModules() {
+        return Collections.unmodifiableMap(modules);
+    }
+
+    /**
+     * @return the property source flattening the Dropwizard configuration, to {@link ConfigurationPropertySource#reload(Object)
+     * reload} it, available once the bundle has run if enabled
+     */
+    public ConfigurationPropertySource getPropertySource() {
+        if (propertySource == null) {
+            throw new IllegalStateException("The Dropwizard configuration property source is registered when the bundle runs, if enabled");
+        }
+        return propertySource;
+    }
+
+    /**
+     * Add a role whose beans will be registered in the Dropwizard {@link Environment} once the Spring application
+     * context is refreshed, after the built-in {@link BeanRoles}.
+     *
+     * @param roleHandler the role handler
+     */
+    public void addRoleHandler(final BeanRoleHandler roleHandler) {
+        roleHandlers.add(requireNonNull(roleHandler));
+    }
+
+    /**
+     * @return the index of the Spring beans by role, available once the bundle has run
+     */
+    public SpringBeanIndex getIndex() {
+        if (index == null) {
+            throw new IllegalStateException("The Spring beans are indexed when the bundle runs");
+        }
+        return index;
+    }
+
+
+    // ~ Dropwizard Environment initialization methods -----------------------------------------------------------------
+
+    /**
+     * Register {@link Managed}s in Dropwizard {@link Environment} from Spring application context.
+     *
+     * @param environment the Dropwizard environment
+     * @param beans       the Spring beans, by bean name
+     */
+    private void registerManaged(final Environment environment, final Map<String, Object> beans) {
+        beans.entrySet()
+             .stream()
+             .forEach(map -> {
+                 manage(environment, (Managed) map.getValue());
+                 log.info("Registering  managed: " + map.getValue()
+                                                        .getClass()
+                                                        .getName());
+             });
+    }
+
+
+    /**
+     * Register {@link LifeCycle}s in Dropwizard {@link Environment} from Spring application context.
+     *
+     * @param environment the Dropwizard environment
+     * @param beans       the Spring beans, by bean name
+     */
+    private void registerLifecycle(final Environment environment, final Map<String, Object> beans) {
+        beans.entrySet()
+             .stream()
+             .forEach(map -> {
+                 if (shutdownCoordinator != null) {
+                     manage(environment, new LifeCycleManaged((LifeCycle) map.getValue()));
+                 } else {
+                     environment.lifecycle()
+                                .manage((LifeCycle) map.getValue());
+                 }
+                 log.info("Registering lifeCycle: " + map.getValue()
+                                                         .getClass()
+                                                         .getName());
+             });
+    }
+
+
+    /**
+     * Register {@link Managed}s and {@link LifeCycle}s in Dropwizard {@link Environment} from Spring application context,
+     * to be started and stopped concurrently in the order of their dependencies.
+     *
+     * <p>The dependencies are resolved within each module, every one of them getting its own lifecycle.</p>
+     *
+     * @param lifecycleFactory the lifecycle configuration
+     * @param environment      the Dropwizard environment
+     */
+    private void registerDependencyAwareLifecycle(final LifecycleFactory lifecycleFactory,
+                                                  final Environment environment) {
+        final Map<String, Object> beans = new LinkedHashMap<>(index.getBeans(BeanRoles.MANAGED));
+        beans.putAll(index.getBeans(BeanRoles.LIFECYCLE));
+        if (beans.isEmpty()) {
+            return;
+        }
+        final ExecutorService executor;
+        if (shutdownCoordinator != null) {
+            // Still running when the coordinator stops the beans, after Jetty stopped its managed objects
+            executor = Executors.newFixedThreadPool(lifecycleFactory.getMaxThreads(),
+                                                    new ThreadFactoryBuilder().setNameFormat("spring-lifecycle-%d")
+                                                                              .build());
+            manage(environment, new ExecutorServiceManager(executor, lifecycleFactory.getStopTimeout(), "spring-lifecycle"));
+        } else {
+            executor = environment.lifecycle()
+                                  .executorService("spring-lifecycle-%d")
+                                  .minThreads(lifecycleFactory.getMaxThreads())
+                                  .maxThreads(lifecycleFactory.getMaxThreads())
+                                  .build();
+        }
+        final Map<ConfigurableListableBeanFactory, Map<String, Object>> beansByFactory = new LinkedHashMap<>();
+        beans.forEach((beanName, bean) -> beansByFactory.computeIfAbsent(index.getBeanFactory(beanName),
+                                                                         beanFactory -> new LinkedHashMap<>())
+                                                        .put(beanName, bean));
+        beansByFactory.forEach((beanFactory, factoryBeans) -> {
+            final DependencyAwareLifecycle lifecycle = new DependencyAwareLifecycle(factoryBeans,
+                                                                                    beanFactory,
+                                                                                    executor,
+                                                                                    lifecycleFactory.getStartTimeout(),
+                                                                                    lifecycleFactory.getStopTimeout(),
+                                                                                    environment.metrics());
+            manage(environment, lifecycle);
+            log.info("Registering managed and lifeCycles in dependency order: " + lifecycle.getWaves());
+        });
+    }
+
+
+    /**
+     * Register the executors of the Spring application context in Dropwizard {@link Environment}, to report their
+     * metrics and drain them on stop, if enabled.
+     *
+     * @param executorsFactory the executors configuration
+     * @param environment      the Dropwizard environment
+     * @param beans            the Spring executors, by bean name
+     * @return the managed executors, {@code null} if disabled
+     */
+    private ManagedExecutors registerExecutors(final ExecutorsFactory executorsFactory,
+                                               final Environment environment,
+                                               final Map<String, Object> beans) {
+        if (!executorsFactory.isManaged() || beans.isEmpty()) {
+            return null;
+        }
+        final ManagedExecutors executors = new ManagedExecutors(beans, executorsFactory.getDrainTimeout(), environment.metrics());
+        if (shutdownCoordinator == null) {
+            // Otherwise drained by the shutdown coordinator
+            environment.lifecycle()
+                       .manage(executors);
+        }
+        log.info("Registering executors: " + executors.getExecutors()
+                                                      .keySet());
+        return executors;
+    }
+
+
+    /**
+     * Register a {@link Managed} in Dropwizard {@link Environment}, its stop being left to the shutdown coordinator if
+     * enabled.
+     *
+     * @param environment the Dropwizard environment
+     * @param managed     the managed object
+     */
+    private void manage(final Environment environment, final Managed managed) {
+        environment.lifecycle()
+                   .manage(shutdownCoordinator != null ? shutdownCoordinator.deferStop(managed) : managed);
+    }
+
+    /**
+     * Close a Spring application context from the JVM shutdown hook, unless the shutdown coordinator closes it.
+     *
+     * @param context the Spring application context
+     */
+    private void registerShutdownHook(final ConfigurableWebApplicationContext context) {
+        if (shutdownCoordinator == null) {
+            context.registerShutdownHook();
+        }
+    }
+
+    /**
+     * Register the Spring application context in the servlet context and, if enabled, the shutdown sequence run when
+     * it is destroyed: drain the requests in flight, then the executors, stop the managed beans, close the application
+     * context and the modules, the parent context, then the data sources.
+     *
+     * @param environment the Dropwizard environment
+     * @param executors   the managed executors, {@code null} if disabled
+     * @param dataSources the data sources, {@code null} if none
+     * @param contexts    the Spring application contexts, by name
+     * @param parent      the parent Spring application context
+     */
+    private void registerShutdown(final Environment environment,
+                                  final ManagedExecutors executors,
+                                  final ManagedDataSources dataSources,
+                                  final Map<String, IndexedAnnotationConfigWebApplicationContext> contexts,
+                                  final ConfigurableWebApplicationContext parent) {
+        if (shutdownCoordinator == null) {
+            environment.servlets()
+                       .addServletListeners(new SpringContextLoaderListener(context));
+            return;
+        }
+        final InFlightRequestFilter inFlightRequests = new InFlightRequestFilter();
+        environment.servlets()
+                   .addFilter("spring-in-flight-requests", inFlightRequests)
+                   .addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), false, "/*");
+        environment.lifecycle()
+                   .addLifeCycleListener(new AbstractLifeCycle.AbstractLifeCycleListener() {
+                       @Override
+                       public void lifeCycleStopping(final LifeCycle event) {
+                           inFlightRequests.startDraining();
+                       }
+                   });
+        shutdownCoordinator.addPhase("requests", remaining -> {
+            if (!inFlightRequests.awaitIdle(remaining)) {
+                log.warn("{} requests still in flight", inFlightRequests.getInFlight());
+            }
+        });
+        if (executors != null) {
+            shutdownCoordinator.addPhase("executors", executors::drain);
+        }
+        shutdownCoordinator.addPhase("managed", shutdownCoordinator.stopDeferred());
+        final List<ConfigurableWebApplicationContext> children = new ArrayList<>(contexts.values());
+        Collections.reverse(children);
+        shutdownCoordinator.addPhase("contexts", remaining -> children.forEach(ConfigurableWebApplicationContext::close));
+        shutdownCoordinator.addPhase("parent", remaining -> parent.close());
+        if (dataSources != null) {
+            // The beans may use them until their context is closed
+            shutdownCoordinator.addPhase("dataSources", remaining -> dataSources.stop());
+        }
+        environment.servlets()
+                   .addServletListeners(new SpringContextLoaderListener(context, shutdownCoordinator));
+        log.info("Registering coordinated shutdown");
+    }
+
+    /**
+     * Register {@link ServerLifecycleListener}s in Dropwizard {@link Environment} from Spring application context.
+     *
+     * @param environment the Dropwizard environment
+     * @param beans       the Spring beans, by bean name
+     */
+    private void registerServerLifecycleListeners(final Environment environment, final Map<String, Object> beans) {
+        beans.entrySet()
+             .stream()
+             .forEach(map -> {
+                 environment.lifecycle()
+                            .addServerLifecycleListener((ServerLifecycleListener) map.getValue());
+                 log.info("Registering serverLifecycleListener: " + map.getValue()
+                                                                       .getClass()
+                                                                       .getName());
+             });
+    }
+
+
+    /**
+     * Register {@link Task}s in Dropwizard {@link Environment} from Spring application context.
+     *
+     * @param environment the Dropwizard environment
+     * @param beans       the Spring beans, by bean name
+     */
+    private void registerTasks(final Environment environment, final Map<String, Object> beans) {
+        beans.entrySet()
+             .stream()
+             .forEach(map -> {
+                 environment.admin()
+                            .addTask((Task) map.getValue());
+                 log.info("Registering task: " + map.getValue()
+                                                    .getClass()
+                                                    .getName());
+             });
+    }
+
+
+    /**
+     * Register {@link DynamicFeature}s in Dropwizard {@link Environment} from Spring application context.
+     *
+     * @param environment the Dropwizard environment
+     * @param beans       the Spring beans, by bean name
+     */
+    private void registerBinder(final Environment environment, final Map<String, Object> beans) {
+        beans.entrySet()
+             .stream()
+             .forEach(map -> {
+                 environment.jersey()
+                            .register(map.getValue());
+                 log.info("Registering Binder: " + map.getValue()
+                                                      .getClass()
+                                                      .getName());
+             });
+
+    }
+
+    /**
+     * Register {@link DynamicFeature}s in Dropwizard {@link Environment} from Spring application context.
+     *
+     * @param environment the Dropwizard environment
+     * @param beans       the Spring beans, by bean name
+     */
+    private void registerDynamicFeature(final Environment environment, final Map<String, Object> beans) {
+        beans.entrySet()
+             .stream()
+             .forEach(map -> {
+                 environment.jersey()
+                            .register(map.getValue());
+                 log.info("Registering DynamicFeature: " + map.getValue()
+                                                              .getClass()
+                                                              .getName());
+             });
+
+    }
+
+    /**
+     * Register {@link HealthCheck}s in Dropwizard {@link Environment} from Spring application context, evaluated in
+     * parallel, within a timeout and cached, if enabled.
+     *
+     * @param healthChecksFactory the health checks configuration
+     * @param environment         the Dropwizard environment
+     * @param beans               the Spring beans, by bean name
+     */
+    private void registerHealthChecks(final HealthChecksFactory healthChecksFactory,
+                                      final Environment environment,
+                                      final Map<String, Object> beans) {
+        final Map<String, HealthCheck> healthChecks = new LinkedHashMap<>();
+        beans.forEach((beanName, bean) -> healthChecks.put(beanName, (HealthCheck) bean));
+        if (healthChecksFactory.isEnabled() && !healthChecks.isEmpty()) {
+            healthChecks.putAll(healthChecksFactory.build(environment, healthChecks));
+        }
+        healthChecks.forEach((beanName, healthCheck) -> {
+            environment.healthChecks()
+                       .register(beanName, healthCheck);
+            log.info("Registering healthCheck: " + beans.get(beanName)
+                                                        .getClass()
+                                                        .getName());
+        });
+    }
+
+    /**
+     * Register objects annotated with {@link Provider} in Dropwizard {@link Environment} from Spring application context.
+     *
+     * @param environment the Dropwizard environment
+     * @param beans       the Spring beans, by bean name
+     */
+    private void registerProviders(final Environment environment, final Map<String, Object> beans) {
+        beans.entrySet()
+             .stream()
+             .forEach(map -> {
+                 environment.jersey()
+                            .register(map.getValue());
+                 log.info("Registering provider: " + map.getValue()
+                                                        .getClass()
+                                                        .getName());
+             });
+    }
+
+
+    /**
+     * Register resources annotated with {@link Path} in Dropwizard {@link Environment} from Spring application context.
+     *
+     * @param environment the Dropwizard environment
+     * @param beans       the Spring beans, by bean name
+     */
+    private void registerResources(final Environment environment, final Map<String, Object> beans) {
+        beans.entrySet()
+             .stream()
+             .forEach(map -> {
+                 environment.jersey().register(map.getValue());
+                 log.info("Registering resource: " + map.getValue()
+                                                        .getClass()
+                                                        .getName());
+             });
+    }
+
+    /**
+     * Register the prototype and scoped resources annotated with {@link Path} in Dropwizard {@link Environment} from
+     * Spring application context, by class, with the {@link ScopedResourceFeature} providing their instances.
+     *
+     * @param environment the Dropwizard environment
+     * @param resources   the types of the Spring resources, by bean name
+     */
+    private void registerScopedResources(final Environment environment, final Map<String, Class<?>> resources) {
+        if (resources.isEmpty()) {
+            return;
+        }
+        resources.forEach((beanName, type) -> {
+            environment.jersey()
+                       .register(type);
+            log.info("Registering " + index.getBeanFactory(beanName)
+                                           .getMergedBeanDefinition(beanName)
+                                           .getScope() + " resource: " + type.getName());
+        });
+        environment.jersey()
+                   .register(new ScopedResourceFeature(index::getBeanFactory, resources, environment.metrics()));
+        if (resources.keySet()
+                     .stream()
+                     .anyMatch(beanName -> !index.getBeanFactory(beanName)
+                                                 .isPrototype(beanName))) {
+            // Expose the current request to the Spring request and session scopes
+            environment.servlets()
+                       .addServletListeners(new RequestContextListener());
+        }
+    }
+
+    /**
+     * Register the {@link ResourceMetricsListener} timing the resources annotated with {@link Path} of the Spring
+     * application context, if enabled.
+     *
+     * @param metricsFactory  the metrics configuration
+     * @param environment     the Dropwizard environment
+     * @param resourceClasses the classes of the Spring resources
+     */
+    private void registerResourceMetrics(final MetricsFactory metricsFactory,
+                                         final Environment environment,
+                                         final Set<Class<?>> resourceClasses) {
+        if (!metricsFactory.isResources() || resourceClasses.isEmpty()) {
+            return;
+        }
+        environment.jersey()
+                   .register(new ResourceMetricsListener(resourceClasses, environment.metrics(), metricsFactory));
+        log.info("Registering metrics of {} resources", resourceClasses.size());
+    }
+
+    /**
+     * Register the {@link AsyncResourceFeature} serving the resources annotated with {@link Path} of the Spring
+     * application context asynchronously, if enabled.
+     *
+     * @param executor        the executor of the asynchronous resources, {@code null} if disabled
+     * @param asyncFactory    the asynchronous resources configuration
+     * @param environment     the Dropwizard environment
+     * @param resourceClasses the classes of the Spring resources
+     */
+    private void registerAsyncResources(final ExecutorService executor,
+                                        final AsyncFactory asyncFactory,
+                                        final Environment environment,
+                                        final Set<Class<?>> resourceClasses) {
+        if (executor == null || resourceClasses.isEmpty()) {
+            return;
+        }
+        environment.jersey()
+                   .register(new AsyncResourceFeature(resourceClasses, executor, asyncFactory));
+        log.info("Registering asynchronous resources");
+    }
+
+    /**
+     * Pre-compute the validation metadata of resources annotated with {@link Path} ahead of their first request, and
+     * validate them fail-fast, if enabled.
+     *
+     * @param validationFactory the validation configuration
+     * @param environment       the Dropwizard environment
+     * @param resourceClasses   the classes of the Spring resources
+     */
+    private void registerValidation(final ValidationFactory validationFactory,
+                                    final Environment environment,
+                                    final Set<Class<?>> resourceClasses) {
+        if (validatorFactory == null) {
+            return;
+        }
+        if (validationFactory.isFailFast()) {
+            // Shares the metadata of the factory, Jersey picking the validator of the environment once bundles ran
+            environment.setValidator(validatorFactory.unwrap(HibernateValidatorFactory.class)
+                                                     .usingContext()
+                                                     .failFast(true)
+                                                     .getValidator());
+            log.info("Validating fail-fast");
+        }
+        if (validationFactory.isPreCompute()) {
+            final int described = ResourceValidation.preCompute(validatorFactory, resourceClasses);
+            log.info("Pre-computed the validation metadata of {} resource and entity classes", described);
+        }
+    }
+
+    /**
+     * Resolve the (de)serializers of the entities of resources annotated with {@link Path} ahead of their first request,
+     * if enabled.
+     *
+     * @param objectMapperFactory the object mapper configuration
+     * @param objectMapper        the Dropwizard object mapper
+     * @param resourceClasses     the classes of the Spring resources
+     */
+    private void registerSerializers(final ObjectMapperFactory objectMapperFactory,
+                                     final ObjectMapper objectMapper,
+                                     final Set<Class<?>> resourceClasses) {
+        if (objectMapperFactory.isPreResolveSerializers()) {
+            final int resolved = ResourceSerializers.preResolve(objectMapper, resourceClasses);
+            log.info("Resolved the (de)serializers of {} resource entity types", resolved);
+        }
+    }
+
+    /**
+     * Register the {@link StreamJsonWriter} and {@link IteratorJsonWriter} in Dropwizard {@link Environment}, if
+     * enabled.
+     *
+     * @param objectMapperFactory the object mapper configuration
+     * @param environment         the Dropwizard environment
+     */
+    private void registerStreamingWriters(final ObjectMapperFactory objectMapperFactory, final Environment environment) {
+        if (!objectMapperFactory.isStreaming()) {
+            return;
+        }
+        environment.jersey()
+                   .register(new StreamJsonWriter(environment.getObjectMapper(), objectMapperFactory.getStreamingBatchSize()));
+        environment.jersey()
+                   .register(new IteratorJsonWriter(environment.getObjectMapper(), objectMapperFactory.getStreamingBatchSize()));
+        log.info("Registering streaming JSON writers, flushing every {} elements", objectMapperFactory.getStreamingBatchSize());
+    }
+
+    /**
+     * Register Dropwizard {@link io.dropwizard.Configuration} as a Bean Spring.
+     *
+     * @param configuration Dropwizard {@link io.dropwizard.Configuration}
+     * @param context       spring application context
+     */
+    private void registerConfiguration(final T configuration, final ConfigurableWebApplicationContext context) {
+        context.getBeanFactory()
+               .registerSingleton(CONFIGURATION_BEAN_NAME,
+                                  configuration);
+        log.info("Registering Dropwizard Configuration under name : {}", CONFIGURATION_BEAN_NAME);
+    }
+
+
+    /**
+     * Register the Dropwizard {@link io.dropwizard.Configuration} as the first property source of the Spring
+     * environment, if enabled and the configuration can be serialized.
+     *
+     * @param springFactory the Spring integration configuration
+     * @param configuration Dropwizard {@link io.dropwizard.Configuration}
+     * @param environment   the Dropwizard environment, whose object mapper flattens the configuration
+     * @param context       spring application context
+     */
+    private void registerPropertySource(final SpringFactory springFactory,
+                                        final T configuration,
+                                        final Environment environment,
+                                        final ConfigurableWebApplicationContext context) {
+        if (!springFactory.isPropertySource()) {
+            return;
+        }
+        try {
+            this.propertySource = new ConfigurationPropertySource(CONFIGURATION_BEAN_NAME, configuration, environment.getObjectMapper());
+        } catch (final IllegalArgumentException e) {
+            log.warn("Not registering Dropwizard Configuration as property source, it cannot be serialized", e);
+            return;
+        }
+        context.getEnvironment()
+               .getPropertySources()
+               .addFirst(propertySource);
+        log.info("Registering Dropwizard Configuration as property source with {} properties",
+                 propertySource.getPropertyNames().length);
+    }
+
+    /**
+     * Register Dropwizard {@link Environment} as a Bean Spring.
+     *
+     * @param environment Dropwizard {@link Environment}
+     * @param context     Spring application context
+     */
+    private void registerEnvironment(final Environment environment, final ConfigurableWebApplicationContext context) {
+        context.getBeanFactory()
+               .registerSingleton(ENVIRONMENT_BEAN_NAME,
+                                  environment);
+        log.info("Registering Dropwizard Profile under name : {}", ENVIRONMENT_BEAN_NAME);
+    }
+
+    private void registerObjectMapper(final ObjectMapper objectMapper, final ConfigurableWebApplicationContext context) {
+        context.getBeanFactory()
+               .registerSingleton(OBJECT_MAPPER_BEAN_NAME,
+                                  objectMapper);
+        log.info("Registering Dropwizard ObjectMapper under name : {}", OBJECT_MAPPER_BEAN_NAME);
+    }
+
+    private void registerMetrics(final Environment environment, final ConfigurableWebApplicationContext context) {
+        context.getBeanFactory()
+               .registerSingleton(MetricRegistry.class.getSimpleName(), environment.metrics());
+        log.info("Registering Dropwizard MetricRegistry under name : {}", MetricRegistry.class.getSimpleName());
+    }
+
+    /**
+     * Register the executor of the asynchronous resources as a Bean Spring, if enabled. It is not an autowire
+     * candidate, so that the {@link ExecutorService} of the application is still injected by type.
+     *
+     * @param asyncFactory the asynchronous resources configuration
+     * @param environment  the Dropwizard environment
+     * @param context      the Spring application context
+     * @return the executor, {@code null} if disabled
+     */
+    private ExecutorService registerAsyncExecutor(final AsyncFactory asyncFactory,
+                                                  final Environment environment,
+                                                  final ConfigurableWebApplicationContext context) {
+        if (!asyncFactory.isEnabled()) {
+            return null;
+        }
+        // Still running while the coordinator drains the requests in flight, after Jetty stopped its managed objects
+        final ExecutorService executor = asyncFactory.build(environment, managed -> manage(environment, managed));
+        registerNonAutowireCandidate(context.getBeanFactory(), ASYNC_EXECUTOR_BEAN_NAME, ExecutorService.class, executor);
+        log.info("Registering asynchronous resources executor under name : {}", ASYNC_EXECUTOR_BEAN_NAME);
+        return executor;
+    }
+
+    /**
+     * Register a singleton under a bean definition excluded from autowiring: the beans of the application injecting
+     * its type keep getting theirs, while it is still available by name.
+     *
+     * @param beanFactory the Spring bean factory
+     * @param beanName    the name of the bean
+     * @param beanType    the type of the bean
+     * @param singleton   the bean
+     */
+    private static void registerNonAutowireCandidate(final ConfigurableListableBeanFactory beanFactory,
+                                                     final String beanName,
+                                                     final Class<?> beanType,
+                                                     final Object singleton) {
+        final RootBeanDefinition beanDefinition = new RootBeanDefinition(beanType);
+        beanDefinition.setAutowireCandidate(false);
+        ((BeanDefinitionRegistry) beanFactory).registerBeanDefinition(beanName, beanDefinition);
+        beanFactory.registerSingleton(beanName, singleton);
+    }
+
+    /**
+     * Register the {@link ConfiguredCacheManager} as a Bean Spring and its task in Dropwizard {@link Environment}, if
+     * enabled. Its cache loaders are looked up in the application context, then the modules. It is not an autowire candidate, so that
+     * the {@link CacheManager} of the application is still injected by type.
+     *
+     * @param cachesFactory the caches configuration
+     * @param environment   the Dropwizard environment
+     * @param parent        the parent Spring application context
+     */
+    private void registerCacheManager(final CachesFactory cachesFactory,
+                                      final Environment environment,
+                                      final ConfigurableWebApplicationContext parent) {
+        if (!cachesFactory.isEnabled()) {
+            return;
+        }
+        final ConfiguredCacheManager cacheManager = new ConfiguredCacheManager(cachesFactory,
+                                                                               contexts().values(),
+                                                                               environment.metrics());
+        registerNonAutowireCandidate(parent.getBeanFactory(), CACHE_MANAGER_BEAN_NAME, CacheManager.class, cacheManager);
+        environment.admin()
+                   .addTask(new CacheTask(cacheManager, environment.getObjectMapper()));
+        log.info("Registering Caffeine CacheManager under name : {}", CACHE_MANAGER_BEAN_NAME);
+    }
+
+    /**
+     * Build the executor of the asynchronous event listeners, if the metered multicaster is enabled.
+     *
+     * @param eventsFactory the events configuration
+     * @param environment   the Dropwizard environment
+     * @return the executor, {@code null} if disabled
+     */
+    private ExecutorService registerEventExecutor(final EventsFactory eventsFactory, final Environment environment) {
+        if (!eventsFactory.isEnabled()) {
+            return null;
+        }
+        if (shutdownCoordinator != null) {
+            // Still delivering the events published while the coordinator stops the beans
+            final ExecutorService executor = Executors.newFixedThreadPool(eventsFactory.getMaxThreads(),
+                                                                          new ThreadFactoryBuilder().setNameFormat("spring-events-%d")
+                                                                                                    .build());
+            manage(environment, new ExecutorServiceManager(executor, eventsFactory.getShutdownTimeout(), "spring-events"));
+            return executor;
+        }
+        return environment.lifecycle()
+                          .executorService("spring-events-%d")
+                          .minThreads(eventsFactory.getMaxThreads())
+                          .maxThreads(eventsFactory.getMaxThreads())
+                          .shutdownTime(eventsFactory.getShutdownTimeout())
+                          .build();
+    }
+
+    /**
+     * Register a {@link MeteredApplicationEventMulticaster} in a Spring application context, picked up by its refresh
+     * instead of the Spring one. Each context has its own, so that the events of a module only reach its listeners
+     * and those of the parent. A context defining its own {@code applicationEventMulticaster} bean keeps it.
+     *
+     * @param eventsFactory the events configuration
+     * @param executor      the executor of the asynchronous event listeners, {@code null} if disabled
+     * @param environment   the Dropwizard environment
+     * @param context       the Spring application context
+     */
+    private void registerEventMulticaster(final EventsFactory eventsFactory,
+                                          final ExecutorService executor,
+                                          final Environment environment,
+                                          final ConfigurableWebApplicationContext context) {
+        if (executor == null) {
+            return;
+        }
+        context.addBeanFactoryPostProcessor(beanFactory -> {
+            if (beanFactory.containsLocalBean(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)) {
+                log.info("Keeping the {} bean of {} instead of the metered multicaster",
+                         AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME,
+                         context.getDisplayName());
+                return;
+            }
+            beanFactory.registerSingleton(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME,
+                                          new MeteredApplicationEventMulticaster(beanFactory,
+                                                                                 executor,
+                                                                                 eventsFactory,
+                                                                                 environment.metrics()));
+        });
+    }
+
+    /**
+     * Register the pooled data sources of a {@link DataSourcesConfiguration} as Spring beans of the parent context,
+     * named after their configuration key, and start them, warmed up if enabled, so that the beans can use them while
+     * the contexts refresh.
+     *
+     * @param dataSourcesFactory the data sources configuration
+     * @param configuration      the Dropwizard configuration
+     * @param environment        the Dropwizard environment
+     * @param parent             the parent Spring application context
+     * @return the data sources, {@code null} if the configuration has none
+     * @throws Exception if a data source does not start
+     */
+    private ManagedDataSources registerDataSources(final DataSourcesFactory dataSourcesFactory,
+                                                   final T configuration,
+                                                   final Environment environment,
+                                                   final ConfigurableWebApplicationContext parent) throws Exception {
+        if (!(configuration instanceof DataSourcesConfiguration)
+            || ((DataSourcesConfiguration) configuration).getDataSourceFactories()
+                                                         .isEmpty()) {
+            return null;
+        }
+        final ManagedDataSources dataSources = new ManagedDataSources(((DataSourcesConfiguration) configuration).getDataSourceFactories(),
+                                                                      environment.metrics());
+        try {
+            if (dataSourcesFactory.isWarmUp()) {
+                dataSources.warmUp();
+            } else {
+                dataSources.start();
+            }
+        } catch (final Exception e) {
+            dataSources.stop();
+            throw e;
+        }
+        if (shutdownCoordinator == null) {
+            // Otherwise stopped by the shutdown coordinator, once the contexts are closed
+            environment.lifecycle()
+                       .manage(dataSources);
+        }
+        dataSources.getDataSources()
+                   .forEach((name, dataSource) -> parent.getBeanFactory()
+                                                        .registerSingleton(name, dataSource));
+        log.info("Registering data sources: " + dataSources.getDataSources()
+                                                          .keySet());
+        return dataSources;
+    }
+
+    private void registerModules(final SpringFactory springFactory,
+                                 final Environment environment,
+                                 final IndexedAnnotationConfigWebApplicationContext context) throws IOException {
+        if (springFactory.isComponentIndex()) {
+            context.setComponentIndex(CandidateComponentsIndex.load(context.getClassLoader()));
+        }
+        if (springFactory.isLazyInitialization()) {
+            context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor());
+            log.info("Spring singletons are lazily initialized");
+        }
+        if (springFactory.getMetrics()
+                         .isBeans()) {
+            final BeanPostProcessor beanPostProcessor = new MetricsAnnotationBeanPostProcessor(environment.metrics(),
+                                                                                               springFactory.getMetrics());
+            context.addBeanFactoryPostProcessor(beanFactory -> beanFactory.addBeanPostProcessor(beanPostProcessor));
+        }
+    }
+
+    /**
+     * Refresh the Spring application contexts, concurrently on as many threads as there are cores if there are
+     * several and parallel refresh is enabled, in order otherwise.
+     * <p/>
+     * If a refresh fails, the contexts already refreshed are closed, in reverse order, then the parent, so that none of
+     * their beans outlives the failed startup.
+     *
+     * @param springFactory the Spring integration configuration
+     * @param contexts      the Spring application contexts, by name
+     * @param parent        the parent of the contexts
+     * @throws Exception the first failure of a refresh, in context order
+     */
+    private void refresh(final SpringFactory springFactory,
+                         final Map<String, IndexedAnnotationConfigWebApplicationContext> contexts,
+                         final ConfigurableApplicationContext parent) throws Exception {
+        try {
+            if (!springFactory.isParallelRefresh() || contexts.size() == 1) {
+                for (final IndexedAnnotationConfigWebApplicationContext moduleContext : contexts.values()) {
+                    moduleContext.refresh();
+                }
+            } else {
+                refreshConcurrently(contexts);
+            }
+        } catch (final Exception | Error e) {
+            closeAfterFailure(contexts, parent, e);
+            throw e;
+        }
+    }
+
+    private void refreshConcurrently(final Map<String, IndexedAnnotationConfigWebApplicationContext> contexts) {
+        final long start = System.nanoTime();
+        final int threads = Math.min(contexts.size(), Runtime.getRuntime()
+                                                             .availableProcessors());
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("spring-refresh-%d")
+                                                                                                      .setDaemon(true)
+                                                                                                      .build());
+        Throwable failure = null;
+        try {
+            final List<Future<?>> futures = contexts.values()
+                                                    .stream()
+                                                    .map(moduleContext -> executor.submit(moduleContext::refresh))
+                                                    .collect(Collectors.toList());
+            // Wait for every refresh, so that none is still running when the contexts are closed on failure
+            for (final Future<?> future : futures) {
+                try {
+                    Uninterruptibles.getUninterruptibly(future);
+                } catch (final ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failure != null) {
+            Throwables.throwIfUnchecked(failure);
+            throw new IllegalStateException(failure);
+        }
+        log.info("Refreshed {} Spring application contexts on {} threads in {} ms", contexts.size(), threads,
+                 TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static void closeAfterFailure(final Map<String, IndexedAnnotationConfigWebApplicationContext> contexts,
+                                          final ConfigurableApplicationContext parent,
+                                          final Throwable failure) {
+        final List<IndexedAnnotationConfigWebApplicationContext> refreshed = contexts.values()
+                                                                                     .stream()
+                                                                                     .filter(ConfigurableApplicationContext::isActive)
+                                                                                     .collect(Collectors.toList());
+        Collections.reverse(refreshed);
+        for (final ConfigurableApplicationContext moduleContext : refreshed) {
+            try {
+                moduleContext.close();
+            } catch (final RuntimeException e) {
+                failure.addSuppressed(e);
+            }
+        }
+        try {
+            parent.close();
+        } catch (final RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Record the creation of the beans of a Spring application context, if profiling is enabled.
+     *
+     * @param profiler    the profiler, {@code null} if profiling is disabled
+     * @param contextName the name of the context in the profile
+     * @param context     the Spring application context, not refreshed yet
+     */
+    private void registerProfiler(final BeanStartupProfiler profiler,
+                                  final String contextName,
+                                  final ConfigurableWebApplicationContext context) {
+        if (profiler != null) {
+            final BeanPostProcessor beanPostProcessor = profiler.newBeanPostProcessor(contextName);
+            context.addBeanFactoryPostProcessor(beanFactory -> beanFactory.addBeanPostProcessor(beanPostProcessor));
+        }
+    }
+
+    /**
+     * Stop profiling the bean creations and register their report in Dropwizard {@link Environment}.
+     *
+     * @param profiler    the profiler, {@code null} if profiling is disabled
+     * @param environment the Dropwizard environment
+     */
+    private void registerProfilerReport(final BeanStartupProfiler profiler, final Environment environment) {
+        if (profiler == null) {
+            return;
+        }
+        profiler.stop();
+        profiler.registerMetrics(environment.metrics());
+        environment.admin()
+                   .addTask(new BeanStartupProfileTask(profiler, environment.getObjectMapper()));
+        log.info("Profiled the creation of {} Spring beans", profiler.getRecords()
+                                                                    .size());
+    }
+
+    /**
+     * Register the {@link ContextIntrospectionTask} in Dropwizard {@link Environment} and clear the Spring metadata
+     * caches once the server started, if enabled.
+     *
+     * @param springFactory the Spring integration configuration
+     * @param environment   the Dropwizard environment
+     * @param profiler      the profiler, {@code null} if profiling is disabled
+     * @param parent        the parent Spring application context
+     * @param contexts      the Spring application contexts, by name
+     */
+    private void registerIntrospection(final SpringFactory springFactory,
+                                       final Environment environment,
+                                       final BeanStartupProfiler profiler,
+                                       final ConfigurableWebApplicationContext parent,
+                                       final Map<String, IndexedAnnotationConfigWebApplicationContext> contexts) {
+        final Map<String, ConfigurableWebApplicationContext> allContexts = new LinkedHashMap<>();
+        allContexts.put("parent", parent);
+        allContexts.putAll(contexts);
+        if (springFactory.isIntrospection()) {
+            environment.admin()
+                       .addTask(new ContextIntrospectionTask(allContexts, profiler, environment.getObjectMapper()));
+        }
+        if (springFactory.isClearCaches()) {
+            environment.lifecycle()
+                       .addServerLifecycleListener(server -> log.info("Cleared the Spring metadata caches, freeing {} bytes",
+                                                                      MetadataCaches.clear(allContexts.values())));
+        }
+    }
+
+    /**
+     * Pre-warm the lazy singletons of the Spring application context once the server started, if enabled.
+     *
+     * @param springFactory the Spring integration configuration
+     * @param environment   the Dropwizard environment
+     * @param context       the Spring application context
+     */
+    private void registerPreWarm(final SpringFactory springFactory, final Environment environment, final ConfigurableWebApplicationContext context) {
+        if (springFactory.isLazyInitialization() && springFactory.isPreWarm()) {
+            environment.lifecycle()
+                       .addServerLifecycleListener(new SingletonPreWarmer(context));
+            log.info("Registering pre-warm of lazy Spring singletons");
+        }
+    }
+
+    /**
+     * Warm the application up once the server started, its health check reporting unhealthy until done, if enabled
+     * and there is anything to warm up.
+     *
+     * @param warmUpFactory the warm-up configuration
+     * @param environment   the Dropwizard environment
+     * @param beans         the Spring warm-up beans, by bean name
+     */
+    private void registerWarmUp(final WarmUpFactory warmUpFactory,
+                                final Environment environment,
+                                final Map<String, Object> beans) {
+        if (!warmUpFactory.isEnabled() || (beans.isEmpty() && warmUpFactory.getRequests()
+                                                                            .isEmpty())) {
+            return;
+        }
+        final Map<String, WarmUp> warmUps = new LinkedHashMap<>();
+        beans.forEach((beanName, bean) -> warmUps.put(beanName, (WarmUp) bean));
+        final WarmUpRunner warmUpRunner = new WarmUpRunner(warmUps,
+                                                           warmUpFactory,
+                                                           environment.getJerseyServletContainer(),
+                                                           environment.metrics());
+        environment.lifecycle()
+                   .addServerLifecycleListener(warmUpRunner);
+        environment.healthChecks()
+                   .register(WARM_UP_HEALTH_CHECK_NAME, warmUpRunner);
+        log.info("Registering warm-up of {} beans and {} requests", warmUps.size(), warmUpFactory.getRequests()
+                                                                                                .size());
+    }
+
+    /**
+     * @return the classes of the singleton, prototype and scoped resources annotated with {@link Path}
+     */
+    private Set<Class<?>> getResourceClasses() {
+        final Set<Class<?>> resourceClasses = index.getBeans(BeanRoles.RESOURCE)
+                                                   .values()
+                                                   .stream()
+                                                   .map(Object::getClass)
+                                                   .collect(Collectors.toCollection(LinkedHashSet::new));
+        resourceClasses.addAll(index.getScopedBeans(BeanRoles.RESOURCE)
+                                    .values());
+        return resourceClasses;
+    }
+
+    private SpringFactory getSpringFactory(final T configuration) {
+        if (configuration instanceof SpringConfiguration) {
+            final SpringFactory springFactory = ((SpringConfiguration) configuration).getSpringFactory();
+            if (springFactory != null) {
+                return springFactory;
+            }
+        }
+        return new SpringFactory();
+    }
+}
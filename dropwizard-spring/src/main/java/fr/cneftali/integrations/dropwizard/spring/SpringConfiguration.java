@@ -0,0 +1,25 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+/**
+ * Implemented by Dropwizard configurations tuning the {@link SpringBundle}.
+ *
+ * <pre>{@code
+ * public class DemoConfiguration extends Configuration implements SpringConfiguration {
+ *     @JsonProperty("spring")
+ *     private SpringFactory springFactory = new SpringFactory();
+ *
+ *     public SpringFactory getSpringFactory() {
+ *         return springFactory;
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Configurations not implementing it get the defaults of {@link SpringFactory}.</p>
+ */
+public interface SpringConfiguration {
+
+    /**
+     * @return the configuration of the Spring integration
+     */
+    SpringFactory getSpringFactory();
+}
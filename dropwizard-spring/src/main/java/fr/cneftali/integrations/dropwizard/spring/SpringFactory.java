@@ -0,0 +1,143 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import fr.cneftali.integrations.dropwizard.spring.async.AsyncFactory;
+import fr.cneftali.integrations.dropwizard.spring.cache.CachesFactory;
+import fr.cneftali.integrations.dropwizard.spring.db.DataSourcesFactory;
+import fr.cneftali.integrations.dropwizard.spring.event.EventsFactory;
+import fr.cneftali.integrations.dropwizard.spring.executor.ExecutorsFactory;
+import fr.cneftali.integrations.dropwizard.spring.health.HealthChecksFactory;
+import fr.cneftali.integrations.dropwizard.spring.jackson.ObjectMapperFactory;
+import fr.cneftali.integrations.dropwizard.spring.lifecycle.LifecycleFactory;
+import fr.cneftali.integrations.dropwizard.spring.metrics.MetricsFactory;
+import fr.cneftali.integrations.dropwizard.spring.shutdown.ShutdownFactory;
+import fr.cneftali.integrations.dropwizard.spring.validation.ValidationFactory;
+import fr.cneftali.integrations.dropwizard.spring.warmup.WarmUpFactory;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the Spring integration, see {@link SpringConfiguration}.
+ */
+@Getter
+@Setter
+public class SpringFactory {
+
+    /**
+     * Create singletons on first use instead of when the context is refreshed. Beans Dropwizard needs at startup
+     * (resources, providers, health checks, managed objects, tasks...) and their dependencies are still created
+     * before the server starts. The other beans whose only effect comes from their post-processing, e.g. those with
+     * {@code @Scheduled} methods, do nothing until something requests them, unless {@link #preWarm} is set.
+     */
+    @JsonProperty
+    private boolean lazyInitialization = false;
+
+    /**
+     * With {@link #lazyInitialization}, create the remaining singletons in the background once the server started.
+     */
+    @JsonProperty
+    private boolean preWarm = false;
+
+    /**
+     * Read the components of the packages given to {@link SpringBundle#scan(String...)} or to {@code @ComponentScan}
+     * from the {@code META-INF/spring.components} files generated at build time by the {@code dropwizard-spring-indexer}
+     * annotation processor, instead of walking the class path, when every class path root holding them has one.
+     */
+    @JsonProperty
+    private boolean componentIndex = false;
+
+    /**
+     * Record the creation time of every bean, exported to the metrics and the {@code spring-bean-profile} task.
+     */
+    @JsonProperty
+    private boolean profiling = false;
+
+    /**
+     * Register the {@code spring-context} task, streaming the beans of the contexts with their retained heap.
+     */
+    @JsonProperty
+    private boolean introspection = true;
+
+    /**
+     * Clear the Spring reflection and metadata caches once the server started, logging the heap freed.
+     */
+    @JsonProperty
+    private boolean clearCaches = false;
+
+    /**
+     * Expose the Dropwizard configuration as the first property source of the Spring environment, e.g.
+     * {@code @Value("${spring.warmUp.iterations}")}. The configuration is serialized through the Dropwizard object
+     * mapper: when it cannot be, a warning is logged and no property source is registered.
+     */
+    @JsonProperty
+    private boolean propertySource = false;
+
+    /**
+     * Refresh the application context and the modules added to the {@link SpringBundle} concurrently.
+     */
+    @JsonProperty
+    private boolean parallelRefresh = true;
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private LifecycleFactory lifecycle = new LifecycleFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private ObjectMapperFactory objectMapper = new ObjectMapperFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private MetricsFactory metrics = new MetricsFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private ExecutorsFactory executors = new ExecutorsFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private AsyncFactory async = new AsyncFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private CachesFactory caches = new CachesFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private HealthChecksFactory healthChecks = new HealthChecksFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private WarmUpFactory warmUp = new WarmUpFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private ValidationFactory validation = new ValidationFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private EventsFactory events = new EventsFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private DataSourcesFactory dataSources = new DataSourcesFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private ShutdownFactory shutdown = new ShutdownFactory();
+}
@@ -0,0 +1,93 @@
+package fr.cneftali.integrations.dropwizard.spring.async;
+
+import com.codahale.metrics.InstrumentedExecutorService;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.lifecycle.ExecutorServiceManager;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Configuration of the asynchronous resources registered from Spring, see {@link AsyncResourceFeature}, and of
+ * their executor, published as the {@code dwAsyncExecutor} Spring bean. The bean is not an autowire candidate:
+ * inject it by name, e.g. with {@code @Value("#{dwAsyncExecutor}")} or {@code @Resource(name = "dwAsyncExecutor")}.
+ */
+@Slf4j
+@Getter
+@Setter
+public class AsyncFactory {
+
+    /**
+     * Resume the requests of the resource methods returning a {@link java.util.concurrent.CompletionStage} or a
+     * {@link org.springframework.util.concurrent.ListenableFuture} once it completes, instead of serializing it.
+     */
+    @JsonProperty
+    private boolean enabled = true;
+
+    /**
+     * Also run the other resource methods on the executor, releasing the server thread while they block.
+     */
+    @JsonProperty
+    private boolean dispatch = false;
+
+    /**
+     * Run each task on a new virtual thread, on JVMs supporting them, instead of a pool of {@link #maxThreads}.
+     */
+    @JsonProperty
+    private boolean virtualThreads = false;
+
+    @Min(1)
+    @JsonProperty
+    private int maxThreads = 64;
+
+    /**
+     * The maximum time to wait for an asynchronous response, before answering 503 and cancelling the computation.
+     */
+    @NotNull
+    @JsonProperty
+    private Duration timeout = Duration.seconds(30);
+
+    @NotNull
+    @JsonProperty
+    private Duration shutdownTimeout = Duration.seconds(5);
+
+    /**
+     * Build the executor of the asynchronous resources, instrumented, its {@link ExecutorServiceManager} being handed
+     * to the given lifecycle.
+     *
+     * @param environment the Dropwizard environment
+     * @param lifecycle   registers the manager stopping the executor, e.g. in the Dropwizard lifecycle
+     * @return the executor
+     */
+    public ExecutorService build(final Environment environment, final Consumer<Managed> lifecycle) {
+        ExecutorService executor = virtualThreads ? newVirtualThreadPerTaskExecutor() : null;
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(maxThreads, new ThreadFactoryBuilder().setNameFormat("spring-async-%d")
+                                                                                          .build());
+        }
+        lifecycle.accept(new ExecutorServiceManager(executor, shutdownTimeout, "spring-async"));
+        return new InstrumentedExecutorService(executor, environment.metrics(), name(AsyncResourceFeature.class, "executor"));
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                                                    .invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            log.warn("Virtual threads are not supported by this JVM, using a thread pool");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package fr.cneftali.integrations.dropwizard.spring.async;
+
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.ws.rs.container.AsyncResponse;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Invokes the asynchronous resource methods of {@link AsyncResourceFeature}, whose requests are already suspended.
+ */
+class AsyncInvocationHandlerProvider implements ResourceMethodInvocationHandlerProvider {
+
+    private final AsyncResourceFeature feature;
+    private final Provider<AsyncResponse> asyncResponses;
+
+    @Inject
+    AsyncInvocationHandlerProvider(final AsyncResourceFeature feature, final Provider<AsyncResponse> asyncResponses) {
+        this.feature = feature;
+        this.asyncResponses = asyncResponses;
+    }
+
+    @Override
+    public InvocationHandler create(final Invocable invocable) {
+        if (!feature.isAsync(invocable)) {
+            return null;
+        }
+        final Type entityType = AsyncResourceFeature.entityType(invocable.getHandlingMethod());
+        if (AsyncResourceFeature.isFuture(invocable.getHandlingMethod()
+                                                   .getReturnType())) {
+            return (resource, method, args) -> {
+                final AsyncResponse asyncResponse = asyncResponses.get();
+                try {
+                    feature.resumeOnCompletion(method.invoke(resource, args), asyncResponse, entityType);
+                } catch (final InvocationTargetException e) {
+                    AsyncResourceFeature.resume(asyncResponse, null, e.getCause(), entityType);
+                }
+                return null;
+            };
+        }
+        return (resource, method, args) -> {
+            final AsyncResponse asyncResponse = asyncResponses.get();
+            final FutureTask<?> task = new FutureTask<>(() -> dispatch(resource, method, args, asyncResponse, entityType), null);
+            feature.cancelOnTimeout(asyncResponse, task);
+            feature.getExecutor()
+                   .execute(task);
+            return null;
+        };
+    }
+
+    private static void dispatch(final Object resource,
+                          final Method method,
+                          final Object[] args,
+                          final AsyncResponse asyncResponse,
+                          final Type entityType) {
+        try {
+            AsyncResourceFeature.resume(asyncResponse, method.invoke(resource, args), null, entityType);
+        } catch (final InvocationTargetException e) {
+            AsyncResourceFeature.resume(asyncResponse, null, e.getCause(), entityType);
+        } catch (final Throwable e) {
+            AsyncResourceFeature.resume(asyncResponse, null, e, entityType);
+        }
+    }
+}
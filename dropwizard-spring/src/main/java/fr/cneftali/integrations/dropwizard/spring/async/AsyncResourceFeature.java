@@ -0,0 +1,233 @@
+package fr.cneftali.integrations.dropwizard.spring.async;
+
+import com.google.common.reflect.TypeToken;
+import io.dropwizard.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.server.ManagedAsync;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.ModelProcessor;
+import org.glassfish.jersey.server.model.Parameter;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import javax.inject.Singleton;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ConnectionCallback;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.Response;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serves the methods of the resources registered from Spring asynchronously:
+ * <ul>
+ * <li>the methods returning a {@link CompletionStage} or a {@link ListenableFuture} resume the request once it
+ * completes,</li>
+ * <li>with {@link AsyncFactory#isDispatch()}, the other methods run on the executor.</li>
+ * </ul>
+ * The requests are suspended by a {@link ModelProcessor}, the methods are invoked by an
+ * {@link AsyncInvocationHandlerProvider}. A request still pending after {@link AsyncFactory#getTimeout()} is answered
+ * 503 and its computation cancelled, as it is when the client disconnects, if the container reports it.
+ */
+@Slf4j
+public class AsyncResourceFeature implements Feature {
+
+    private final Set<Class<?>> resourceClasses;
+    private final ExecutorService executor;
+    private final AsyncFactory asyncFactory;
+
+    /**
+     * @param resourceClasses the classes of the resources registered from Spring
+     * @param executor        the executor of the dispatched methods
+     * @param asyncFactory    the asynchronous resources configuration
+     */
+    public AsyncResourceFeature(final Set<Class<?>> resourceClasses,
+                                final ExecutorService executor,
+                                final AsyncFactory asyncFactory) {
+        this.resourceClasses = requireNonNull(resourceClasses);
+        this.executor = requireNonNull(executor);
+        this.asyncFactory = requireNonNull(asyncFactory);
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.register(new SuspendingModelProcessor());
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(AsyncResourceFeature.this).to(AsyncResourceFeature.class);
+                bind(AsyncInvocationHandlerProvider.class).to(ResourceMethodInvocationHandlerProvider.class)
+                                                          .in(Singleton.class);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * @param invocable a resource method
+     * @return whether the method is served asynchronously
+     */
+    boolean isAsync(final Invocable invocable) {
+        final Method method = invocable.getHandlingMethod();
+        return resourceClasses.contains(invocable.getHandler()
+                                                 .getHandlerClass())
+               && (isFuture(method.getReturnType()) || asyncFactory.isDispatch())
+               && AnnotationUtils.findAnnotation(method, HttpMethod.class) != null
+               && AnnotationUtils.findAnnotation(method, ManagedAsync.class) == null
+               && invocable.getParameters()
+                           .stream()
+                           .noneMatch(parameter -> parameter.getSource() == Parameter.Source.SUSPENDED);
+    }
+
+    static boolean isFuture(final Class<?> type) {
+        return CompletionStage.class.isAssignableFrom(type) || ListenableFuture.class.isAssignableFrom(type);
+    }
+
+    /**
+     * @param method a resource method
+     * @return the type of the entity the method produces, eventually
+     */
+    public static Type entityType(final Method method) {
+        final TypeToken<?> returnType = TypeToken.of(method.getGenericReturnType());
+        if (CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+            return returnType.resolveType(CompletionStage.class.getTypeParameters()[0])
+                             .getType();
+        } else if (ListenableFuture.class.isAssignableFrom(method.getReturnType())) {
+            return returnType.resolveType(ListenableFuture.class.getTypeParameters()[0])
+                             .getType();
+        }
+        return returnType.getType();
+    }
+
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Resume the response once the future completes, or cancel the future on timeout or disconnection.
+     *
+     * @param future        the future returned by the resource method
+     * @param asyncResponse the suspended response
+     * @param entityType    the type of the result of the future
+     */
+    void resumeOnCompletion(final Object future, final AsyncResponse asyncResponse, final Type entityType) {
+        if (future == null) {
+            asyncResponse.resume(Response.noContent()
+                                         .build());
+            return;
+        }
+        cancelOnTimeout(asyncResponse, future);
+        if (future instanceof CompletionStage) {
+            ((CompletionStage<?>) future).whenComplete((result, error) -> resume(asyncResponse, result, error, entityType));
+        } else {
+            ((ListenableFuture<?>) future).addCallback(result -> resume(asyncResponse, result, null, entityType),
+                                                       error -> resume(asyncResponse, null, error, entityType));
+        }
+    }
+
+    /**
+     * Answer 503 and cancel the computation if it takes longer than the timeout, or if the client disconnects.
+     *
+     * @param asyncResponse the suspended response
+     * @param computation   the computation, cancelled if it is a {@link Future}
+     */
+    void cancelOnTimeout(final AsyncResponse asyncResponse, final Object computation) {
+        final Duration timeout = asyncFactory.getTimeout();
+        asyncResponse.register((ConnectionCallback) disconnected -> cancel(computation));
+        asyncResponse.setTimeoutHandler(timedOut -> {
+            timedOut.resume(new ServiceUnavailableException("No response within " + timeout));
+            cancel(computation);
+        });
+        asyncResponse.setTimeout(timeout.getQuantity(), timeout.getUnit());
+    }
+
+    /**
+     * Resume a response with the result of a computation.
+     *
+     * @param asyncResponse the suspended response
+     * @param result        the result, if the computation succeeded
+     * @param error         the error, if it failed
+     * @param entityType    the type of the result
+     */
+    static void resume(final AsyncResponse asyncResponse, final Object result, final Throwable error, final Type entityType) {
+        if (error != null) {
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            asyncResponse.resume(cause instanceof CancellationException ? new ServiceUnavailableException() : cause);
+        } else if (result == null) {
+            asyncResponse.resume(Response.noContent()
+                                         .build());
+        } else if (result instanceof Response || !(entityType instanceof ParameterizedType)) {
+            asyncResponse.resume(result);
+        } else {
+            // keep the generic type of the entity for the message body writers
+            asyncResponse.resume(new GenericEntity<>(result, entityType));
+        }
+    }
+
+    private static void cancel(final Object computation) {
+        if (computation instanceof Future) {
+            ((Future<?>) computation).cancel(true);
+        }
+    }
+
+    /**
+     * Suspends the requests of the asynchronous resource methods, see {@link #isAsync(Invocable)}.
+     */
+    private class SuspendingModelProcessor implements ModelProcessor {
+
+        @Override
+        public ResourceModel processResourceModel(final ResourceModel resourceModel, final Configuration configuration) {
+            final ResourceModel.Builder builder = new ResourceModel.Builder(false);
+            resourceModel.getRootResources()
+                         .forEach(resource -> builder.addResource(process(resource)));
+            return builder.build();
+        }
+
+        @Override
+        public ResourceModel processSubResource(final ResourceModel subResourceModel, final Configuration configuration) {
+            return subResourceModel;
+        }
+
+        private Resource process(final Resource resource) {
+            final Resource.Builder builder = Resource.builder(resource);
+            boolean changed = false;
+            for (final ResourceMethod method : resource.getResourceMethods()) {
+                if (!method.isSuspendDeclared() && !method.isManagedAsyncDeclared() && isAsync(method.getInvocable())) {
+                    builder.updateMethod(method)
+                           .suspended(AsyncResponse.NO_TIMEOUT, TimeUnit.SECONDS);
+                    log.debug("Serving asynchronously: {}", method.getInvocable()
+                                                                  .getHandlingMethod());
+                    changed = true;
+                }
+            }
+            for (final Resource child : resource.getChildResources()) {
+                final Resource processed = process(child);
+                if (processed != child) {
+                    builder.replaceChildResource(child, processed);
+                    changed = true;
+                }
+            }
+            return changed ? builder.build() : resource;
+        }
+    }
+}
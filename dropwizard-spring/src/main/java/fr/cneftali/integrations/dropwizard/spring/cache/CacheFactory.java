@@ -0,0 +1,73 @@
+package fr.cneftali.integrations.dropwizard.spring.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.ValidationMethod;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.Min;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of a Caffeine cache of the {@link ConfiguredCacheManager}; unset properties do not bound the cache.
+ */
+@Getter
+@Setter
+public class CacheFactory {
+
+    @Min(0)
+    @JsonProperty
+    private Long maximumSize;
+
+    @JsonProperty
+    private Duration expireAfterWrite;
+
+    @JsonProperty
+    private Duration expireAfterAccess;
+
+    /**
+     * Reload the entries asynchronously with the {@link #loader} once they are older, while still serving them.
+     */
+    @JsonProperty
+    private Duration refreshAfterWrite;
+
+    /**
+     * The name of the Spring bean implementing {@link com.github.benmanes.caffeine.cache.CacheLoader} that loads the
+     * entries of the cache, required by {@link #refreshAfterWrite}.
+     */
+    @JsonProperty
+    private String loader;
+
+    @JsonProperty
+    private boolean allowNullValues = true;
+
+    @JsonIgnore
+    @ValidationMethod(message = "refreshAfterWrite requires a loader")
+    public boolean isLoaderSetWhenRefreshing() {
+        return refreshAfterWrite == null || loader != null;
+    }
+
+    /**
+     * @return a Caffeine builder recording the statistics of the cache
+     */
+    public Caffeine<Object, Object> newBuilder() {
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                                                         .recordStats();
+        if (maximumSize != null) {
+            builder.maximumSize(maximumSize);
+        }
+        if (expireAfterWrite != null) {
+            builder.expireAfterWrite(expireAfterWrite.toNanoseconds(), TimeUnit.NANOSECONDS);
+        }
+        if (expireAfterAccess != null) {
+            builder.expireAfterAccess(expireAfterAccess.toNanoseconds(), TimeUnit.NANOSECONDS);
+        }
+        if (refreshAfterWrite != null) {
+            builder.refreshAfterWrite(refreshAfterWrite.toNanoseconds(), TimeUnit.NANOSECONDS);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,67 @@
+package fr.cneftali.integrations.dropwizard.spring.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultimap;
+import io.dropwizard.servlets.tasks.Task;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Dumps the statistics of the caches of the {@link ConfiguredCacheManager} as JSON, after invalidating them if
+ * asked.
+ *
+ * <p>Usage: {@code POST /tasks/spring-caches?cache=users&cache=orders&invalidate=true}, all the caches when no
+ * {@code cache} is given.</p>
+ */
+public class CacheTask extends Task {
+
+    private final ConfiguredCacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    public CacheTask(final ConfiguredCacheManager cacheManager, final ObjectMapper objectMapper) {
+        super("spring-caches");
+        this.cacheManager = requireNonNull(cacheManager);
+        this.objectMapper = requireNonNull(objectMapper);
+    }
+
+    @Override
+    public void execute(final ImmutableMultimap<String, String> parameters, final PrintWriter output) throws Exception {
+        final Collection<String> names = parameters.get("cache")
+                                                   .isEmpty() ? cacheManager.getCaches()
+                                                                            .keySet() : parameters.get("cache");
+        final boolean invalidate = parameters.get("invalidate")
+                                             .stream()
+                                             .anyMatch(Boolean::parseBoolean);
+        final Map<String, Object> report = new LinkedHashMap<>();
+        for (final String name : names) {
+            final CaffeineCache cache = cacheManager.getCaches()
+                                                    .get(name);
+            if (cache == null) {
+                continue;
+            }
+            if (invalidate) {
+                cache.clear();
+            }
+            final CacheStats stats = cache.getNativeCache()
+                                          .stats();
+            report.put(name, ImmutableMap.builder()
+                                         .put("size", cache.getNativeCache()
+                                                           .estimatedSize())
+                                         .put("hits", stats.hitCount())
+                                         .put("misses", stats.missCount())
+                                         .put("hitRatio", stats.hitRate())
+                                         .put("evictions", stats.evictionCount())
+                                         .put("loadFailures", stats.loadFailureCount())
+                                         .build());
+        }
+        objectMapper.writeValue(output, report);
+    }
+}
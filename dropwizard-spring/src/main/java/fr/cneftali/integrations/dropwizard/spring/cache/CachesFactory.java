@@ -0,0 +1,50 @@
+package fr.cneftali.integrations.dropwizard.spring.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration of the {@link ConfiguredCacheManager}, published as the {@code dwCacheManager} Spring bean. The bean
+ * is not an autowire candidate, so that a {@link org.springframework.cache.CacheManager} of the application is still
+ * injected by type.
+ */
+@Getter
+@Setter
+public class CachesFactory {
+
+    static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    /**
+     * Create the caches missing from {@link #caches} on first use, configured by {@link #defaults}.
+     */
+    @JsonProperty
+    private boolean dynamic = true;
+
+    /**
+     * Configuration of the dynamic caches, bounded to {@value #DEFAULT_MAXIMUM_SIZE} entries unless configured.
+     */
+    @Valid
+    @NotNull
+    @JsonProperty
+    private CacheFactory defaults = newDefaults();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private Map<String, CacheFactory> caches = new LinkedHashMap<>();
+
+    private static CacheFactory newDefaults() {
+        final CacheFactory defaults = new CacheFactory();
+        defaults.setMaximumSize(DEFAULT_MAXIMUM_SIZE);
+        return defaults;
+    }
+}
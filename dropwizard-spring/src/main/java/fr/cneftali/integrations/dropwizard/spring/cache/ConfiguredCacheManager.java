@@ -0,0 +1,139 @@
+package fr.cneftali.integrations.dropwizard.spring.cache;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link CacheManager} of Caffeine caches, each configured by its own {@link CacheFactory}, reporting its
+ * {@code hits}, {@code misses}, {@code hit-ratio}, {@code evictions}, {@code load-failures} and {@code size} to the
+ * {@link MetricRegistry}.
+ * <p/>
+ * Caches are created on first use, so that their loaders can be beans of the application context or of its modules.
+ */
+@Slf4j
+public class ConfiguredCacheManager implements CacheManager {
+
+    private final CachesFactory cachesFactory;
+    private final List<BeanFactory> beanFactories;
+    private final MetricRegistry metrics;
+    private final ConcurrentMap<String, CaffeineCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param cachesFactory the caches configuration
+     * @param beanFactory   the bean factory of the cache loaders
+     * @param metrics       the registry of the cache statistics
+     */
+    public ConfiguredCacheManager(final CachesFactory cachesFactory, final BeanFactory beanFactory, final MetricRegistry metrics) {
+        this(cachesFactory, Collections.singletonList(requireNonNull(beanFactory)), metrics);
+    }
+
+    /**
+     * @param cachesFactory the caches configuration
+     * @param beanFactories the bean factories of the cache loaders, searched in order, the application contexts
+     *                      being skipped until they refresh
+     * @param metrics       the registry of the cache statistics
+     */
+    public ConfiguredCacheManager(final CachesFactory cachesFactory,
+                                  final Collection<? extends BeanFactory> beanFactories,
+                                  final MetricRegistry metrics) {
+        this.cachesFactory = requireNonNull(cachesFactory);
+        this.beanFactories = new ArrayList<>(beanFactories);
+        this.metrics = requireNonNull(metrics);
+    }
+
+    @Override
+    public CaffeineCache getCache(final String name) {
+        final CaffeineCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        final CacheFactory cacheFactory = cachesFactory.getCaches()
+                                                       .getOrDefault(name, cachesFactory.isDynamic() ? cachesFactory.getDefaults() : null);
+        if (cacheFactory == null) {
+            return null;
+        }
+        // not computeIfAbsent: creating the loader may use other caches
+        synchronized (caches) {
+            return caches.containsKey(name) ? caches.get(name) : createCache(name, cacheFactory);
+        }
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        final Set<String> names = new LinkedHashSet<>(cachesFactory.getCaches()
+                                                                   .keySet());
+        names.addAll(caches.keySet());
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * @return the caches created so far, by name
+     */
+    public Map<String, CaffeineCache> getCaches() {
+        return Collections.unmodifiableMap(caches);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineCache createCache(final String name, final CacheFactory cacheFactory) {
+        final Caffeine<Object, Object> builder = cacheFactory.newBuilder();
+        final com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache;
+        if (cacheFactory.getLoader() != null) {
+            nativeCache = builder.build(getLoader(cacheFactory.getLoader()));
+        } else {
+            nativeCache = builder.build();
+        }
+        registerGauge(name, "hits", () -> nativeCache.stats()
+                                                     .hitCount());
+        registerGauge(name, "misses", () -> nativeCache.stats()
+                                                       .missCount());
+        registerGauge(name, "hit-ratio", () -> nativeCache.stats()
+                                                          .hitRate());
+        registerGauge(name, "evictions", () -> nativeCache.stats()
+                                                          .evictionCount());
+        registerGauge(name, "load-failures", () -> nativeCache.stats()
+                                                              .loadFailureCount());
+        registerGauge(name, "size", nativeCache::estimatedSize);
+        final CaffeineCache cache = new CaffeineCache(name, nativeCache, cacheFactory.isAllowNullValues());
+        caches.put(name, cache);
+        log.info("Created cache {}", name);
+        return cache;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheLoader<Object, Object> getLoader(final String loaderName) {
+        for (final BeanFactory beanFactory : beanFactories) {
+            if ((!(beanFactory instanceof ConfigurableApplicationContext) || ((ConfigurableApplicationContext) beanFactory).isActive())
+                && beanFactory.containsBean(loaderName)) {
+                return beanFactory.getBean(loaderName, CacheLoader.class);
+            }
+        }
+        throw new NoSuchBeanDefinitionException(loaderName);
+    }
+
+    private void registerGauge(final String cacheName, final String metric, final Gauge<?> gauge) {
+        final String name = name(ConfiguredCacheManager.class, cacheName, metric);
+        metrics.remove(name);
+        metrics.register(name, gauge);
+    }
+}
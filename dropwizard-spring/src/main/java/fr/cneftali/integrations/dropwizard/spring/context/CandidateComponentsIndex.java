@@ -0,0 +1,107 @@
+package fr.cneftali.integrations.dropwizard.spring.context;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.PathMatcher;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The candidate components listed at build time in {@value #COMPONENTS_RESOURCE_LOCATION} files, e.g. by the
+ * {@code dropwizard-spring-indexer} annotation processor.
+ *
+ * <p>Each file is a properties file whose keys are the fully qualified names of the candidate components. The index
+ * only {@link #covers(String, ClassLoader) covers} a package when every class path root holding it has an index
+ * file, since the components of the other roots are not listed.</p>
+ */
+@Slf4j
+public class CandidateComponentsIndex {
+
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
+
+    private final Set<String> resourcePaths;
+    private final Set<String> roots;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * @param types the fully qualified names of the candidate components
+     * @param roots the URLs of the class path roots having an index file, e.g. {@code jar:file:/app.jar!/}
+     */
+    public CandidateComponentsIndex(final Set<String> types, final Set<String> roots) {
+        this.resourcePaths = new TreeSet<>();
+        types.forEach(type -> resourcePaths.add(ClassUtils.convertClassNameToResourcePath(type) + ClassUtils.CLASS_FILE_SUFFIX));
+        this.roots = new HashSet<>(roots);
+    }
+
+    /**
+     * Load the index files visible to a class loader.
+     *
+     * @param classLoader the class loader
+     * @return the index, or {@code null} if there is no index file
+     * @throws IOException if an index file cannot be read
+     */
+    public static CandidateComponentsIndex load(final ClassLoader classLoader) throws IOException {
+        final Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+        if (!urls.hasMoreElements()) {
+            return null;
+        }
+        final Set<String> types = new TreeSet<>();
+        final Set<String> roots = new HashSet<>();
+        while (urls.hasMoreElements()) {
+            final URL url = urls.nextElement();
+            final Properties properties = PropertiesLoaderUtils.loadProperties(new UrlResource(url));
+            types.addAll(properties.stringPropertyNames());
+            roots.add(root(url, COMPONENTS_RESOURCE_LOCATION));
+        }
+        log.info("Loaded {} candidate components from {} index files", types.size(), roots.size());
+        return new CandidateComponentsIndex(types, roots);
+    }
+
+    /**
+     * @param packagePath the resource path of a package, e.g. {@code com/example}
+     * @param classLoader the class loader
+     * @return whether every class path root holding the package has an index file
+     * @throws IOException if the class path cannot be read
+     */
+    public boolean covers(final String packagePath, final ClassLoader classLoader) throws IOException {
+        final String directory = packagePath.endsWith("/") ? packagePath : packagePath + '/';
+        final Enumeration<URL> urls = classLoader.getResources(directory);
+        while (urls.hasMoreElements()) {
+            if (!roots.contains(root(urls.nextElement(), directory))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param pattern a class path pattern without its prefix, e.g. {@code com/example/**&#47;*.class}
+     * @return the class path of the indexed components matching the pattern
+     */
+    public List<String> getResourcePaths(final String pattern) {
+        final List<String> paths = new ArrayList<>();
+        for (final String path : resourcePaths) {
+            if (pathMatcher.match(pattern, path)) {
+                paths.add(path);
+            }
+        }
+        return Collections.unmodifiableList(paths);
+    }
+
+    private static String root(final URL url, final String path) {
+        final String location = url.toString();
+        return location.substring(0, location.length() - path.length());
+    }
+}
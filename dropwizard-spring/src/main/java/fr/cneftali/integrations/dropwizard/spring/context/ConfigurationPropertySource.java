@@ -0,0 +1,98 @@
+package fr.cneftali.integrations.dropwizard.spring.context;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.env.EnumerablePropertySource;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exposes the Dropwizard configuration to the Spring {@link org.springframework.core.env.Environment}, so that
+ * {@code @Value("${server.applicationConnectors[0].port}")} placeholders resolve against it.
+ *
+ * <p>The configuration is serialized once with the Dropwizard object mapper and flattened into a map from property
+ * paths to values: nested objects are joined with {@code .}, array elements indexed with {@code [i]}, {@code null}
+ * values left out. Lookups are then a single map access. {@link #reload(Object)} swaps the whole map at once; values
+ * already injected into beans are not updated.</p>
+ */
+public class ConfigurationPropertySource extends EnumerablePropertySource<ObjectMapper> {
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param name          the name of the property source
+     * @param configuration the Dropwizard configuration
+     * @param objectMapper  the object mapper serializing the configuration
+     */
+    public ConfigurationPropertySource(final String name, final Object configuration, final ObjectMapper objectMapper) {
+        super(name, requireNonNull(objectMapper));
+        reload(configuration);
+    }
+
+    /**
+     * Flatten the given configuration, replacing the properties of the previous one.
+     *
+     * @param configuration the Dropwizard configuration
+     */
+    public void reload(final Object configuration) {
+        final Map<String, Object> flattened = new LinkedHashMap<>();
+        flatten("", getSource().valueToTree(requireNonNull(configuration)), flattened);
+        this.snapshot = new Snapshot(Collections.unmodifiableMap(flattened),
+                                     flattened.keySet()
+                                              .toArray(new String[flattened.size()]));
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        return snapshot.properties.get(name);
+    }
+
+    @Override
+    public boolean containsProperty(final String name) {
+        return snapshot.properties.containsKey(name);
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return snapshot.propertyNames.clone();
+    }
+
+    private static void flatten(final String path, final JsonNode node, final Map<String, Object> properties) {
+        if (node.isObject()) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                flatten(path.isEmpty() ? field.getKey() : path + '.' + field.getKey(), field.getValue(), properties);
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                flatten(path + '[' + i + ']', node.get(i), properties);
+            }
+        } else if (node.isNumber()) {
+            properties.put(path, node.numberValue());
+        } else if (node.isBoolean()) {
+            properties.put(path, node.booleanValue());
+        } else if (!node.isNull() && !node.isMissingNode()) {
+            properties.put(path, node.asText());
+        }
+    }
+
+    /**
+     * The properties of a configuration and their names, published together so that a reload is seen as a whole.
+     */
+    private static final class Snapshot {
+
+        private final Map<String, Object> properties;
+        private final String[] propertyNames;
+
+        private Snapshot(final Map<String, Object> properties, final String[] propertyNames) {
+            this.properties = properties;
+            this.propertyNames = propertyNames;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package fr.cneftali.integrations.dropwizard.spring.context;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.springframework.context.annotation.ConfigurationClassPostProcessor;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * An {@link AnnotationConfigWebApplicationContext} reading the candidate components of the packages given to
+ * {@link #scan(String...)} or to {@code @ComponentScan} from a {@link CandidateComponentsIndex} instead of walking the
+ * class path, when an index is set, see {@link IndexedClassPathBeanDefinitionScanner} and
+ * {@link IndexedResourcePatternResolver}.
+ *
+ * <p>The include filters of {@code @ComponentScan} only see the indexed components. The other class path lookups of
+ * the context, e.g. those of repository or entity scanning, are left alone.</p>
+ */
+public class IndexedAnnotationConfigWebApplicationContext extends AnnotationConfigWebApplicationContext {
+
+    private volatile CandidateComponentsIndex componentIndex;
+
+    /**
+     * @param componentIndex the index of the candidate components, {@code null} to scan the class path
+     */
+    public void setComponentIndex(final CandidateComponentsIndex componentIndex) {
+        this.componentIndex = componentIndex;
+    }
+
+    public CandidateComponentsIndex getComponentIndex() {
+        return componentIndex;
+    }
+
+    @Override
+    protected ClassPathBeanDefinitionScanner getClassPathBeanDefinitionScanner(final DefaultListableBeanFactory beanFactory) {
+        return new IndexedClassPathBeanDefinitionScanner(beanFactory, getEnvironment(), this, componentIndex);
+    }
+
+    @Override
+    protected void invokeBeanFactoryPostProcessors(final ConfigurableListableBeanFactory beanFactory) {
+        if (componentIndex != null && beanFactory.containsBean(AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME)) {
+            // The scanner of @ComponentScan walks the class path through the resource loader of the processor
+            beanFactory.getBean(AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME, ConfigurationClassPostProcessor.class)
+                       .setResourceLoader(new IndexedResourcePatternResolver(this, componentIndex));
+        }
+        super.invokeBeanFactoryPostProcessors(beanFactory);
+    }
+}
@@ -0,0 +1,97 @@
+package fr.cneftali.integrations.dropwizard.spring.context;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.springframework.context.annotation.ScannedGenericBeanDefinition;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A {@link ClassPathBeanDefinitionScanner} reading the candidate components of a package from a
+ * {@link CandidateComponentsIndex} instead of walking the class path.
+ *
+ * <p>The index lists the classes matching the default filters only, so the scanner walks the class path as usual when
+ * an include filter was added, when the base package has wildcards, or when the index does not
+ * {@link CandidateComponentsIndex#covers(String, ClassLoader) cover} the package. The exclude filters and the
+ * conditions apply to the indexed classes like to the scanned ones.</p>
+ */
+public class IndexedClassPathBeanDefinitionScanner extends ClassPathBeanDefinitionScanner {
+
+    private final CandidateComponentsIndex componentIndex;
+    private boolean customIncludeFilters;
+
+    /**
+     * @param registry       the registry of the bean definitions
+     * @param environment    the environment evaluating the conditions
+     * @param resourceLoader the resource loader of the class files
+     * @param componentIndex the index of the candidate components, {@code null} to scan the class path
+     */
+    public IndexedClassPathBeanDefinitionScanner(final BeanDefinitionRegistry registry,
+                                                 final Environment environment,
+                                                 final ResourceLoader resourceLoader,
+                                                 final CandidateComponentsIndex componentIndex) {
+        super(registry, true, environment, resourceLoader);
+        this.componentIndex = componentIndex;
+    }
+
+    @Override
+    public void addIncludeFilter(final TypeFilter includeFilter) {
+        super.addIncludeFilter(includeFilter);
+        customIncludeFilters = true;
+    }
+
+    @Override
+    public void resetFilters(final boolean useDefaultFilters) {
+        super.resetFilters(useDefaultFilters);
+        customIncludeFilters = !useDefaultFilters;
+    }
+
+    @Override
+    public Set<BeanDefinition> findCandidateComponents(final String basePackage) {
+        final String packagePath = resolveBasePackage(basePackage);
+        if (!isIndexed(packagePath)) {
+            return super.findCandidateComponents(basePackage);
+        }
+        final Set<BeanDefinition> candidates = new LinkedHashSet<>();
+        for (final String path : componentIndex.getResourcePaths(packagePath + "/**/*" + ClassUtils.CLASS_FILE_SUFFIX)) {
+            final Resource resource = new ClassPathResource(path, getResourceLoader().getClassLoader());
+            try {
+                final MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+                if (isCandidateComponent(metadataReader)) {
+                    final ScannedGenericBeanDefinition beanDefinition = new ScannedGenericBeanDefinition(metadataReader);
+                    beanDefinition.setResource(resource);
+                    beanDefinition.setSource(resource);
+                    if (isCandidateComponent((AnnotatedBeanDefinition) beanDefinition)) {
+                        candidates.add(beanDefinition);
+                    }
+                }
+            } catch (final IOException e) {
+                throw new BeanDefinitionStoreException("Failed to read indexed candidate component class: " + resource, e);
+            }
+        }
+        return candidates;
+    }
+
+    private boolean isIndexed(final String packagePath) {
+        if (componentIndex == null || customIncludeFilters || packagePath.indexOf('*') >= 0 || packagePath.indexOf('?') >= 0) {
+            return false;
+        }
+        try {
+            return componentIndex.covers(packagePath, getResourceLoader().getClassLoader());
+        } catch (final IOException e) {
+            throw new BeanDefinitionStoreException("I/O failure while resolving the class path roots of " + packagePath, e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package fr.cneftali.integrations.dropwizard.spring.context;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ResourcePatternResolver} answering the {@code classpath*:} lookups of class files from a
+ * {@link CandidateComponentsIndex}, when it {@link CandidateComponentsIndex#covers(String, ClassLoader) covers} the
+ * base package, and delegating the others.
+ *
+ * <p>Given to the component scanning of {@code @ComponentScan}, whose scanner walks the class path through the
+ * resource loader it is given.</p>
+ */
+public class IndexedResourcePatternResolver implements ResourcePatternResolver {
+
+    private final ResourcePatternResolver delegate;
+    private final CandidateComponentsIndex componentIndex;
+
+    /**
+     * @param delegate       the resolver of the other lookups
+     * @param componentIndex the index of the candidate components
+     */
+    public IndexedResourcePatternResolver(final ResourcePatternResolver delegate, final CandidateComponentsIndex componentIndex) {
+        this.delegate = requireNonNull(delegate);
+        this.componentIndex = requireNonNull(componentIndex);
+    }
+
+    @Override
+    public Resource[] getResources(final String locationPattern) throws IOException {
+        if (!locationPattern.startsWith(CLASSPATH_ALL_URL_PREFIX) || !locationPattern.endsWith(ClassUtils.CLASS_FILE_SUFFIX)) {
+            return delegate.getResources(locationPattern);
+        }
+        final String pattern = locationPattern.substring(CLASSPATH_ALL_URL_PREFIX.length());
+        final int wildcard = firstWildcard(pattern);
+        final int separator = wildcard < 0 ? -1 : pattern.lastIndexOf('/', wildcard);
+        if (separator <= 0 || !componentIndex.covers(pattern.substring(0, separator), getClassLoader())) {
+            return delegate.getResources(locationPattern);
+        }
+        final List<String> paths = componentIndex.getResourcePaths(pattern);
+        final Resource[] resources = new Resource[paths.size()];
+        for (int i = 0; i < resources.length; i++) {
+            resources[i] = new ClassPathResource(paths.get(i), getClassLoader());
+        }
+        return resources;
+    }
+
+    @Override
+    public Resource getResource(final String location) {
+        return delegate.getResource(location);
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return delegate.getClassLoader();
+    }
+
+    private static int firstWildcard(final String pattern) {
+        final int star = pattern.indexOf('*');
+        final int question = pattern.indexOf('?');
+        if (star < 0 || question < 0) {
+            return Math.max(star, question);
+        }
+        return Math.min(star, question);
+    }
+}
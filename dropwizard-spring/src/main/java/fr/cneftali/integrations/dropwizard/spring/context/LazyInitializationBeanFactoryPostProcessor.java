@@ -0,0 +1,27 @@
+package fr.cneftali.integrations.dropwizard.spring.context;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * Marks every application singleton lazy, so that it is only created when first requested.
+ *
+ * <p>Infrastructure beans are left alone, as Spring relies on some of them being created eagerly, e.g. to register
+ * {@link org.springframework.context.event.EventListener} methods. The application beans only acting through their
+ * post-processing, e.g. with {@code @Scheduled} methods, are not post-processed until they are created.</p>
+ */
+public class LazyInitializationBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    @Override
+    public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        for (final String beanName : beanFactory.getBeanDefinitionNames()) {
+            final BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (beanDefinition.isSingleton() && !beanDefinition.isAbstract()
+                && beanDefinition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE) {
+                beanDefinition.setLazyInit(true);
+            }
+        }
+    }
+}
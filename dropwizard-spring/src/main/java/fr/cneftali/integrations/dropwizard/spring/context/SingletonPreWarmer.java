@@ -0,0 +1,60 @@
+package fr.cneftali.integrations.dropwizard.spring.context;
+
+import io.dropwizard.lifecycle.ServerLifecycleListener;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.server.Server;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates the lazy singletons of an application context in a background thread once the server started,
+ * so that the first requests do not pay for it.
+ */
+@Slf4j
+public class SingletonPreWarmer implements ServerLifecycleListener {
+
+    private final ConfigurableApplicationContext context;
+
+    public SingletonPreWarmer(final ConfigurableApplicationContext context) {
+        this.context = requireNonNull(context);
+    }
+
+    @Override
+    public void serverStarted(final Server server) {
+        final Thread thread = new Thread(this::preWarm, "spring-pre-warm");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Create every lazy singleton not created yet.
+     */
+    public void preWarm() {
+        final long start = System.nanoTime();
+        final ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+        int created = 0;
+        for (final String beanName : beanFactory.getBeanDefinitionNames()) {
+            if (!context.isActive()) {
+                log.info("Context closed, stopping pre-warm");
+                return;
+            }
+            final BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (!beanDefinition.isSingleton() || beanDefinition.isAbstract() || !beanDefinition.isLazyInit()
+                || beanFactory.containsSingleton(beanName)) {
+                continue;
+            }
+            try {
+                beanFactory.getBean(beanName);
+                created++;
+            } catch (final RuntimeException e) {
+                log.warn("Unable to pre-warm bean: " + beanName, e);
+            }
+        }
+        log.info("Pre-warmed {} lazy singletons in {} ms", created, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,46 @@
+package fr.cneftali.integrations.dropwizard.spring.db;
+
+import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.util.Duration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Borrows a connection from a data source and runs its validation query, or asks the driver to validate the
+ * connection if there is none.
+ */
+public class DataSourceHealthCheck extends HealthCheck {
+
+    private final DataSource dataSource;
+    private final String validationQuery;
+    private final int timeoutSeconds;
+
+    /**
+     * @param dataSource      the data source
+     * @param validationQuery the validation query, {@code null} to validate through the driver
+     * @param timeout         the timeout of the validation, rounded up to the second
+     */
+    public DataSourceHealthCheck(final DataSource dataSource, final String validationQuery, final Duration timeout) {
+        this.dataSource = requireNonNull(dataSource);
+        this.validationQuery = validationQuery;
+        this.timeoutSeconds = (int) Math.max(1, (timeout.toMilliseconds() + 999) / 1000);
+    }
+
+    @Override
+    protected Result check() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            if (validationQuery == null) {
+                return connection.isValid(timeoutSeconds) ? Result.healthy() : Result.unhealthy("Invalid connection");
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(timeoutSeconds);
+                statement.execute(validationQuery);
+            }
+        }
+        return Result.healthy();
+    }
+}
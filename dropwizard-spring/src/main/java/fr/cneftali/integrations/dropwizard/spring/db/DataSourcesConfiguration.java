@@ -0,0 +1,31 @@
+package fr.cneftali.integrations.dropwizard.spring.db;
+
+import io.dropwizard.db.PooledDataSourceFactory;
+
+import java.util.Map;
+
+/**
+ * Implemented by Dropwizard configurations whose pooled data sources are published as Spring beans by the
+ * {@link fr.cneftali.integrations.dropwizard.spring.SpringBundle}, see {@link ManagedDataSources}. Requires
+ * {@code io.dropwizard:dropwizard-db} on the classpath.
+ *
+ * <pre>{@code
+ * public class DemoConfiguration extends Configuration implements SpringConfiguration, DataSourcesConfiguration {
+ *     @Valid
+ *     @NotNull
+ *     @JsonProperty("dataSources")
+ *     private Map<String, DataSourceFactory> dataSources = new LinkedHashMap<>();
+ *
+ *     public Map<String, DataSourceFactory> getDataSourceFactories() {
+ *         return dataSources;
+ *     }
+ * }
+ * }</pre>
+ */
+public interface DataSourcesConfiguration {
+
+    /**
+     * @return the configuration of the data sources, by Spring bean name
+     */
+    Map<String, ? extends PooledDataSourceFactory> getDataSourceFactories();
+}
@@ -0,0 +1,26 @@
+package fr.cneftali.integrations.dropwizard.spring.db;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration of the data sources of a {@link DataSourcesConfiguration}, see {@link ManagedDataSources}.
+ */
+@Getter
+@Setter
+public class DataSourcesFactory {
+
+    /**
+     * Open and validate the initial connections of each pool before the Spring contexts refresh, instead of on the
+     * first request.
+     */
+    @JsonProperty
+    private boolean warmUp = true;
+
+    /**
+     * Register a health check running the health check validation query of each data source.
+     */
+    @JsonProperty
+    private boolean healthChecks = true;
+}
@@ -0,0 +1,136 @@
+package fr.cneftali.integrations.dropwizard.spring.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.db.ManagedPooledDataSource;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Times the connections of a pooled data source, next to the {@code active}, {@code idle}, {@code waiting} and
+ * {@code size} gauges of the pool: the {@code ManagedPooledDataSource.<name>.wait} timer measures how long a
+ * connection takes to be borrowed, the {@code ManagedPooledDataSource.<name>.usage} timer how long it is held until
+ * closed.
+ *
+ * <p>Starting it again is a no-op, so that the pool can be started early to warm it up, then by Dropwizard.</p>
+ */
+public class InstrumentedDataSource implements ManagedDataSource {
+
+    private final ManagedDataSource delegate;
+    private final Timer wait;
+    private final Timer usage;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * @param name     the name of the pool
+     * @param delegate the pooled data source
+     * @param metrics  the registry of the timers
+     */
+    public InstrumentedDataSource(final String name, final ManagedDataSource delegate, final MetricRegistry metrics) {
+        this.delegate = requireNonNull(delegate);
+        this.wait = metrics.timer(name(ManagedPooledDataSource.class, name, "wait"));
+        this.usage = metrics.timer(name(ManagedPooledDataSource.class, name, "usage"));
+    }
+
+    @Override
+    public void start() throws Exception {
+        if (started.compareAndSet(false, true)) {
+            delegate.start();
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (started.compareAndSet(true, false)) {
+            delegate.stop();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final Timer.Context time = wait.time();
+        try {
+            return instrument(delegate.getConnection());
+        } finally {
+            time.stop();
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        final Timer.Context time = wait.time();
+        try {
+            return instrument(delegate.getConnection(username, password));
+        } finally {
+            time.stop();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> type) throws SQLException {
+        return type.isInstance(this) ? type.cast(this) : delegate.unwrap(type);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> type) throws SQLException {
+        return type.isInstance(this) || delegate.isWrapperFor(type);
+    }
+
+    private Connection instrument(final Connection connection) {
+        final long borrowed = System.nanoTime();
+        final AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                                                   new Class<?>[]{Connection.class},
+                                                   (proxy, method, args) -> {
+                                                       if ("equals".equals(method.getName())) {
+                                                           return proxy == args[0];
+                                                       } else if ("hashCode".equals(method.getName())) {
+                                                           return System.identityHashCode(proxy);
+                                                       } else if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                                                           usage.update(System.nanoTime() - borrowed, TimeUnit.NANOSECONDS);
+                                                       }
+                                                       try {
+                                                           return method.invoke(connection, args);
+                                                       } catch (final InvocationTargetException e) {
+                                                           throw e.getCause();
+                                                       }
+                                                   });
+    }
+}
@@ -0,0 +1,122 @@
+package fr.cneftali.integrations.dropwizard.spring.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.PooledDataSourceFactory;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The pooled data sources of a {@link DataSourcesConfiguration}, each one built by its Dropwizard
+ * {@link PooledDataSourceFactory} and {@link InstrumentedDataSource instrumented}, started and stopped together.
+ *
+ * <p>{@link #warmUp()} opens the initial connections of each pool and validates them, so that neither the first
+ * requests nor the beans initialized while the Spring contexts refresh pay for it. The data sources are stopped in
+ * reverse order.</p>
+ */
+@Slf4j
+public class ManagedDataSources implements Managed {
+
+    private final Map<String, PooledDataSourceFactory> factories;
+    private final Map<String, InstrumentedDataSource> dataSources = new LinkedHashMap<>();
+
+    /**
+     * @param factories the configuration of the data sources, by name
+     * @param metrics   the registry of the pool metrics
+     */
+    public ManagedDataSources(final Map<String, ? extends PooledDataSourceFactory> factories, final MetricRegistry metrics) {
+        this.factories = new LinkedHashMap<>(requireNonNull(factories));
+        this.factories.forEach((name, factory) -> dataSources.put(name, new InstrumentedDataSource(name,
+                                                                                                   factory.build(metrics, name),
+                                                                                                   metrics)));
+    }
+
+    /**
+     * @return the data sources, by name
+     */
+    public Map<String, InstrumentedDataSource> getDataSources() {
+        return Collections.unmodifiableMap(dataSources);
+    }
+
+    /**
+     * @return a health check validating a connection of each data source, by name
+     */
+    public Map<String, HealthCheck> getHealthChecks() {
+        final Map<String, HealthCheck> healthChecks = new LinkedHashMap<>();
+        factories.forEach((name, factory) -> healthChecks.put(name, new DataSourceHealthCheck(dataSources.get(name),
+                                                                                              factory.getValidationQuery(),
+                                                                                              factory.getValidationQueryTimeout()
+                                                                                                     .orElse(Duration.seconds(5)))));
+        return healthChecks;
+    }
+
+    /**
+     * Start the pools, then borrow as many connections as each one initially opens, validate them and give them back.
+     *
+     * @throws Exception if a pool does not start or a connection is not valid
+     */
+    public void warmUp() throws Exception {
+        start();
+        for (final Map.Entry<String, InstrumentedDataSource> entry : dataSources.entrySet()) {
+            final long start = System.nanoTime();
+            final int initialSize = initialSize(factories.get(entry.getKey()));
+            final List<Connection> connections = new ArrayList<>(initialSize);
+            try {
+                for (int i = 0; i < initialSize; i++) {
+                    final Connection connection = entry.getValue()
+                                                       .getConnection();
+                    connections.add(connection);
+                    if (!connection.isValid(5)) {
+                        throw new SQLException("Invalid connection to the data source " + entry.getKey());
+                    }
+                }
+            } finally {
+                for (final Connection connection : connections) {
+                    connection.close();
+                }
+            }
+            log.info("Warmed up {} connections of the data source {} in {} ms",
+                     connections.size(),
+                     entry.getKey(),
+                     TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    @Override
+    public void start() throws Exception {
+        for (final InstrumentedDataSource dataSource : dataSources.values()) {
+            dataSource.start();
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        final List<Map.Entry<String, InstrumentedDataSource>> entries = new ArrayList<>(dataSources.entrySet());
+        Collections.reverse(entries);
+        for (final Map.Entry<String, InstrumentedDataSource> entry : entries) {
+            try {
+                entry.getValue()
+                     .stop();
+            } catch (final Exception e) {
+                log.warn("Error stopping the data source " + entry.getKey(), e);
+            }
+        }
+    }
+
+    private static int initialSize(final PooledDataSourceFactory factory) {
+        return factory instanceof DataSourceFactory ? ((DataSourceFactory) factory).getInitialSize() : 1;
+    }
+}
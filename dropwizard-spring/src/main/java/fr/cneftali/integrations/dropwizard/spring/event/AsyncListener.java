@@ -0,0 +1,24 @@
+package fr.cneftali.integrations.dropwizard.spring.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Delivers the events to an {@link org.springframework.context.ApplicationListener} or an
+ * {@link org.springframework.context.event.EventListener} method on the events executor, instead of the publisher
+ * thread, see {@link MeteredApplicationEventMulticaster}. The listener then receives its events one at a time, in
+ * publication order, but may not throw back to the publisher.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface AsyncListener {
+
+    /**
+     * @return the policy applied when the queue of the listener is full
+     */
+    BackpressurePolicy backpressure() default BackpressurePolicy.BLOCK;
+}
@@ -0,0 +1,23 @@
+package fr.cneftali.integrations.dropwizard.spring.event;
+
+/**
+ * What to do with an event published to an asynchronous listener whose queue is full.
+ */
+public enum BackpressurePolicy {
+
+    /**
+     * Block the publisher until the listener catches up.
+     */
+    BLOCK,
+
+    /**
+     * Drop the event, counted in the {@code dropped} meter of the listener.
+     */
+    DROP,
+
+    /**
+     * Deliver the queued events, then this one, on the publisher thread, slowing it down to the pace of the listener.
+     * The publisher first waits for the batch being delivered, if any, so that the events keep their order.
+     */
+    CALLER_RUNS
+}
@@ -0,0 +1,60 @@
+package fr.cneftali.integrations.dropwizard.spring.event;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the Spring application events, see {@link MeteredApplicationEventMulticaster}.
+ */
+@Getter
+@Setter
+public class EventsFactory {
+
+    /**
+     * Install the metered multicaster in the Spring contexts, instead of the Spring one, unless a context defines its
+     * own {@code applicationEventMulticaster} bean.
+     */
+    @JsonProperty
+    private boolean enabled = false;
+
+    /**
+     * Deliver the events asynchronously to every application listener, not only those annotated with
+     * {@link AsyncListener}. The Spring listeners stay synchronous.
+     */
+    @JsonProperty
+    private boolean async = false;
+
+    /**
+     * The policy of the asynchronous listeners not annotated with {@link AsyncListener}.
+     */
+    @NotNull
+    @JsonProperty
+    private BackpressurePolicy backpressure = BackpressurePolicy.BLOCK;
+
+    @Min(1)
+    @JsonProperty
+    private int maxThreads = 4;
+
+    /**
+     * The maximum number of events waiting for each asynchronous listener.
+     */
+    @Min(1)
+    @JsonProperty
+    private int queueSize = 1024;
+
+    /**
+     * The maximum number of queued events delivered to a listener in a single task of the executor.
+     */
+    @Min(1)
+    @JsonProperty
+    private int batchSize = 64;
+
+    @NotNull
+    @JsonProperty
+    private Duration shutdownTimeout = Duration.seconds(5);
+}
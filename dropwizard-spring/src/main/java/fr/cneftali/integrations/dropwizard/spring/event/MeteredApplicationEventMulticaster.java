@@ -0,0 +1,238 @@
+package fr.cneftali.integrations.dropwizard.spring.event;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Multicasts the Spring application events synchronously or asynchronously, depending on the listener, and publishes
+ * the {@code latency} timer of each listener to the {@link MetricRegistry}.
+ *
+ * <p>Each asynchronous listener, annotated with {@link AsyncListener} or all the application ones if configured, has
+ * its own queue of at most {@code queueSize} events, published as its {@code queued} gauge. A single task of the
+ * executor delivers up to {@code batchSize} queued events in a row, so that bursts of events share a hand-off and
+ * a listener always receives its events in publication order. Once the queue is full, the {@link BackpressurePolicy}
+ * of the listener applies, the dropped events being counted in its {@code dropped} meter. Events published once the
+ * executor is stopped, e.g. while the context closes, are delivered on the publisher thread.</p>
+ *
+ * <p>The events of a listener are delivered one at a time, whichever thread delivers them: with
+ * {@link BackpressurePolicy#CALLER_RUNS}, the publisher waits for the running batch, then delivers the queued events
+ * before its own.</p>
+ */
+@Slf4j
+public class MeteredApplicationEventMulticaster extends SimpleApplicationEventMulticaster {
+
+    private static final Field LISTENER_METHOD = ReflectionUtils.findField(ApplicationListenerMethodAdapter.class, "method");
+
+    static {
+        if (LISTENER_METHOD != null) {
+            ReflectionUtils.makeAccessible(LISTENER_METHOD);
+        }
+    }
+
+    private final Executor executor;
+    private final EventsFactory eventsFactory;
+    private final MetricRegistry metrics;
+    private final Map<ApplicationListener<?>, ListenerChannel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * @param beanFactory   the bean factory of the listener beans
+     * @param executor      the executor of the asynchronous listeners
+     * @param eventsFactory the events configuration
+     * @param metrics       the registry of the listener metrics
+     */
+    public MeteredApplicationEventMulticaster(final BeanFactory beanFactory,
+                                              final Executor executor,
+                                              final EventsFactory eventsFactory,
+                                              final MetricRegistry metrics) {
+        super(beanFactory);
+        this.executor = requireNonNull(executor);
+        this.eventsFactory = requireNonNull(eventsFactory);
+        this.metrics = requireNonNull(metrics);
+    }
+
+    @Override
+    public void multicastEvent(final ApplicationEvent event, final ResolvableType eventType) {
+        final ResolvableType type = eventType != null ? eventType : ResolvableType.forInstance(event);
+        for (final ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+            channels.computeIfAbsent(listener, ListenerChannel::new)
+                    .publish(event);
+        }
+    }
+
+    @Override
+    public void removeApplicationListener(final ApplicationListener<?> listener) {
+        super.removeApplicationListener(listener);
+        channels.remove(listener);
+    }
+
+    @Override
+    public void removeAllListeners() {
+        super.removeAllListeners();
+        channels.clear();
+    }
+
+    private static Method listenerMethod(final ApplicationListener<?> listener) {
+        if (LISTENER_METHOD == null || !(listener instanceof ApplicationListenerMethodAdapter)) {
+            return null;
+        }
+        return (Method) ReflectionUtils.getField(LISTENER_METHOD, listener);
+    }
+
+    private class ListenerChannel {
+
+        private final ApplicationListener<?> listener;
+        private final BackpressurePolicy backpressure;
+        private final Timer latency;
+        private final Meter dropped;
+        private final Queue<ApplicationEvent> queue = new ConcurrentLinkedQueue<>();
+        private final Semaphore capacity;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final Lock delivering = new ReentrantLock();
+
+        ListenerChannel(final ApplicationListener<?> listener) {
+            this.listener = listener;
+            final Method method = listenerMethod(listener);
+            final Class<?> type = method != null ? method.getDeclaringClass() : ClassUtils.getUserClass(listener);
+            final String name = method != null ? ClassUtils.getShortName(type) + '.' + method.getName() : ClassUtils.getShortName(type);
+            final AsyncListener asyncListener = method != null
+                                                ? AnnotationUtils.findAnnotation(method, AsyncListener.class)
+                                                : AnnotationUtils.findAnnotation(type, AsyncListener.class);
+            if (asyncListener != null) {
+                this.backpressure = asyncListener.backpressure();
+            } else if (eventsFactory.isAsync() && !type.getName()
+                                                       .startsWith("org.springframework.")) {
+                this.backpressure = eventsFactory.getBackpressure();
+            } else {
+                this.backpressure = null;
+            }
+            this.latency = metrics.timer(name(MeteredApplicationEventMulticaster.class, name, "latency"));
+            if (backpressure != null) {
+                this.capacity = new Semaphore(eventsFactory.getQueueSize());
+                this.dropped = metrics.meter(name(MeteredApplicationEventMulticaster.class, name, "dropped"));
+                final String queued = name(MeteredApplicationEventMulticaster.class, name, "queued");
+                metrics.remove(queued);
+                metrics.register(queued, (Gauge<Integer>) () -> eventsFactory.getQueueSize() - capacity.availablePermits());
+            } else {
+                this.capacity = null;
+                this.dropped = null;
+            }
+        }
+
+        void publish(final ApplicationEvent event) {
+            if (backpressure == null) {
+                deliver(event);
+                return;
+            }
+            if (!capacity.tryAcquire()) {
+                switch (backpressure) {
+                    case DROP:
+                        dropped.mark();
+                        return;
+                    case CALLER_RUNS:
+                        callerRuns(event);
+                        return;
+                    default:
+                        try {
+                            capacity.acquire();
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread()
+                                  .interrupt();
+                            dropped.mark();
+                            return;
+                        }
+                }
+            }
+            queue.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (final RejectedExecutionException e) {
+                // The executor is stopped, deliver the queue on the publisher thread
+                drain();
+            }
+        }
+
+        private void drain() {
+            try {
+                delivering.lock();
+                try {
+                    deliverQueued(eventsFactory.getBatchSize());
+                } finally {
+                    delivering.unlock();
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void callerRuns(final ApplicationEvent event) {
+            delivering.lock();
+            try {
+                // At most a full queue was published before this event
+                deliverQueued(eventsFactory.getQueueSize());
+                deliver(event);
+            } finally {
+                delivering.unlock();
+            }
+        }
+
+        private void deliverQueued(final int maxEvents) {
+            ApplicationEvent event;
+            for (int i = 0; i < maxEvents && (event = queue.poll()) != null; i++) {
+                try {
+                    deliver(event);
+                } catch (final RuntimeException e) {
+                    log.error("Error delivering " + event + " to " + listener, e);
+                } finally {
+                    capacity.release();
+                }
+            }
+        }
+
+        private void deliver(final ApplicationEvent event) {
+            final Timer.Context time = latency.time();
+            try {
+                invokeListener(listener, event);
+            } finally {
+                time.stop();
+            }
+        }
+    }
+}
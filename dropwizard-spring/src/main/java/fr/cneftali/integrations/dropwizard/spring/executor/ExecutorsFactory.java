@@ -0,0 +1,30 @@
+package fr.cneftali.integrations.dropwizard.spring.executor;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the Spring {@link java.util.concurrent.ExecutorService} and
+ * {@link org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor} beans, see {@link ManagedExecutors}.
+ */
+@Getter
+@Setter
+public class ExecutorsFactory {
+
+    /**
+     * Report the metrics of the executors and drain them when Dropwizard stops.
+     */
+    @JsonProperty
+    private boolean managed = true;
+
+    /**
+     * The maximum time to wait for the executors to run their pending tasks on stop, before interrupting them.
+     */
+    @NotNull
+    @JsonProperty
+    private Duration drainTimeout = Duration.seconds(30);
+}
@@ -0,0 +1,156 @@
+package fr.cneftali.integrations.dropwizard.spring.executor;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reports the metrics of the Spring executor beans and drains them when Dropwizard stops, rather than when the JVM
+ * shutdown hook closes the Spring context.
+ *
+ * <p>The executors are instrumented in place, without replacing the beans already injected in others: thread pools
+ * report their {@code queued}, {@code active}, {@code pool-size}, {@code max-pool-size} and {@code completed} gauges
+ * and a {@code rejected} meter, fork/join pools their {@code queued}, {@code active} and {@code pool-size}
+ * gauges.</p>
+ */
+@Slf4j
+public class ManagedExecutors implements Managed {
+
+    private final Map<String, ExecutorService> executors = new LinkedHashMap<>();
+    private final Duration drainTimeout;
+
+    /**
+     * @param beans        the {@link ExecutorService}, {@link ThreadPoolTaskExecutor} and
+     *                     {@link ThreadPoolTaskScheduler} beans, by bean name
+     * @param drainTimeout the maximum time to wait for the executors to run their pending tasks on stop
+     * @param metrics      the registry of the executor metrics
+     */
+    public ManagedExecutors(final Map<String, ?> beans, final Duration drainTimeout, final MetricRegistry metrics) {
+        this.drainTimeout = requireNonNull(drainTimeout);
+        beans.forEach((beanName, bean) -> {
+            final ExecutorService executor = getExecutorService(bean);
+            if (executor == null) {
+                log.debug("Ignoring executor {} without underlying executor service", beanName);
+                return;
+            }
+            executors.put(beanName, executor);
+            registerMetrics(beanName, executor, metrics);
+        });
+    }
+
+    /**
+     * @return the managed executors, by bean name
+     */
+    public Map<String, ExecutorService> getExecutors() {
+        return Collections.unmodifiableMap(executors);
+    }
+
+    @Override
+    public void start() throws Exception {
+    }
+
+    @Override
+    public void stop() throws Exception {
+        drain(drainTimeout);
+    }
+
+    /**
+     * Shut the executors down, waiting for them to run their pending tasks before interrupting them.
+     *
+     * @param timeout the maximum time to wait, bounded by the drain timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void drain(final Duration timeout) throws InterruptedException {
+        executors.values()
+                 .forEach(ExecutorService::shutdown);
+        final long deadline = System.nanoTime() + Math.min(timeout.toNanoseconds(), drainTimeout.toNanoseconds());
+        for (final Map.Entry<String, ExecutorService> executor : executors.entrySet()) {
+            final long remaining = deadline - System.nanoTime();
+            if (!executor.getValue()
+                         .awaitTermination(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                log.warn("Executor {} did not drain within {}, interrupting {} pending tasks",
+                         executor.getKey(),
+                         timeout,
+                         executor.getValue()
+                                 .shutdownNow()
+                                 .size());
+            }
+        }
+    }
+
+    private static ExecutorService getExecutorService(final Object bean) {
+        try {
+            if (bean instanceof ExecutorService) {
+                return (ExecutorService) bean;
+            } else if (bean instanceof ThreadPoolTaskExecutor) {
+                return ((ThreadPoolTaskExecutor) bean).getThreadPoolExecutor();
+            } else if (bean instanceof ThreadPoolTaskScheduler) {
+                return ((ThreadPoolTaskScheduler) bean).getScheduledExecutor();
+            }
+        } catch (final IllegalStateException e) {
+            // not initialized
+        }
+        return null;
+    }
+
+    private static void registerMetrics(final String beanName, final ExecutorService executor, final MetricRegistry metrics) {
+        if (executor instanceof ThreadPoolExecutor) {
+            final ThreadPoolExecutor threadPool = (ThreadPoolExecutor) executor;
+            register(metrics, beanName, "queued", () -> threadPool.getQueue()
+                                                                  .size());
+            register(metrics, beanName, "active", threadPool::getActiveCount);
+            register(metrics, beanName, "pool-size", threadPool::getPoolSize);
+            register(metrics, beanName, "max-pool-size", threadPool::getMaximumPoolSize);
+            register(metrics, beanName, "completed", threadPool::getCompletedTaskCount);
+            threadPool.setRejectedExecutionHandler(new MeteredRejectedExecutionHandler(threadPool.getRejectedExecutionHandler(),
+                                                                                       metrics.meter(name(ManagedExecutors.class,
+                                                                                                          beanName,
+                                                                                                          "rejected"))));
+        } else if (executor instanceof ForkJoinPool) {
+            final ForkJoinPool forkJoinPool = (ForkJoinPool) executor;
+            register(metrics, beanName, "queued", () -> forkJoinPool.getQueuedSubmissionCount() + forkJoinPool.getQueuedTaskCount());
+            register(metrics, beanName, "active", forkJoinPool::getActiveThreadCount);
+            register(metrics, beanName, "pool-size", forkJoinPool::getPoolSize);
+        }
+    }
+
+    private static void register(final MetricRegistry metrics, final String beanName, final String metric, final Gauge<?> gauge) {
+        final String name = name(ManagedExecutors.class, beanName, metric);
+        metrics.remove(name);
+        metrics.register(name, gauge);
+    }
+
+    private static class MeteredRejectedExecutionHandler implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler delegate;
+        private final Meter rejected;
+
+        MeteredRejectedExecutionHandler(final RejectedExecutionHandler delegate, final Meter rejected) {
+            this.delegate = delegate;
+            this.rejected = rejected;
+        }
+
+        @Override
+        public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+            rejected.mark();
+            delegate.rejectedExecution(runnable, executor);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package fr.cneftali.integrations.dropwizard.spring.health;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.health.HealthCheck;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decorates a {@link HealthCheck} to evaluate it on a bounded executor, within a timeout, and answer its result from
+ * memory for a time to live:
+ * <ul>
+ * <li>a health check still running after {@link HealthChecksFactory#getTimeout()} is reported unhealthy, interrupted,
+ * and its timeout counted by a meter,</li>
+ * <li>the concurrent calls share the running evaluation,</li>
+ * <li>with {@link HealthChecksFactory#isBackgroundRefresh()}, the result is refreshed every
+ * {@link HealthChecksFactory#getTtl()} and the calls only wait for the first evaluation,</li>
+ * <li>in a {@link #setGroup(Collection) group}, a call needing an evaluation also starts those of the other stale
+ * health checks of the group, so that the following calls find them running or cached.</li>
+ * </ul>
+ */
+public class CachedHealthCheck extends HealthCheck {
+
+    private final HealthCheck delegate;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final Meter timeouts;
+    private final long timeoutNanos;
+    private final long ttlNanos;
+    private final boolean backgroundRefresh;
+    private final String timeoutMessage;
+    private final AtomicReference<CompletableFuture<Result>> evaluation = new AtomicReference<>();
+    private volatile Collection<CachedHealthCheck> group = Collections.emptyList();
+    private volatile Result result;
+    private volatile long resultNanos;
+
+    /**
+     * @param delegate            the health check
+     * @param executor            the executor of the evaluations
+     * @param scheduler           the scheduler of the timeouts and refreshes, whose tasks never block
+     * @param healthChecksFactory the health checks configuration
+     * @param timeouts            the meter of the timeouts
+     */
+    public CachedHealthCheck(final HealthCheck delegate,
+                             final ExecutorService executor,
+                             final ScheduledExecutorService scheduler,
+                             final HealthChecksFactory healthChecksFactory,
+                             final Meter timeouts) {
+        this.delegate = requireNonNull(delegate);
+        this.executor = requireNonNull(executor);
+        this.scheduler = requireNonNull(scheduler);
+        this.timeouts = requireNonNull(timeouts);
+        this.timeoutNanos = healthChecksFactory.getTimeout()
+                                               .toNanoseconds();
+        this.ttlNanos = healthChecksFactory.getTtl()
+                                           .toNanoseconds();
+        this.backgroundRefresh = healthChecksFactory.isBackgroundRefresh();
+        this.timeoutMessage = "Timed out after " + healthChecksFactory.getTimeout();
+        if (backgroundRefresh) {
+            scheduler.scheduleWithFixedDelay(this::evaluate, 0, ttlNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @param group the health checks evaluated together, e.g. those run one after another by the admin servlet,
+     *              useless without a time to live
+     */
+    void setGroup(final Collection<CachedHealthCheck> group) {
+        this.group = requireNonNull(group);
+    }
+
+    @Override
+    protected Result check() throws Exception {
+        final Result cached = result;
+        if (cached != null && isFresh()) {
+            return cached;
+        }
+        group.forEach(healthCheck -> {
+            if (healthCheck != this && (healthCheck.result == null || !healthCheck.isFresh())) {
+                healthCheck.evaluate();
+            }
+        });
+        return evaluate().get();
+    }
+
+    private boolean isFresh() {
+        return backgroundRefresh || System.nanoTime() - resultNanos < ttlNanos;
+    }
+
+    /**
+     * Start evaluating the health check, unless it is already running.
+     *
+     * @return the running evaluation, completed on timeout
+     */
+    CompletableFuture<Result> evaluate() {
+        final CompletableFuture<Result> evaluating = new CompletableFuture<>();
+        if (!evaluation.compareAndSet(null, evaluating)) {
+            final CompletableFuture<Result> running = evaluation.get();
+            return running != null ? running : evaluate();
+        }
+        evaluating.whenComplete((evaluated, e) -> {
+            result = evaluated;
+            resultNanos = System.nanoTime();
+            evaluation.compareAndSet(evaluating, null);
+        });
+        try {
+            final Future<?> task = executor.submit(() -> evaluating.complete(delegate.execute()));
+            final Future<?> timeout = scheduler.schedule(() -> {
+                if (evaluating.complete(Result.unhealthy(timeoutMessage))) {
+                    timeouts.mark();
+                    task.cancel(true);
+                }
+            }, timeoutNanos, TimeUnit.NANOSECONDS);
+            evaluating.thenRun(() -> timeout.cancel(false));
+        } catch (final RejectedExecutionException e) {
+            // Stopping
+            evaluating.complete(Result.unhealthy(e));
+        }
+        return evaluating;
+    }
+}
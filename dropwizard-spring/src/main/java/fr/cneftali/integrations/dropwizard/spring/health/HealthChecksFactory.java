@@ -0,0 +1,106 @@
+package fr.cneftali.integrations.dropwizard.spring.health;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.health.HealthCheck;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.ValidationMethod;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Configuration of the evaluation of the Spring {@link HealthCheck} beans, see {@link CachedHealthCheck}.
+ */
+@Getter
+@Setter
+public class HealthChecksFactory {
+
+    /**
+     * Evaluate the health checks on a bounded executor, with a timeout, and cache their results. Otherwise, they are
+     * registered as they are.
+     */
+    @JsonProperty
+    private boolean enabled = false;
+
+    /**
+     * Evaluate the stale Spring health checks together, when the {@code /healthcheck} admin endpoint calls the first
+     * of them, instead of one after another. The other health checks are still run one after another by the servlet.
+     * Requires a {@link #ttl}.
+     */
+    @JsonProperty
+    private boolean parallel = true;
+
+    @Min(1)
+    @JsonProperty
+    private int maxThreads = 4;
+
+    /**
+     * The maximum time to wait for a health check, before reporting it unhealthy and interrupting it.
+     */
+    @NotNull
+    @JsonProperty
+    private Duration timeout = Duration.seconds(5);
+
+    /**
+     * How long a result is answered from memory; {@code 0s} evaluates the health check on every call.
+     */
+    @NotNull
+    @JsonProperty
+    private Duration ttl = Duration.seconds(5);
+
+    /**
+     * Refresh the results in the background every {@link #ttl}, so that calls never wait for a health check.
+     */
+    @JsonProperty
+    private boolean backgroundRefresh = false;
+
+    @JsonIgnore
+    @ValidationMethod(message = "backgroundRefresh requires a ttl")
+    public boolean isTtlSetWhenRefreshing() {
+        return !backgroundRefresh || ttl.getQuantity() > 0;
+    }
+
+    /**
+     * Decorate the health checks with {@link CachedHealthCheck}s sharing an executor managed by Dropwizard, evaluated
+     * together if {@link #parallel}.
+     *
+     * @param environment  the Dropwizard environment
+     * @param healthChecks the health checks, by name
+     * @return the decorated health checks, by name
+     */
+    public Map<String, HealthCheck> build(final Environment environment, final Map<String, HealthCheck> healthChecks) {
+        final ExecutorService executor = environment.lifecycle()
+                                                    .executorService("spring-health-%d")
+                                                    .minThreads(maxThreads)
+                                                    .maxThreads(maxThreads)
+                                                    .build();
+        final ScheduledExecutorService scheduler = environment.lifecycle()
+                                                              .scheduledExecutorService("spring-health-scheduler-%d")
+                                                              .threads(1)
+                                                              .build();
+        final Map<String, CachedHealthCheck> decorated = new LinkedHashMap<>();
+        healthChecks.forEach((healthCheckName, healthCheck) -> {
+            final Meter timeouts = environment.metrics()
+                                              .meter(name(CachedHealthCheck.class, healthCheckName, "timeouts"));
+            decorated.put(healthCheckName, new CachedHealthCheck(healthCheck, executor, scheduler, this, timeouts));
+        });
+        if (parallel && !backgroundRefresh && ttl.getQuantity() > 0) {
+            final List<CachedHealthCheck> group = new ArrayList<>(decorated.values());
+            group.forEach(healthCheck -> healthCheck.setGroup(group));
+        }
+        return new LinkedHashMap<>(decorated);
+    }
+}
@@ -0,0 +1,98 @@
+package fr.cneftali.integrations.dropwizard.spring.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.DateDeserializers;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.DateSerializer;
+import com.fasterxml.jackson.databind.util.ISO8601Utils;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * (De)serializes {@link Date}s as {@code yyyy-MM-dd'T'HH:mm:ss'Z'} in UTC, the output of
+ * {@link com.fasterxml.jackson.databind.util.ISO8601DateFormat}, without cloning the {@link java.text.DateFormat} of
+ * the mapper on every call: the formatter is immutable and shared.
+ * <p/>
+ * Dates annotated with {@link com.fasterxml.jackson.annotation.JsonFormat} keep the stock (de)serializers;
+ * {@link java.time.Instant} and {@link java.time.OffsetDateTime} are handled by the
+ * {@link com.fasterxml.jackson.datatype.jsr310.JavaTimeModule}, whose formatters are immutable too. The
+ * {@link java.sql.Date}, {@link java.sql.Time} and {@link java.sql.Timestamp} subclasses keep their stock serializers,
+ * formatting them with the {@link java.text.DateFormat} of the mapper.
+ */
+public class Iso8601DateModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'")
+                                                                .withZone(ZoneOffset.UTC);
+
+    public Iso8601DateModule() {
+        super(Iso8601DateModule.class.getSimpleName());
+        addDeserializer(Date.class, new Iso8601DateDeserializer());
+    }
+
+    @Override
+    public void setupModule(final SetupContext context) {
+        super.setupModule(context);
+        final Iso8601DateSerializer serializer = new Iso8601DateSerializer();
+        context.addSerializers(new Serializers.Base() {
+            @Override
+            public JsonSerializer<?> findSerializer(final SerializationConfig config,
+                                                    final JavaType type,
+                                                    final BeanDescription beanDesc) {
+                return type.hasRawClass(Date.class) ? serializer : null;
+            }
+        });
+    }
+
+    static class Iso8601DateSerializer extends DateSerializer {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void serialize(final Date value, final JsonGenerator generator, final SerializerProvider provider) throws IOException {
+            if (_asTimestamp(provider)) {
+                generator.writeNumber(_timestamp(value));
+            } else {
+                generator.writeString(FORMATTER.format(Instant.ofEpochMilli(value.getTime())));
+            }
+        }
+    }
+
+    static class Iso8601DateDeserializer extends DateDeserializers.DateDeserializer {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Date deserialize(final JsonParser parser, final DeserializationContext context) throws IOException {
+            if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+                return super.deserialize(parser, context);
+            }
+            final String text = parser.getText()
+                                      .trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return ISO8601Utils.parse(text, new ParsePosition(0));
+            } catch (final ParseException e) {
+                return (Date) context.handleWeirdStringValue(Date.class, text, "not a valid ISO-8601 date: %s", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package fr.cneftali.integrations.dropwizard.spring.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Writes the {@link Iterator}s returned by resources as JSON arrays, element by element, see
+ * {@link StreamingJsonWriter}. Iterators implementing {@link AutoCloseable}, e.g. over a database cursor, are closed
+ * once written.
+ */
+@Produces({MediaType.APPLICATION_JSON, "application/*+json"})
+public class IteratorJsonWriter extends StreamingJsonWriter<Iterator<?>> {
+
+    public IteratorJsonWriter(final ObjectMapper objectMapper, final int batchSize) {
+        super(Iterator.class, objectMapper, batchSize);
+    }
+
+    @Override
+    protected Iterator<?> iterator(final Iterator<?> iterator) {
+        return iterator;
+    }
+
+    @Override
+    protected void close(final Iterator<?> iterator) throws IOException {
+        if (iterator instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) iterator).close();
+            } catch (final IOException | RuntimeException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+}
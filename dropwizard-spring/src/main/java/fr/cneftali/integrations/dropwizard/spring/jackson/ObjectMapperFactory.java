@@ -0,0 +1,41 @@
+package fr.cneftali.integrations.dropwizard.spring.jackson;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the Dropwizard {@link com.fasterxml.jackson.databind.ObjectMapper}, shared by Jersey and the
+ * {@code dwObjectMapper} Spring bean.
+ */
+@Getter
+@Setter
+public class ObjectMapperFactory {
+
+    @NotNull
+    @JsonProperty
+    private ObjectMapperProfile profile = ObjectMapperProfile.PRETTY;
+
+    /**
+     * Resolve the (de)serializers of the entities of the Spring resources at startup rather than on first request.
+     */
+    @JsonProperty
+    private boolean preResolveSerializers = true;
+
+    /**
+     * Write the {@link java.util.stream.Stream}s and {@link java.util.Iterator}s returned by resources element by
+     * element instead of buffering the response.
+     */
+    @JsonProperty
+    private boolean streaming = true;
+
+    /**
+     * With {@link #streaming}, the number of elements written between two flushes to the client.
+     */
+    @Min(1)
+    @JsonProperty
+    private int streamingBatchSize = 100;
+}
@@ -0,0 +1,52 @@
+package fr.cneftali.integrations.dropwizard.spring.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
+
+/**
+ * Output profiles of the Dropwizard {@link ObjectMapper}.
+ */
+public enum ObjectMapperProfile {
+
+    /**
+     * No indentation.
+     */
+    COMPACT {
+        @Override
+        public ObjectMapper configure(final ObjectMapper objectMapper) {
+            return objectMapper.disable(INDENT_OUTPUT);
+        }
+    },
+
+    /**
+     * Indented output, easier to read but larger and slower to write.
+     */
+    PRETTY {
+        @Override
+        public ObjectMapper configure(final ObjectMapper objectMapper) {
+            return objectMapper.enable(INDENT_OUTPUT);
+        }
+    },
+
+    /**
+     * No indentation, with the bean (de)serializers generated as bytecode by the Afterburner module.
+     */
+    ACCELERATED {
+        @Override
+        public ObjectMapper configure(final ObjectMapper objectMapper) {
+            // ignored if the module is already registered, as by io.dropwizard.jackson.Jackson
+            return objectMapper.disable(INDENT_OUTPUT)
+                               .registerModule(new AfterburnerModule());
+        }
+    };
+
+    /**
+     * Apply this profile to an object mapper.
+     *
+     * @param objectMapper the object mapper
+     * @return the object mapper
+     */
+    public abstract ObjectMapper configure(ObjectMapper objectMapper);
+}
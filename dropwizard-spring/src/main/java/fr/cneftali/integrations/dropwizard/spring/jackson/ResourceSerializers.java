@@ -0,0 +1,103 @@
+package fr.cneftali.integrations.dropwizard.spring.jackson;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import fr.cneftali.integrations.dropwizard.spring.async.AsyncResourceFeature;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.ws.rs.BeanParam;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Resolves the (de)serializers of the entities of resource methods, so that Jackson does not build them while
+ * handling the first requests. The entities of asynchronous methods are the results of their futures.
+ */
+public final class ResourceSerializers {
+
+    private static final Set<Class<?>> NOT_SERIALIZED = ImmutableSet.of(void.class,
+                                                                        Void.class,
+                                                                        Object.class,
+                                                                        String.class,
+                                                                        byte[].class,
+                                                                        Response.class,
+                                                                        StreamingOutput.class);
+
+    private ResourceSerializers() {
+    }
+
+    /**
+     * Resolve and cache the serializers of the return types, and the deserializers of the entity parameters, of the
+     * resource methods of the given resources.
+     *
+     * @param objectMapper    the object mapper
+     * @param resourceClasses the classes of the resources
+     * @return the number of types resolved
+     */
+    public static int preResolve(final ObjectMapper objectMapper, final Collection<Class<?>> resourceClasses) {
+        final Set<Type> serialized = new LinkedHashSet<>();
+        final Set<Type> deserialized = new LinkedHashSet<>();
+        for (final Class<?> resourceClass : resourceClasses) {
+            for (final Method method : ReflectionUtils.getUniqueDeclaredMethods(resourceClass)) {
+                if (AnnotationUtils.findAnnotation(method, HttpMethod.class) == null) {
+                    continue;
+                }
+                serialized.add(AsyncResourceFeature.entityType(method));
+                final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+                for (int i = 0; i < parameterAnnotations.length; i++) {
+                    if (isEntity(parameterAnnotations[i])) {
+                        deserialized.add(method.getGenericParameterTypes()[i]);
+                    }
+                }
+            }
+        }
+        int resolved = 0;
+        for (final Type type : serialized) {
+            final JavaType javaType = objectMapper.constructType(type);
+            if (isSerialized(javaType)) {
+                objectMapper.writerFor(javaType);
+                resolved++;
+            }
+        }
+        for (final Type type : deserialized) {
+            final JavaType javaType = objectMapper.constructType(type);
+            if (isSerialized(javaType)) {
+                objectMapper.readerFor(javaType);
+                resolved++;
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * @return whether the parameter is the entity of the request, i.e. none of its annotations, e.g. {@code @Valid},
+     * binds it to a parameter, the context or the asynchronous response
+     */
+    private static boolean isEntity(final Annotation[] annotations) {
+        for (final Annotation annotation : annotations) {
+            final Class<? extends Annotation> type = annotation.annotationType();
+            if (type == Context.class
+                || type == Suspended.class
+                || type == BeanParam.class
+                || type.getSimpleName().endsWith("Param")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSerialized(final JavaType javaType) {
+        return !NOT_SERIALIZED.contains(javaType.getRawClass()) && !javaType.isTypeOrSubTypeOf(Response.class);
+    }
+}
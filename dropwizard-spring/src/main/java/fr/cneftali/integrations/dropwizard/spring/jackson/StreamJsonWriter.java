@@ -0,0 +1,29 @@
+package fr.cneftali.integrations.dropwizard.spring.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the {@link Stream}s returned by resources as JSON arrays, element by element, see {@link StreamingJsonWriter}.
+ */
+@Produces({MediaType.APPLICATION_JSON, "application/*+json"})
+public class StreamJsonWriter extends StreamingJsonWriter<Stream<?>> {
+
+    public StreamJsonWriter(final ObjectMapper objectMapper, final int batchSize) {
+        super(Stream.class, objectMapper, batchSize);
+    }
+
+    @Override
+    protected Iterator<?> iterator(final Stream<?> stream) {
+        return stream.iterator();
+    }
+
+    @Override
+    protected void close(final Stream<?> stream) {
+        stream.close();
+    }
+}
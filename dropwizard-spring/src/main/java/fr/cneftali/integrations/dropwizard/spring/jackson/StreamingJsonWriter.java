@@ -0,0 +1,126 @@
+package fr.cneftali.integrations.dropwizard.spring.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes a lazy sequence returned by a resource as a JSON array, element by element, instead of buffering the whole
+ * response: the heap holds one element at a time, whatever the size of the response.
+ *
+ * <p>The output is flushed to the client every {@code batchSize} elements. The sequence is closed once written, or
+ * as soon as writing fails, e.g. when the client disconnects.</p>
+ *
+ * <p>When the sequence fails, the array is left open and the failure propagated, so that the response is aborted:
+ * the client gets a truncated document it cannot parse, rather than a well-formed array missing elements.</p>
+ *
+ * @param <T> the type of the sequence
+ */
+public abstract class StreamingJsonWriter<T> implements MessageBodyWriter<T> {
+
+    private final Class<?> sequenceType;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    /**
+     * @param sequenceType the type of the sequence, whose type parameter is the element type
+     * @param objectMapper the object mapper serializing the elements
+     * @param batchSize    the number of elements written between two flushes
+     */
+    protected StreamingJsonWriter(final Class<?> sequenceType, final ObjectMapper objectMapper, final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        this.sequenceType = requireNonNull(sequenceType);
+        this.objectMapper = requireNonNull(objectMapper);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type,
+                               final Type genericType,
+                               final Annotation[] annotations,
+                               final MediaType mediaType) {
+        return sequenceType.isAssignableFrom(type) && (MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType)
+                                                       || mediaType.getSubtype()
+                                                                   .endsWith("+json"));
+    }
+
+    @Override
+    public long getSize(final T sequence,
+                        final Class<?> type,
+                        final Type genericType,
+                        final Annotation[] annotations,
+                        final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final T sequence,
+                        final Class<?> type,
+                        final Type genericType,
+                        final Annotation[] annotations,
+                        final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException {
+        final JsonGenerator generator = objectMapper.getFactory()
+                                                    .createGenerator(entityStream)
+                                                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            final SequenceWriter writer = elementWriter(genericType).writeValuesAsArray(generator);
+            final Iterator<?> iterator = iterator(sequence);
+            int pending = 0;
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                if (++pending == batchSize) {
+                    writer.flush();
+                    pending = 0;
+                }
+            }
+            // Only end the array once every element is written, see the class documentation
+            writer.close();
+            generator.close();
+        } finally {
+            close(sequence);
+        }
+    }
+
+    /**
+     * @param sequence the sequence
+     * @return an iterator over its elements
+     */
+    protected abstract Iterator<?> iterator(T sequence);
+
+    /**
+     * Release the resources of the sequence, once written or on failure.
+     *
+     * @param sequence the sequence
+     * @throws IOException if the sequence cannot be closed
+     */
+    protected abstract void close(T sequence) throws IOException;
+
+    private ObjectWriter elementWriter(final Type genericType) {
+        final JavaType[] typeParameters = objectMapper.getTypeFactory()
+                                                      .constructType(genericType)
+                                                      .findTypeParameters(sequenceType);
+        final ObjectWriter writer = typeParameters.length == 1 && !typeParameters[0].isJavaLangObject()
+                                    ? objectMapper.writerFor(typeParameters[0])
+                                    : objectMapper.writer();
+        // Flushed by batch instead
+        return writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+}
@@ -0,0 +1,228 @@
+package fr.cneftali.integrations.dropwizard.spring.lifecycle;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Starts and stops Spring {@link Managed} and {@link LifeCycle} beans concurrently on an executor.
+ *
+ * <p>Beans are grouped in waves following the Spring dependency graph ({@code @DependsOn}, injected dependencies):
+ * a bean starts once every bean it depends on, directly or not, has started, and stops before them. Each start and
+ * wave is bounded by a timeout and the duration of each start and stop reported to the {@link MetricRegistry}. When a
+ * bean fails to start, the beans already started are stopped before the failure is rethrown.</p>
+ */
+@Slf4j
+public class DependencyAwareLifecycle implements Managed {
+
+    private final Map<String, Object> beans;
+    private final List<List<String>> waves;
+    private final ExecutorService executor;
+    private final Duration startTimeout;
+    private final Duration stopTimeout;
+    private final MetricRegistry metrics;
+    private final Set<String> started = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param beans        the {@link Managed} and {@link LifeCycle} beans, by bean name
+     * @param beanFactory  the bean factory the beans come from
+     * @param executor     the executor starting and stopping the beans
+     * @param startTimeout the maximum time to wait for a wave of beans to start
+     * @param stopTimeout  the maximum time to wait for a wave of beans to stop
+     * @param metrics      the registry of the start and stop timers
+     */
+    public DependencyAwareLifecycle(final Map<String, ?> beans,
+                                    final ConfigurableListableBeanFactory beanFactory,
+                                    final ExecutorService executor,
+                                    final Duration startTimeout,
+                                    final Duration stopTimeout,
+                                    final MetricRegistry metrics) {
+        this.beans = new LinkedHashMap<>(beans);
+        this.executor = requireNonNull(executor);
+        this.startTimeout = requireNonNull(startTimeout);
+        this.stopTimeout = requireNonNull(stopTimeout);
+        this.metrics = requireNonNull(metrics);
+        this.waves = computeWaves(this.beans.keySet(), beanFactory);
+    }
+
+    /**
+     * @return the bean names grouped by start order, each wave depending only on the previous ones
+     */
+    public List<List<String>> getWaves() {
+        return waves;
+    }
+
+    @Override
+    public void start() throws Exception {
+        for (final List<String> wave : waves) {
+            final Map<String, Future<?>> futures = new LinkedHashMap<>();
+            wave.forEach(beanName -> futures.put(beanName, executor.submit(() -> {
+                start(beanName, beans.get(beanName));
+                started.add(beanName);
+                return null;
+            })));
+            // The whole wave shares the timeout, its beans starting concurrently
+            final long deadline = System.nanoTime() + startTimeout.toNanoseconds();
+            for (final Map.Entry<String, Future<?>> future : futures.entrySet()) {
+                try {
+                    future.getValue()
+                          .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (final TimeoutException e) {
+                    abort(futures);
+                    throw new TimeoutException("Bean " + future.getKey() + " did not start within " + startTimeout);
+                } catch (final ExecutionException e) {
+                    abort(futures);
+                    throw new IllegalStateException("Unable to start bean " + future.getKey(), e.getCause());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop the beans started so far, in reverse wave order. A bean is only stopped once, even if both a failed start
+     * and Dropwizard stop it.
+     */
+    @Override
+    public void stop() throws Exception {
+        for (int i = waves.size() - 1; i >= 0; i--) {
+            final Map<String, Future<?>> futures = new LinkedHashMap<>();
+            waves.get(i)
+                 .stream()
+                 .filter(started::remove)
+                 .forEach(beanName -> futures.put(beanName, executor.submit(() -> {
+                     stop(beanName, beans.get(beanName));
+                     return null;
+                 })));
+            final long deadline = System.nanoTime() + stopTimeout.toNanoseconds();
+            for (final Map.Entry<String, Future<?>> future : futures.entrySet()) {
+                try {
+                    future.getValue()
+                          .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (final TimeoutException e) {
+                    future.getValue()
+                          .cancel(true);
+                    log.warn("Bean {} did not stop within {}", future.getKey(), stopTimeout);
+                } catch (final ExecutionException e) {
+                    log.warn("Unable to stop bean " + future.getKey(), e.getCause());
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancel the starts of a wave, then stop the beans already started, this wave included.
+     */
+    private void abort(final Map<String, Future<?>> futures) throws Exception {
+        futures.values()
+               .forEach(f -> f.cancel(true));
+        stop();
+    }
+
+    private void start(final String beanName, final Object bean) throws Exception {
+        final long start = System.nanoTime();
+        if (bean instanceof Managed) {
+            ((Managed) bean).start();
+        } else {
+            ((LifeCycle) bean).start();
+        }
+        final long duration = System.nanoTime() - start;
+        metrics.timer(name(DependencyAwareLifecycle.class, beanName, "start"))
+               .update(duration, TimeUnit.NANOSECONDS);
+        log.info("Started bean {} in {} ms", beanName, TimeUnit.NANOSECONDS.toMillis(duration));
+    }
+
+    private void stop(final String beanName, final Object bean) throws Exception {
+        final long start = System.nanoTime();
+        if (bean instanceof Managed) {
+            ((Managed) bean).stop();
+        } else {
+            ((LifeCycle) bean).stop();
+        }
+        final long duration = System.nanoTime() - start;
+        metrics.timer(name(DependencyAwareLifecycle.class, beanName, "stop"))
+               .update(duration, TimeUnit.NANOSECONDS);
+        log.info("Stopped bean {} in {} ms", beanName, TimeUnit.NANOSECONDS.toMillis(duration));
+    }
+
+    private static List<List<String>> computeWaves(final Set<String> beanNames,
+                                                   final ConfigurableListableBeanFactory beanFactory) {
+        final Map<String, Integer> levels = new HashMap<>();
+        final List<List<String>> waves = new ArrayList<>();
+        for (final String beanName : beanNames) {
+            final int level = level(beanName, beanNames, beanFactory, levels, new HashSet<>());
+            while (waves.size() <= level) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(level)
+                 .add(beanName);
+        }
+        return waves;
+    }
+
+    /**
+     * The level of a bean is 0 when it depends on none of the lifecycle beans, or one more than the highest level of
+     * the lifecycle beans it depends on, directly or through other beans.
+     */
+    private static int level(final String beanName,
+                             final Set<String> beanNames,
+                             final ConfigurableListableBeanFactory beanFactory,
+                             final Map<String, Integer> levels,
+                             final Set<String> visiting) {
+        final Integer known = levels.get(beanName);
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(beanName)) {
+            // dependency cycle, already resolved by Spring at creation time
+            return 0;
+        }
+        int level = 0;
+        for (final String dependency : lifecycleDependencies(beanName, beanNames, beanFactory, new HashSet<>())) {
+            level = Math.max(level, level(dependency, beanNames, beanFactory, levels, visiting) + 1);
+        }
+        visiting.remove(beanName);
+        levels.put(beanName, level);
+        return level;
+    }
+
+    /**
+     * Walk the dependencies of a bean until reaching lifecycle beans.
+     */
+    private static Set<String> lifecycleDependencies(final String beanName,
+                                                     final Set<String> beanNames,
+                                                     final ConfigurableListableBeanFactory beanFactory,
+                                                     final Set<String> visited) {
+        final Set<String> dependencies = new HashSet<>();
+        for (final String dependency : beanFactory.getDependenciesForBean(beanName)) {
+            if (!visited.add(dependency)) {
+                continue;
+            }
+            if (beanNames.contains(dependency)) {
+                dependencies.add(dependency);
+            } else {
+                dependencies.addAll(lifecycleDependencies(dependency, beanNames, beanFactory, visited));
+            }
+        }
+        return dependencies;
+    }
+}
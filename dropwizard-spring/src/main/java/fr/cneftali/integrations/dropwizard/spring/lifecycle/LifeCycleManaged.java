@@ -0,0 +1,34 @@
+package fr.cneftali.integrations.dropwizard.spring.lifecycle;
+
+import io.dropwizard.lifecycle.Managed;
+import org.eclipse.jetty.util.component.LifeCycle;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Adapts a Jetty {@link LifeCycle} to a Dropwizard {@link Managed}, the reverse of
+ * {@link io.dropwizard.lifecycle.JettyManaged}.
+ */
+public class LifeCycleManaged implements Managed {
+
+    private final LifeCycle lifeCycle;
+
+    public LifeCycleManaged(final LifeCycle lifeCycle) {
+        this.lifeCycle = requireNonNull(lifeCycle);
+    }
+
+    @Override
+    public void start() throws Exception {
+        lifeCycle.start();
+    }
+
+    @Override
+    public void stop() throws Exception {
+        lifeCycle.stop();
+    }
+
+    @Override
+    public String toString() {
+        return lifeCycle.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package fr.cneftali.integrations.dropwizard.spring.lifecycle;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the start and stop of the Spring {@link io.dropwizard.lifecycle.Managed} and
+ * {@link org.eclipse.jetty.util.component.LifeCycle} beans.
+ */
+@Getter
+@Setter
+public class LifecycleFactory {
+
+    /**
+     * Start and stop the beans concurrently, following the Spring dependency graph, instead of one after another.
+     */
+    @JsonProperty
+    private boolean parallel = false;
+
+    @Min(1)
+    @JsonProperty
+    private int maxThreads = Runtime.getRuntime()
+                                    .availableProcessors();
+
+    @NotNull
+    @JsonProperty
+    private Duration startTimeout = Duration.seconds(30);
+
+    @NotNull
+    @JsonProperty
+    private Duration stopTimeout = Duration.seconds(30);
+}
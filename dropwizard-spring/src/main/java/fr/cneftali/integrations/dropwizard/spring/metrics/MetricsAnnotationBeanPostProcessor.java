@@ -0,0 +1,109 @@
+package fr.cneftali.integrations.dropwizard.spring.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.annotation.CachedGauge;
+import com.codahale.metrics.annotation.Counted;
+import com.codahale.metrics.annotation.ExceptionMetered;
+import com.codahale.metrics.annotation.Gauge;
+import com.codahale.metrics.annotation.Metered;
+import com.codahale.metrics.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.ws.rs.Path;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Honors the Metrics annotations on the Spring beans: the beans with {@link Timed}, {@link Metered},
+ * {@link ExceptionMetered} or {@link Counted} methods are proxied by subclassing, so that calls go through generated
+ * code rather than reflection, and the {@link Gauge} and {@link CachedGauge} methods and fields are registered as
+ * gauges.
+ * <p/>
+ * Resources annotated with {@link Path} are left to Jersey, which already honors these annotations; final classes
+ * cannot be proxied and are left alone.
+ */
+@Slf4j
+public class MetricsAnnotationBeanPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient MetricRegistry metrics;
+
+    /**
+     * @param metrics        the metric registry
+     * @param metricsFactory the metrics configuration
+     */
+    public MetricsAnnotationBeanPostProcessor(final MetricRegistry metrics, final MetricsFactory metricsFactory) {
+        this.metrics = requireNonNull(metrics);
+        final ClassFilter proxyable = clazz -> !Modifier.isFinal(clazz.getModifiers())
+                                               && AnnotationUtils.findAnnotation(clazz, Path.class) == null;
+        final ComposablePointcut pointcut = new ComposablePointcut(AnnotationMatchingPointcut.forMethodAnnotation(Timed.class))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Metered.class))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(ExceptionMetered.class))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Counted.class))
+                .intersection(proxyable);
+        this.advisor = new DefaultPointcutAdvisor(pointcut, new MetricsInterceptor(metrics, requireNonNull(metricsFactory)));
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        registerGauges(bean);
+        return super.postProcessAfterInitialization(bean, beanName);
+    }
+
+    private void registerGauges(final Object bean) {
+        final Class<?> beanClass = ClassUtils.getUserClass(bean.getClass());
+        if (AnnotationUtils.findAnnotation(beanClass, Path.class) != null) {
+            return;
+        }
+        ReflectionUtils.doWithMethods(beanClass, method -> {
+            final Gauge gauge = AnnotationUtils.findAnnotation(method, Gauge.class);
+            final CachedGauge cachedGauge = AnnotationUtils.findAnnotation(method, CachedGauge.class);
+            if (method.getParameterCount() != 0) {
+                log.warn("Ignoring gauge with parameters: {}", method);
+            } else if (gauge != null) {
+                register(MetricsInterceptor.metricName(beanClass, method.getName(), gauge.name(), gauge.absolute(), "gauge"),
+                         (com.codahale.metrics.Gauge<Object>) () -> invoke(method, bean));
+            } else if (cachedGauge != null) {
+                register(MetricsInterceptor.metricName(beanClass, method.getName(), cachedGauge.name(), cachedGauge.absolute(), "gauge"),
+                         new com.codahale.metrics.CachedGauge<Object>(cachedGauge.timeout(), cachedGauge.timeoutUnit()) {
+                             @Override
+                             protected Object loadValue() {
+                                 return invoke(method, bean);
+                             }
+                         });
+            }
+        }, method -> method.isAnnotationPresent(Gauge.class)
+                     || method.isAnnotationPresent(CachedGauge.class));
+        ReflectionUtils.doWithFields(beanClass, field -> {
+            final Gauge gauge = field.getAnnotation(Gauge.class);
+            ReflectionUtils.makeAccessible(field);
+            register(MetricsInterceptor.metricName(beanClass, field.getName(), gauge.name(), gauge.absolute(), "gauge"),
+                     (com.codahale.metrics.Gauge<Object>) () -> ReflectionUtils.getField(field, bean));
+        }, field -> field.isAnnotationPresent(Gauge.class));
+    }
+
+    private void register(final String name, final com.codahale.metrics.Gauge<?> gauge) {
+        // a prototype bean replaces the gauge of its previous instance
+        metrics.remove(name);
+        metrics.register(name, gauge);
+        log.debug("Registering gauge: {}", name);
+    }
+
+    private static Object invoke(final Method method, final Object bean) {
+        ReflectionUtils.makeAccessible(method);
+        return ReflectionUtils.invokeMethod(method, bean);
+    }
+}
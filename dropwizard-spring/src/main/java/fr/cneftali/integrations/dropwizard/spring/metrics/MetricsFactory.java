@@ -0,0 +1,60 @@
+package fr.cneftali.integrations.dropwizard.spring.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the metrics the Spring integration adds to the resources and beans of the Spring context.
+ */
+@Getter
+@Setter
+public class MetricsFactory {
+
+    /**
+     * Time every method of the resources registered from Spring, see {@link ResourceMetricsListener}.
+     */
+    @JsonProperty
+    private boolean resources = true;
+
+    /**
+     * Honor the Metrics annotations on the other Spring beans, see {@link MetricsAnnotationBeanPostProcessor}.
+     */
+    @JsonProperty
+    private boolean beans = true;
+
+    @NotNull
+    @JsonProperty
+    private ReservoirType reservoir = ReservoirType.SLIDING_WINDOW;
+
+    /**
+     * Number of measurements of a {@link ReservoirType#SLIDING_WINDOW} reservoir.
+     */
+    @Min(1)
+    @JsonProperty
+    private int windowSize = 1028;
+
+    /**
+     * Period of a {@link ReservoirType#SLIDING_TIME_WINDOW} reservoir.
+     */
+    @NotNull
+    @JsonProperty
+    private Duration window = Duration.minutes(1);
+
+    /**
+     * Get or create a timer backed by the configured reservoir.
+     *
+     * @param metrics the metric registry
+     * @param name    the name of the timer
+     * @return the timer
+     */
+    public Timer timer(final MetricRegistry metrics, final String name) {
+        return metrics.timer(name, () -> new Timer(reservoir.newReservoir(this)));
+    }
+}
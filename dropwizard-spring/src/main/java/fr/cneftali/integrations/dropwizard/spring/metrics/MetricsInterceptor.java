@@ -0,0 +1,130 @@
+package fr.cneftali.integrations.dropwizard.spring.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.annotation.Counted;
+import com.codahale.metrics.annotation.ExceptionMetered;
+import com.codahale.metrics.annotation.Metered;
+import com.codahale.metrics.annotation.Timed;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Updates the metrics of the {@link Timed}, {@link Metered}, {@link ExceptionMetered} and {@link Counted} methods of
+ * a Spring bean. The annotations are read and the metrics resolved on the first call of each method only.
+ */
+class MetricsInterceptor implements MethodInterceptor {
+
+    private final MetricRegistry metrics;
+    private final MetricsFactory metricsFactory;
+    private final ConcurrentMap<Method, MethodMetrics> metricsByMethod = new ConcurrentHashMap<>();
+
+    MetricsInterceptor(final MetricRegistry metrics, final MetricsFactory metricsFactory) {
+        this.metrics = metrics;
+        this.metricsFactory = metricsFactory;
+    }
+
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        final MethodMetrics methodMetrics = getMethodMetrics(invocation);
+        if (methodMetrics.meter != null) {
+            methodMetrics.meter.mark();
+        }
+        if (methodMetrics.counter != null) {
+            methodMetrics.counter.inc();
+        }
+        final Timer.Context time = methodMetrics.timer != null ? methodMetrics.timer.time() : null;
+        try {
+            return invocation.proceed();
+        } catch (final Throwable e) {
+            if (methodMetrics.exceptionMeter != null && methodMetrics.cause.isInstance(e)) {
+                methodMetrics.exceptionMeter.mark();
+            }
+            throw e;
+        } finally {
+            if (time != null) {
+                time.stop();
+            }
+            if (methodMetrics.counter != null && !methodMetrics.monotonic) {
+                methodMetrics.counter.dec();
+            }
+        }
+    }
+
+    private MethodMetrics getMethodMetrics(final MethodInvocation invocation) {
+        final MethodMetrics methodMetrics = metricsByMethod.get(invocation.getMethod());
+        if (methodMetrics != null) {
+            return methodMetrics;
+        }
+        final Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        return metricsByMethod.computeIfAbsent(invocation.getMethod(), method -> newMethodMetrics(method, targetClass));
+    }
+
+    private MethodMetrics newMethodMetrics(final Method method, final Class<?> targetClass) {
+        final Method specificMethod = ClassUtils.getMostSpecificMethod(method, targetClass);
+        final Class<?> beanClass = ClassUtils.getUserClass(specificMethod.getDeclaringClass());
+        final MethodMetrics methodMetrics = new MethodMetrics();
+
+        final Timed timed = AnnotationUtils.findAnnotation(specificMethod, Timed.class);
+        if (timed != null) {
+            methodMetrics.timer = metricsFactory.timer(metrics, metricName(beanClass, specificMethod.getName(), timed.name(), timed.absolute(), null));
+        }
+        final Metered metered = AnnotationUtils.findAnnotation(specificMethod, Metered.class);
+        if (metered != null) {
+            methodMetrics.meter = metrics.meter(metricName(beanClass, specificMethod.getName(), metered.name(), metered.absolute(), null));
+        }
+        final ExceptionMetered exceptionMetered = AnnotationUtils.findAnnotation(specificMethod, ExceptionMetered.class);
+        if (exceptionMetered != null) {
+            methodMetrics.exceptionMeter = metrics.meter(metricName(beanClass,
+                                                                    specificMethod.getName(),
+                                                                    exceptionMetered.name(),
+                                                                    exceptionMetered.absolute(),
+                                                                    ExceptionMetered.DEFAULT_NAME_SUFFIX));
+            methodMetrics.cause = exceptionMetered.cause();
+        }
+        final Counted counted = AnnotationUtils.findAnnotation(specificMethod, Counted.class);
+        if (counted != null) {
+            methodMetrics.counter = metrics.counter(metricName(beanClass, specificMethod.getName(), counted.name(), counted.absolute(), null));
+            methodMetrics.monotonic = counted.monotonic();
+        }
+        return methodMetrics;
+    }
+
+    /**
+     * Name a metric the way Dropwizard names the metrics of annotated resource methods.
+     */
+    static String metricName(final Class<?> beanClass,
+                             final String memberName,
+                             final String name,
+                             final boolean absolute,
+                             final String defaultSuffix) {
+        if (absolute) {
+            return name;
+        }
+        if (name.isEmpty()) {
+            return defaultSuffix == null ? name(beanClass, memberName) : name(beanClass, memberName, defaultSuffix);
+        }
+        return name(beanClass, name);
+    }
+
+    private static class MethodMetrics {
+
+        private Timer timer;
+        private Meter meter;
+        private Meter exceptionMeter;
+        private Class<? extends Throwable> cause;
+        private Counter counter;
+        private boolean monotonic;
+    }
+}
@@ -0,0 +1,51 @@
+package fr.cneftali.integrations.dropwizard.spring.metrics;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.SlidingTimeWindowReservoir;
+import com.codahale.metrics.SlidingWindowReservoir;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservoirs of the timers created by the Spring integration.
+ */
+public enum ReservoirType {
+
+    /**
+     * The Metrics default, biased towards the last five minutes.
+     */
+    EXPONENTIALLY_DECAYING {
+        @Override
+        public Reservoir newReservoir(final MetricsFactory metricsFactory) {
+            return new ExponentiallyDecayingReservoir();
+        }
+    },
+
+    /**
+     * The last {@link MetricsFactory#getWindowSize()} measurements, in a fixed array: the cheapest to update.
+     */
+    SLIDING_WINDOW {
+        @Override
+        public Reservoir newReservoir(final MetricsFactory metricsFactory) {
+            return new SlidingWindowReservoir(metricsFactory.getWindowSize());
+        }
+    },
+
+    /**
+     * The measurements of the last {@link MetricsFactory#getWindow()}, unbounded in size.
+     */
+    SLIDING_TIME_WINDOW {
+        @Override
+        public Reservoir newReservoir(final MetricsFactory metricsFactory) {
+            return new SlidingTimeWindowReservoir(metricsFactory.getWindow()
+                                                                .toNanoseconds(), TimeUnit.NANOSECONDS);
+        }
+    };
+
+    /**
+     * @param metricsFactory the metrics configuration
+     * @return a new reservoir
+     */
+    public abstract Reservoir newReservoir(MetricsFactory metricsFactory);
+}
@@ -0,0 +1,164 @@
+package fr.cneftali.integrations.dropwizard.spring.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+
+import javax.ws.rs.core.Response;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Gives every method of the resources registered from Spring, unless {@link Unmetered}:
+ * <ul>
+ * <li>a {@code requests} timer,</li>
+ * <li>an {@code exceptions} meter of the requests ending with a server error, mapped or unmapped exceptions
+ * included,</li>
+ * <li>an {@code in-flight} counter of the requests being handled.</li>
+ * </ul>
+ * The metrics are resolved once per method when Jersey initializes the application. A request is timed from the
+ * moment it matches a method, so that the request and response filters are timed as well, until Jersey finished
+ * with it, whether it ended with a response or with an exception no mapper handled. The requests having the
+ * {@link #UNMETERED_PROPERTY} property, e.g. those replayed in-process to warm the application up, are left out.
+ */
+public class ResourceMetricsListener implements ApplicationEventListener {
+
+    /**
+     * The request property leaving a request out of the metrics, whatever its value.
+     */
+    public static final String UNMETERED_PROPERTY = ResourceMetricsListener.class.getName() + ".unmetered";
+
+    private final Set<Class<?>> resourceClasses;
+    private final MetricRegistry metrics;
+    private final MetricsFactory metricsFactory;
+    private volatile Map<Class<?>, Map<Method, MethodMetrics>> methodMetrics = Collections.emptyMap();
+
+    /**
+     * @param resourceClasses the classes of the resources registered from Spring
+     * @param metrics         the metric registry
+     * @param metricsFactory  the metrics configuration
+     */
+    public ResourceMetricsListener(final Set<Class<?>> resourceClasses,
+                                   final MetricRegistry metrics,
+                                   final MetricsFactory metricsFactory) {
+        this.resourceClasses = requireNonNull(resourceClasses);
+        this.metrics = requireNonNull(metrics);
+        this.metricsFactory = requireNonNull(metricsFactory);
+    }
+
+    @Override
+    public void onEvent(final ApplicationEvent event) {
+        if (event.getType() == ApplicationEvent.Type.INITIALIZATION_APP_FINISHED) {
+            final Map<Class<?>, Map<Method, MethodMetrics>> methodMetrics = new HashMap<>();
+            register(event.getResourceModel()
+                          .getResources(), methodMetrics);
+            this.methodMetrics = methodMetrics;
+        }
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent event) {
+        if (methodMetrics.isEmpty() || event.getContainerRequest()
+                                            .getProperty(UNMETERED_PROPERTY) != null) {
+            return null;
+        }
+        return new MetricsListener();
+    }
+
+    private void register(final List<Resource> resources, final Map<Class<?>, Map<Method, MethodMetrics>> methodMetrics) {
+        for (final Resource resource : resources) {
+            for (final ResourceMethod resourceMethod : resource.getResourceMethods()) {
+                final Invocable invocable = resourceMethod.getInvocable();
+                final Class<?> resourceClass = invocable.getHandler()
+                                                        .getHandlerClass();
+                final Method method = invocable.getHandlingMethod();
+                if (resourceClass == null || method == null || !resourceClasses.contains(resourceClass)
+                    || AnnotationUtils.findAnnotation(resourceClass, Unmetered.class) != null
+                    || AnnotationUtils.findAnnotation(method, Unmetered.class) != null) {
+                    continue;
+                }
+                final Class<?> userClass = ClassUtils.getUserClass(resourceClass);
+                methodMetrics.computeIfAbsent(resourceClass, key -> new HashMap<>())
+                             .put(method, new MethodMetrics(metricsFactory.timer(metrics, name(userClass, method.getName(), "requests")),
+                                                            metrics.meter(name(userClass, method.getName(), "exceptions")),
+                                                            metrics.counter(name(userClass, method.getName(), "in-flight"))));
+            }
+            register(resource.getChildResources(), methodMetrics);
+        }
+    }
+
+    private MethodMetrics methodMetrics(final ResourceMethod resourceMethod) {
+        if (resourceMethod == null) {
+            return null;
+        }
+        final Invocable invocable = resourceMethod.getInvocable();
+        final Map<Method, MethodMetrics> classMetrics = methodMetrics.get(invocable.getHandler()
+                                                                                   .getHandlerClass());
+        return classMetrics == null ? null : classMetrics.get(invocable.getHandlingMethod());
+    }
+
+    static class MethodMetrics {
+
+        private final Timer requests;
+        private final Meter exceptions;
+        private final Counter inFlight;
+
+        MethodMetrics(final Timer requests, final Meter exceptions, final Counter inFlight) {
+            this.requests = requests;
+            this.exceptions = exceptions;
+            this.inFlight = inFlight;
+        }
+    }
+
+    private class MetricsListener implements RequestEventListener {
+
+        private MethodMetrics metrics;
+        private long start;
+
+        @Override
+        public void onEvent(final RequestEvent event) {
+            switch (event.getType()) {
+                case REQUEST_MATCHED:
+                    metrics = methodMetrics(event.getUriInfo()
+                                                 .getMatchedResourceMethod());
+                    if (metrics != null) {
+                        start = System.nanoTime();
+                        metrics.inFlight.inc();
+                    }
+                    break;
+                case FINISHED:
+                    if (metrics != null) {
+                        metrics.inFlight.dec();
+                        metrics.requests.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        final ContainerResponse response = event.getContainerResponse();
+                        if (response == null || response.getStatusInfo()
+                                                        .getFamily() == Response.Status.Family.SERVER_ERROR) {
+                            metrics.exceptions.mark();
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package fr.cneftali.integrations.dropwizard.spring.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Excludes a resource method, or all the methods of a resource, from the metrics of {@link ResourceMetricsListener}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Unmetered {
+}
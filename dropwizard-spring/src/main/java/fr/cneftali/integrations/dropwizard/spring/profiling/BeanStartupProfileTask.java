@@ -0,0 +1,43 @@
+package fr.cneftali.integrations.dropwizard.spring.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableMap;
+import io.dropwizard.servlets.tasks.Task;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Dumps the slowest beans to create and the critical path of the Spring startup as JSON.
+ *
+ * <p>Usage: {@code POST /tasks/spring-bean-profile?limit=20}</p>
+ */
+public class BeanStartupProfileTask extends Task {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final BeanStartupProfiler profiler;
+    private final ObjectMapper objectMapper;
+
+    public BeanStartupProfileTask(final BeanStartupProfiler profiler, final ObjectMapper objectMapper) {
+        super("spring-bean-profile");
+        this.profiler = requireNonNull(profiler);
+        this.objectMapper = requireNonNull(objectMapper);
+    }
+
+    @Override
+    public void execute(final ImmutableMultimap<String, String> parameters, final PrintWriter output) throws Exception {
+        final int limit = parameters.get("limit")
+                                    .stream()
+                                    .findFirst()
+                                    .map(Integer::parseInt)
+                                    .orElse(DEFAULT_LIMIT);
+        final List<BeanStartupRecord> records = profiler.getRecords();
+        objectMapper.writeValue(output, ImmutableMap.of("beans", records.size(),
+                                                        "slowest", profiler.getSlowest(limit),
+                                                        "criticalPath", profiler.getCriticalPath()));
+    }
+}
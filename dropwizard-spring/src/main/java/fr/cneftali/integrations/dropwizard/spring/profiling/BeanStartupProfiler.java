@@ -0,0 +1,227 @@
+package fr.cneftali.integrations.dropwizard.spring.profiling;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Records the instantiation, dependency injection and initialization time of the beans of one or more application
+ * contexts, plus the memory allocated meanwhile when the JVM supports per-thread allocation counters.
+ *
+ * <p>Beans created while another bean is being created (its dependencies) are recorded as its children, which gives
+ * the critical path of the startup. Recording stops with {@link #stop()}.</p>
+ */
+public class BeanStartupProfiler {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean ALLOCATION_SUPPORTED = isAllocationSupported();
+
+    private final Queue<BeanStartupRecord> records = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Deque<BeanStartupRecord>> creations = ThreadLocal.withInitial(ArrayDeque::new);
+    private volatile boolean recording = true;
+
+    /**
+     * @param context the name of the profiled application context
+     * @return a bean post-processor recording the creation of the beans of the context, to be added to its bean factory
+     * before any bean is created
+     */
+    public BeanPostProcessor newBeanPostProcessor(final String context) {
+        return new Recorder(context);
+    }
+
+    /**
+     * Stop recording bean creations.
+     */
+    public void stop() {
+        recording = false;
+        creations.remove();
+    }
+
+    /**
+     * @return the completed records, in creation order
+     */
+    public List<BeanStartupRecord> getRecords() {
+        return records.stream()
+                      .filter(BeanStartupRecord::isComplete)
+                      .collect(Collectors.toList());
+    }
+
+    /**
+     * @param limit the maximum number of records
+     * @return the beans that took the longest to create, without their dependencies
+     */
+    public List<BeanStartupRecord> getSlowest(final int limit) {
+        return getRecords().stream()
+                           .sorted(Comparator.comparingLong(BeanStartupRecord::getSelfNanos)
+                                             .reversed())
+                           .limit(limit)
+                           .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the chain of dependencies that took the longest to create, from the first bean requested
+     */
+    public List<BeanStartupRecord> getCriticalPath() {
+        final List<BeanStartupRecord> path = new ArrayList<>();
+        BeanStartupRecord next = slowest(getRecords().stream()
+                                                     .filter(record -> record.getParent() == null)
+                                                     .collect(Collectors.toList()));
+        while (next != null) {
+            path.add(next);
+            next = slowest(next.getChildren());
+        }
+        return path;
+    }
+
+    /**
+     * Register the profiling totals in a {@link MetricRegistry}.
+     *
+     * @param metrics the metric registry
+     */
+    public void registerMetrics(final MetricRegistry metrics) {
+        metrics.register(name(BeanStartupProfiler.class, "beans"), (Gauge<Integer>) () -> getRecords().size());
+        metrics.register(name(BeanStartupProfiler.class, "instantiation-nanos"),
+                         (Gauge<Long>) () -> sum(BeanStartupRecord::getInstantiationNanos));
+        metrics.register(name(BeanStartupProfiler.class, "injection-nanos"),
+                         (Gauge<Long>) () -> sum(BeanStartupRecord::getInjectionNanos));
+        metrics.register(name(BeanStartupProfiler.class, "initialization-nanos"),
+                         (Gauge<Long>) () -> sum(BeanStartupRecord::getInitializationNanos));
+        metrics.register(name(BeanStartupProfiler.class, "total-nanos"),
+                         (Gauge<Long>) () -> sum(record -> record.getParent() == null ? record.getTotalNanos() : 0));
+        if (ALLOCATION_SUPPORTED) {
+            metrics.register(name(BeanStartupProfiler.class, "allocated-bytes"),
+                             (Gauge<Long>) () -> sum(record -> record.getParent() == null ? record.getAllocatedBytes() : 0));
+        }
+    }
+
+    private long sum(final ToLongFunction<BeanStartupRecord> value) {
+        return records.stream()
+                      .filter(BeanStartupRecord::isComplete)
+                      .mapToLong(value)
+                      .sum();
+    }
+
+    private static BeanStartupRecord slowest(final List<BeanStartupRecord> records) {
+        return records.stream()
+                      .filter(BeanStartupRecord::isComplete)
+                      .max(Comparator.comparingLong(BeanStartupRecord::getTotalNanos))
+                      .orElse(null);
+    }
+
+    private static boolean isAllocationSupported() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+    }
+
+    private static long allocatedBytes() {
+        if (!ALLOCATION_SUPPORTED) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread()
+                                                                                          .getId());
+    }
+
+    private final class Recorder extends InstantiationAwareBeanPostProcessorAdapter {
+
+        private final String context;
+
+        private Recorder(final String context) {
+            this.context = context;
+        }
+
+        @Override
+        public Object postProcessBeforeInstantiation(final Class<?> beanClass, final String beanName) throws BeansException {
+            if (recording) {
+                final Deque<BeanStartupRecord> stack = creations.get();
+                final BeanStartupRecord parent = stack.peek();
+                final BeanStartupRecord record = new BeanStartupRecord(context, beanName, parent, System.nanoTime(), allocatedBytes());
+                if (parent != null) {
+                    parent.addChild(record);
+                }
+                stack.push(record);
+                records.add(record);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean postProcessAfterInstantiation(final Object bean, final String beanName) throws BeansException {
+            final BeanStartupRecord record = current(beanName);
+            if (record != null) {
+                record.instantiated(System.nanoTime());
+            }
+            return true;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(final Object bean, final String beanName) throws BeansException {
+            final BeanStartupRecord record = current(beanName);
+            if (record != null) {
+                record.injected(System.nanoTime());
+            }
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
+            if (!recording) {
+                return bean;
+            }
+            final Deque<BeanStartupRecord> stack = creations.get();
+            if (stack.stream()
+                     .noneMatch(record -> record.getBeanName()
+                                                .equals(beanName) && record.getContext()
+                                                                           .equals(context))) {
+                // e.g. the object created by a FactoryBean
+                return bean;
+            }
+            // unwind the creations that failed since this one started
+            final Iterator<BeanStartupRecord> iterator = stack.iterator();
+            while (iterator.hasNext()) {
+                final BeanStartupRecord record = iterator.next();
+                iterator.remove();
+                if (record.getBeanName()
+                          .equals(beanName) && record.getContext()
+                                                     .equals(context)) {
+                    record.initialized(System.nanoTime(), allocatedBytes());
+                    break;
+                }
+            }
+            return bean;
+        }
+
+        private BeanStartupRecord current(final String beanName) {
+            if (!recording) {
+                return null;
+            }
+            final BeanStartupRecord record = creations.get()
+                                                      .peek();
+            if (record != null && record.getBeanName()
+                                        .equals(beanName) && record.getContext()
+                                                                   .equals(context)) {
+                return record;
+            }
+            return null;
+        }
+    }
+}
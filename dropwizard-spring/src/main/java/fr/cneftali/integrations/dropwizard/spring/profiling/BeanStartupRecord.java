@@ -0,0 +1,159 @@
+package fr.cneftali.integrations.dropwizard.spring.profiling;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The creation of a bean as recorded by {@link BeanStartupProfiler}.
+ *
+ * <p>Phase durations include the creation of the beans created meanwhile, e.g. constructor arguments during
+ * instantiation or injected fields during injection. {@link #getSelfNanos()} excludes them.</p>
+ */
+@Getter
+public class BeanStartupRecord {
+
+    @JsonProperty
+    private final String context;
+
+    @JsonProperty
+    private final String beanName;
+
+    @JsonIgnore
+    private final BeanStartupRecord parent;
+
+    @JsonIgnore
+    private final List<BeanStartupRecord> children = new ArrayList<>();
+
+    @JsonIgnore
+    private final long startNanos;
+
+    @JsonIgnore
+    private long instantiatedNanos;
+
+    @JsonIgnore
+    private long injectedNanos;
+
+    @JsonIgnore
+    private long initializedNanos;
+
+    @JsonIgnore
+    private final long startAllocatedBytes;
+
+    @JsonProperty
+    private long allocatedBytes = -1;
+
+    BeanStartupRecord(final String context,
+                      final String beanName,
+                      final BeanStartupRecord parent,
+                      final long startNanos,
+                      final long startAllocatedBytes) {
+        this.context = context;
+        this.beanName = beanName;
+        this.parent = parent;
+        this.startNanos = startNanos;
+        this.startAllocatedBytes = startAllocatedBytes;
+    }
+
+    void instantiated(final long nanos) {
+        this.instantiatedNanos = nanos;
+    }
+
+    void injected(final long nanos) {
+        this.injectedNanos = nanos;
+    }
+
+    void initialized(final long nanos, final long allocatedBytes) {
+        if (instantiatedNanos == 0) {
+            instantiatedNanos = nanos;
+        }
+        if (injectedNanos == 0) {
+            injectedNanos = nanos;
+        }
+        this.initializedNanos = nanos;
+        if (startAllocatedBytes >= 0 && allocatedBytes >= 0) {
+            this.allocatedBytes = allocatedBytes - startAllocatedBytes;
+        }
+    }
+
+    void addChild(final BeanStartupRecord child) {
+        children.add(child);
+    }
+
+    public List<BeanStartupRecord> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    @JsonIgnore
+    public boolean isComplete() {
+        return initializedNanos != 0;
+    }
+
+    @JsonIgnore
+    public long getInstantiationNanos() {
+        return instantiatedNanos - startNanos;
+    }
+
+    @JsonIgnore
+    public long getInjectionNanos() {
+        return injectedNanos - instantiatedNanos;
+    }
+
+    @JsonIgnore
+    public long getInitializationNanos() {
+        return initializedNanos - injectedNanos;
+    }
+
+    @JsonIgnore
+    public long getTotalNanos() {
+        return initializedNanos - startNanos;
+    }
+
+    /**
+     * @return the creation time of this bean, without the creation of the beans created meanwhile
+     */
+    @JsonIgnore
+    public long getSelfNanos() {
+        long self = getTotalNanos();
+        for (final BeanStartupRecord child : children) {
+            if (child.isComplete()) {
+                self -= child.getTotalNanos();
+            }
+        }
+        return self;
+    }
+
+    @JsonProperty
+    public double getInstantiationMillis() {
+        return toMillis(getInstantiationNanos());
+    }
+
+    @JsonProperty
+    public double getInjectionMillis() {
+        return toMillis(getInjectionNanos());
+    }
+
+    @JsonProperty
+    public double getInitializationMillis() {
+        return toMillis(getInitializationNanos());
+    }
+
+    @JsonProperty
+    public double getTotalMillis() {
+        return toMillis(getTotalNanos());
+    }
+
+    @JsonProperty
+    public double getSelfMillis() {
+        return toMillis(getSelfNanos());
+    }
+
+    private static double toMillis(final long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,189 @@
+package fr.cneftali.integrations.dropwizard.spring.profiling;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.collect.ImmutableMultimap;
+import io.dropwizard.servlets.tasks.Task;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Streams the beans of the Spring contexts as JSON: their type, scope, proxy type, dependencies and dependents,
+ * creation time when profiling, and an estimate of the heap each instantiated singleton retains, see
+ * {@link RetainedSizeEstimator}. Beans are written one by one, so that large contexts are not buffered.
+ *
+ * <p>Usage: {@code POST /tasks/spring-context?context=application&retainedSize=true&clearCaches=false}, where
+ * {@code clearCaches} first clears the Spring metadata caches and reports the heap freed, see
+ * {@link MetadataCaches}.</p>
+ */
+public class ContextIntrospectionTask extends Task {
+
+    private static final int MAX_OBJECTS_PER_BEAN = 100_000;
+
+    private final Map<String, ConfigurableApplicationContext> contexts;
+    private final BeanStartupProfiler profiler;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param contexts     the Spring application contexts, by name
+     * @param profiler     the profiler of the bean creations, {@code null} if profiling is disabled
+     * @param objectMapper the object mapper writing the output
+     */
+    public ContextIntrospectionTask(final Map<String, ? extends ConfigurableApplicationContext> contexts,
+                                    final BeanStartupProfiler profiler,
+                                    final ObjectMapper objectMapper) {
+        super("spring-context");
+        this.contexts = Collections.unmodifiableMap(new LinkedHashMap<>(contexts));
+        this.profiler = profiler;
+        this.objectMapper = requireNonNull(objectMapper);
+    }
+
+    @Override
+    public void execute(final ImmutableMultimap<String, String> parameters, final PrintWriter output) throws Exception {
+        final String contextName = parameters.get("context")
+                                             .stream()
+                                             .findFirst()
+                                             .orElse(null);
+        final boolean retainedSize = parameters.get("retainedSize")
+                                               .stream()
+                                               .findFirst()
+                                               .map(Boolean::parseBoolean)
+                                               .orElse(true);
+        final boolean clearCaches = parameters.get("clearCaches")
+                                              .stream()
+                                              .findFirst()
+                                              .map(Boolean::parseBoolean)
+                                              .orElse(false);
+        final Long freedBytes = clearCaches ? MetadataCaches.clear(contexts.values()) : null;
+        final RetainedSizeEstimator estimator = retainedSize ? newEstimator() : null;
+        final Map<String, Double> creationMillis = getCreationMillis();
+
+        try (final JsonGenerator generator = objectMapper.getFactory()
+                                                         .createGenerator(output)
+                                                         .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            if (objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("contexts");
+            for (final Map.Entry<String, ConfigurableApplicationContext> context : contexts.entrySet()) {
+                if ((contextName == null || contextName.equals(context.getKey())) && context.getValue()
+                                                                                            .isActive()) {
+                    writeContext(generator, context.getKey(), context.getValue()
+                                                                     .getBeanFactory(), estimator, creationMillis);
+                }
+            }
+            generator.writeEndArray();
+            if (freedBytes != null) {
+                generator.writeObjectFieldStart("caches");
+                generator.writeNumberField("freedBytes", freedBytes);
+                generator.writeEndObject();
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeContext(final JsonGenerator generator,
+                              final String name,
+                              final ConfigurableListableBeanFactory beanFactory,
+                              final RetainedSizeEstimator estimator,
+                              final Map<String, Double> creationMillis) throws Exception {
+        final Set<String> beanNames = new LinkedHashSet<>(Arrays.asList(beanFactory.getBeanDefinitionNames()));
+        beanNames.addAll(Arrays.asList(beanFactory.getSingletonNames()));
+        long retainedBytes = 0;
+        generator.writeStartObject();
+        generator.writeStringField("name", name);
+        generator.writeNumberField("beanCount", beanNames.size());
+        generator.writeArrayFieldStart("beans");
+        for (final String beanName : beanNames) {
+            generator.writeStartObject();
+            generator.writeStringField("name", beanName);
+            final Class<?> type = beanFactory.getType(beanName);
+            generator.writeStringField("type", type != null ? type.getName() : null);
+            writeDefinition(generator, beanFactory, beanName);
+            final Object singleton = beanFactory.containsSingleton(beanName) ? beanFactory.getSingleton(beanName) : null;
+            if (singleton != null) {
+                generator.writeStringField("proxy", AopUtils.isJdkDynamicProxy(singleton) ? "jdk"
+                                                    : AopUtils.isCglibProxy(singleton) ? "cglib" : null);
+            }
+            generator.writeObjectField("dependencies", beanFactory.getDependenciesForBean(beanName));
+            generator.writeObjectField("dependents", beanFactory.getDependentBeans(beanName));
+            final Double millis = creationMillis.get(name + '/' + beanName);
+            if (millis != null) {
+                generator.writeNumberField("creationMillis", millis);
+            }
+            if (estimator != null && singleton != null) {
+                final long bytes = estimator.estimate(singleton);
+                retainedBytes += bytes;
+                generator.writeNumberField("retainedBytes", bytes);
+            }
+            generator.writeEndObject();
+            generator.flush();
+        }
+        generator.writeEndArray();
+        if (estimator != null) {
+            generator.writeNumberField("retainedBytes", retainedBytes);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeDefinition(final JsonGenerator generator,
+                                        final ConfigurableListableBeanFactory beanFactory,
+                                        final String beanName) throws Exception {
+        try {
+            final BeanDefinition definition = beanFactory.getMergedBeanDefinition(beanName);
+            generator.writeStringField("scope", definition.getScope()
+                                                          .isEmpty() ? BeanDefinition.SCOPE_SINGLETON : definition.getScope());
+            generator.writeBooleanField("lazy", definition.isLazyInit());
+        } catch (final NoSuchBeanDefinitionException e) {
+            // registered as a singleton instance
+            generator.writeStringField("scope", BeanDefinition.SCOPE_SINGLETON);
+        }
+    }
+
+    /**
+     * @return an estimator charging each bean for the objects it holds, up to the other beans and the containers
+     */
+    private RetainedSizeEstimator newEstimator() {
+        final Set<Object> beans = Collections.newSetFromMap(new IdentityHashMap<>());
+        contexts.values()
+                .stream()
+                .filter(ConfigurableApplicationContext::isActive)
+                .map(ConfigurableApplicationContext::getBeanFactory)
+                .forEach(beanFactory -> Arrays.stream(beanFactory.getSingletonNames())
+                                              .map(beanFactory::getSingleton)
+                                              .forEach(beans::add));
+        return new RetainedSizeEstimator(object -> beans.contains(object) || object instanceof BeanFactory
+                                                   || object instanceof ApplicationContext || object instanceof Environment,
+                                         MAX_OBJECTS_PER_BEAN);
+    }
+
+    private Map<String, Double> getCreationMillis() {
+        final Map<String, Double> creationMillis = new HashMap<>();
+        if (profiler != null) {
+            profiler.getRecords()
+                    .forEach(record -> creationMillis.put(record.getContext() + '/' + record.getBeanName(),
+                                                          record.getTotalMillis()));
+        }
+        return creationMillis;
+    }
+}
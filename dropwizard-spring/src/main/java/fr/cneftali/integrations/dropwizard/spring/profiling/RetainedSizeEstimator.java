@@ -0,0 +1,146 @@
+package fr.cneftali.integrations.dropwizard.spring.profiling;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Estimates the heap retained by an object by walking the objects it references through reflection, without an agent.
+ *
+ * <p>The walk stops at the objects accepted by the {@code boundary} predicate, typically the other beans and the
+ * containers, so that a bean is only charged for what it holds on its own. Sizes follow a 64-bit JVM with compressed
+ * references: 12-byte object headers, 16-byte array headers, 4-byte references, rounded up to 8 bytes. Classes,
+ * class loaders and threads are never charged, and the walk gives up past {@code maxObjects}: the result is an
+ * order of magnitude, not a heap dump.</p>
+ */
+public class RetainedSizeEstimator {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private final Predicate<Object> boundary;
+    private final int maxObjects;
+    private final Map<Class<?>, ClassLayout> layouts = new ConcurrentHashMap<>();
+
+    /**
+     * @param boundary   the objects not to walk into, nor charge
+     * @param maxObjects the maximum number of objects to walk per estimate
+     */
+    public RetainedSizeEstimator(final Predicate<Object> boundary, final int maxObjects) {
+        this.boundary = requireNonNull(boundary);
+        this.maxObjects = maxObjects;
+    }
+
+    /**
+     * @param root the object to estimate
+     * @return the estimated bytes of the root and the objects it references, up to the boundary
+     */
+    public long estimate(final Object root) {
+        final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Object> pending = new ArrayDeque<>();
+        visited.add(root);
+        pending.push(root);
+        long size = 0;
+        while (!pending.isEmpty() && visited.size() <= maxObjects) {
+            final Object object = pending.pop();
+            final Class<?> type = object.getClass();
+            if (type.isArray()) {
+                size += arraySize(object, type.getComponentType());
+                if (!type.getComponentType()
+                         .isPrimitive()) {
+                    for (int i = 0; i < Array.getLength(object); i++) {
+                        visit(Array.get(object, i), root, visited, pending);
+                    }
+                }
+            } else {
+                final ClassLayout layout = layouts.computeIfAbsent(type, ClassLayout::new);
+                size += layout.size;
+                for (final Field field : layout.references) {
+                    try {
+                        visit(field.get(object), root, visited, pending);
+                    } catch (final IllegalAccessException e) {
+                        // not charged
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    private void visit(final Object object,
+                       final Object root,
+                       final Set<Object> visited,
+                       final Deque<Object> pending) {
+        if (object == null || object == root || object instanceof Class || object instanceof ClassLoader
+            || object instanceof Thread || boundary.test(object) || !visited.add(object)) {
+            return;
+        }
+        pending.push(object);
+    }
+
+    private static long arraySize(final Object array, final Class<?> componentType) {
+        return align(ARRAY_HEADER + (long) Array.getLength(array) * fieldSize(componentType));
+    }
+
+    private static int fieldSize(final Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    private static long align(final long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private static class ClassLayout {
+
+        private final long size;
+        private final List<Field> references = new ArrayList<>();
+
+        ClassLayout(final Class<?> type) {
+            long fields = 0;
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (final Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    fields += fieldSize(field.getType());
+                    if (!field.getType()
+                              .isPrimitive() && isAccessible(field)) {
+                        references.add(field);
+                    }
+                }
+            }
+            this.size = align(OBJECT_HEADER + fields);
+        }
+
+        private static boolean isAccessible(final Field field) {
+            try {
+                field.setAccessible(true);
+                return true;
+            } catch (final RuntimeException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package fr.cneftali.integrations.dropwizard.spring.resource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pools the instances of a prototype resource, for the resources expensive to create: an instance is borrowed for a
+ * request and returned once the request completes, instead of being created for every request. The resource must
+ * not keep any state from one request to the next.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Pooled {
+
+    /**
+     * @return the maximum number of idle instances kept in the pool, the others are discarded once returned
+     */
+    int maxIdle() default 16;
+}
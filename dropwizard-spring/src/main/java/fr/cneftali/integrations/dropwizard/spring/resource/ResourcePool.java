@@ -0,0 +1,40 @@
+package fr.cneftali.integrations.dropwizard.spring.resource;
+
+import org.springframework.beans.factory.ObjectFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded pool of the instances of a prototype resource, see {@link Pooled}. An instance is created when the pool
+ * is empty, and discarded when it is returned to a full pool.
+ */
+class ResourcePool {
+
+    private final ObjectFactory<Object> factory;
+    private final BlockingQueue<Object> idle;
+
+    /**
+     * @param factory the factory of the instances
+     * @param maxIdle the maximum number of idle instances
+     */
+    ResourcePool(final ObjectFactory<Object> factory, final int maxIdle) {
+        this.factory = requireNonNull(factory);
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    Object borrow() {
+        final Object instance = idle.poll();
+        return instance != null ? instance : factory.getObject();
+    }
+
+    void release(final Object instance) {
+        idle.offer(instance);
+    }
+
+    int getIdle() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,58 @@
+package fr.cneftali.integrations.dropwizard.spring.resource;
+
+import org.glassfish.hk2.api.Factory;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.jersey.server.CloseableService;
+import org.springframework.beans.factory.ObjectFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Provides Jersey with the instance of a prototype or scoped Spring resource for each request, looked up by bean name,
+ * or borrowed from its {@link ResourcePool} and returned once the request is closed.
+ */
+class ScopedResourceFactory implements Factory<Object> {
+
+    private final ObjectFactory<Object> handle;
+    private final ResourcePool pool;
+    private final ServiceLocator locator;
+    private volatile CloseableService closeableService;
+
+    /**
+     * @param handle  the handle on the Spring bean
+     * @param pool    the pool of the instances, {@code null} if not pooled
+     * @param locator the service locator of the Jersey application
+     */
+    ScopedResourceFactory(final ObjectFactory<Object> handle, final ResourcePool pool, final ServiceLocator locator) {
+        this.handle = requireNonNull(handle);
+        this.pool = pool;
+        this.locator = requireNonNull(locator);
+    }
+
+    @Override
+    public Object provide() {
+        if (pool == null) {
+            return handle.getObject();
+        }
+        final Object instance = pool.borrow();
+        getCloseableService().add(() -> pool.release(instance));
+        return instance;
+    }
+
+    /**
+     * @return the proxy of the {@link CloseableService} of the current request, looked up once
+     */
+    private CloseableService getCloseableService() {
+        CloseableService service = closeableService;
+        if (service == null) {
+            service = locator.getService(CloseableService.class);
+            closeableService = service;
+        }
+        return service;
+    }
+
+    @Override
+    public void dispose(final Object instance) {
+        // The instances are destroyed by Spring with their scope, or left to the garbage collector
+    }
+}
@@ -0,0 +1,92 @@
+package fr.cneftali.integrations.dropwizard.spring.resource;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.glassfish.hk2.api.PerLookup;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.ServiceLocatorProvider;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serves the prototype and scoped resources of the Spring context, registered in Jersey by class: each request gets
+ * its own instance from Spring, in the scope of the bean, instead of a single instance registered for good.
+ * <p/>
+ * Each request looks the bean up by name in the bean factory of its context, both found once per resource, rather
+ * than by type: Spring still resolves the bean definition and the scope on every lookup, only the search of the
+ * candidates matching the type is saved. The instances of the prototypes annotated with {@link Pooled} are pooled,
+ * and the number of idle instances reported by a gauge.
+ */
+@Slf4j
+public class ScopedResourceFeature implements Feature {
+
+    private final Function<String, ? extends BeanFactory> beanFactories;
+    private final Map<String, Class<?>> resources;
+    private final MetricRegistry metrics;
+
+    /**
+     * @param beanFactories the bean factory of the Spring context each resource comes from, by bean name
+     * @param resources     the types of the prototype and scoped resources, by bean name
+     * @param metrics       the metric registry
+     */
+    public ScopedResourceFeature(final Function<String, ? extends BeanFactory> beanFactories,
+                                 final Map<String, Class<?>> resources,
+                                 final MetricRegistry metrics) {
+        this.beanFactories = requireNonNull(beanFactories);
+        this.resources = requireNonNull(resources);
+        this.metrics = requireNonNull(metrics);
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final ServiceLocator locator = ServiceLocatorProvider.getServiceLocator(context);
+        final Map<Class<?>, ScopedResourceFactory> factories = new LinkedHashMap<>();
+        resources.forEach((beanName, type) -> factories.put(type, new ScopedResourceFactory(lookup(beanName),
+                                                                                             pool(beanName, type),
+                                                                                             locator)));
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                factories.forEach((type, factory) -> bindFactory(factory).to((Type) type)
+                                                                         .in(PerLookup.class));
+            }
+        });
+        return true;
+    }
+
+    private ObjectFactory<Object> lookup(final String beanName) {
+        final BeanFactory beanFactory = beanFactories.apply(beanName);
+        return () -> beanFactory.getBean(beanName);
+    }
+
+    private ResourcePool pool(final String beanName, final Class<?> type) {
+        final Pooled pooled = AnnotationUtils.findAnnotation(type, Pooled.class);
+        if (pooled == null) {
+            return null;
+        }
+        if (!beanFactories.apply(beanName)
+                          .isPrototype(beanName)) {
+            log.warn("Ignoring @Pooled on resource {}, only prototypes are pooled", beanName);
+            return null;
+        }
+        final ResourcePool pool = new ResourcePool(lookup(beanName), pooled.maxIdle());
+        final String name = name(ScopedResourceFeature.class, beanName, "idle");
+        metrics.remove(name);
+        metrics.register(name, (Gauge<Integer>) pool::getIdle);
+        log.info("Pooling resource {} up to {} idle instances", beanName, pooled.maxIdle());
+        return pool;
+    }
+}
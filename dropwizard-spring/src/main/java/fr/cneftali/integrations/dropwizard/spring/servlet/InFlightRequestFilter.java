@@ -0,0 +1,132 @@
+package fr.cneftali.integrations.dropwizard.spring.servlet;
+
+import io.dropwizard.util.Duration;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the requests in flight, asynchronous ones until they complete, so that the shutdown can wait for them.
+ *
+ * <p>Once {@link #startDraining() draining}, responses ask their clients to close the connection, so that they open
+ * the next one on another instance rather than getting an error.</p>
+ */
+public class InFlightRequestFilter implements Filter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Object idle = new Object();
+    private volatile boolean draining;
+
+    @Override
+    public void init(final FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request,
+                         final ServletResponse response,
+                         final FilterChain chain) throws IOException, ServletException {
+        inFlight.incrementAndGet();
+        final AtomicBoolean released = new AtomicBoolean();
+        try {
+            if (draining && response instanceof HttpServletResponse) {
+                ((HttpServletResponse) response).setHeader("Connection", "close");
+            }
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext()
+                       .addListener(new Completion(released));
+                return;
+            }
+        } catch (final IOException | ServletException | RuntimeException e) {
+            release(released);
+            throw e;
+        }
+        release(released);
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    /**
+     * Ask the clients of the next responses to close their connection.
+     */
+    public void startDraining() {
+        this.draining = true;
+    }
+
+    /**
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Wait for the requests in flight to complete.
+     *
+     * @param timeout the maximum time to wait
+     * @return whether no request is left in flight
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitIdle(final Duration timeout) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanoseconds();
+        synchronized (idle) {
+            while (inFlight.get() > 0) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(idle, remaining);
+            }
+        }
+        return true;
+    }
+
+    private void release(final AtomicBoolean released) {
+        if (released.compareAndSet(false, true) && inFlight.decrementAndGet() == 0) {
+            synchronized (idle) {
+                idle.notifyAll();
+            }
+        }
+    }
+
+    private class Completion implements AsyncListener {
+
+        private final AtomicBoolean released;
+
+        Completion(final AtomicBoolean released) {
+            this.released = released;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext()
+                 .addListener(this);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package fr.cneftali.integrations.dropwizard.spring.servlet;
 
+import fr.cneftali.integrations.dropwizard.spring.shutdown.ShutdownCoordinator;
 import org.springframework.web.context.ConfigurableWebApplicationContext;
 
 import javax.servlet.ServletContextEvent;
@@ -11,19 +12,37 @@ import static org.springframework.web.context.WebApplicationContext.ROOT_WEB_APP
 public class SpringContextLoaderListener implements ServletContextListener {
 
     private final ConfigurableWebApplicationContext context;
+    private final ShutdownCoordinator shutdownCoordinator;
 
     public SpringContextLoaderListener(final ConfigurableWebApplicationContext context) {
         this.context = requireNonNull(context);
+        this.shutdownCoordinator = null;
+    }
+
+    /**
+     * @param context             the Spring application context
+     * @param shutdownCoordinator the shutdown sequence, run when the servlet context is destroyed
+     */
+    public SpringContextLoaderListener(final ConfigurableWebApplicationContext context,
+                                       final ShutdownCoordinator shutdownCoordinator) {
+        this.context = requireNonNull(context);
+        this.shutdownCoordinator = requireNonNull(shutdownCoordinator);
     }
 
     @Override
     public void contextInitialized(final ServletContextEvent sce) {
         sce.getServletContext().setAttribute(ROOT_WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
         context.setServletContext(sce.getServletContext());
+        if (shutdownCoordinator != null) {
+            shutdownCoordinator.markServing();
+        }
     }
 
     @Override
     public void contextDestroyed(final ServletContextEvent sce) {
-        //do nothing
+        // Jetty stopped accepting connections and waited for the requests in flight up to its grace period
+        if (shutdownCoordinator != null) {
+            shutdownCoordinator.shutdown();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package fr.cneftali.integrations.dropwizard.spring.shutdown;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs the shutdown of the Spring integration as one deterministic sequence of phases, e.g. drain the in-flight
+ * requests, then the executors, then stop the managed beans, then close the child contexts, then the parent.
+ *
+ * <p>The phases run one after another, in the order they were added, sharing a time budget: a phase failing or
+ * running out of time does not prevent the next ones from running. The duration of each phase is logged and reported
+ * to the {@code ShutdownCoordinator.<phase>} timer.</p>
+ *
+ * <p>{@link Managed} objects registered through {@link #deferStop(Managed)} are started by Dropwizard but stopped by
+ * the {@link #stopDeferred()} phase, since Jetty stops its managed objects in an order of its own.</p>
+ */
+@Slf4j
+public class ShutdownCoordinator {
+
+    private final Duration timeout;
+    private final MetricRegistry metrics;
+    private final Map<String, ShutdownPhase> phases = new LinkedHashMap<>();
+    private final Map<String, Long> durations = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Deque<Managed> deferred = new ArrayDeque<>();
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+    private final AtomicBoolean shutdownHookRegistered = new AtomicBoolean();
+    final Thread shutdownHook = new Thread(this::shutdown, "spring-shutdown");
+
+    /**
+     * @param timeout the time budget of the whole sequence
+     * @param metrics the registry of the phase timers
+     */
+    public ShutdownCoordinator(final Duration timeout, final MetricRegistry metrics) {
+        this.timeout = requireNonNull(timeout);
+        this.metrics = requireNonNull(metrics);
+    }
+
+    /**
+     * @param name  the name of the phase
+     * @param phase the phase, run after the ones already added
+     */
+    public void addPhase(final String name, final ShutdownPhase phase) {
+        if (phases.putIfAbsent(requireNonNull(name), requireNonNull(phase)) != null) {
+            throw new IllegalArgumentException("Duplicate shutdown phase: " + name);
+        }
+    }
+
+    /**
+     * @param managed a managed object
+     * @return the managed object to register in Dropwizard, starting it and leaving its stop to {@link #stopDeferred()}
+     */
+    public Managed deferStop(final Managed managed) {
+        requireNonNull(managed);
+        synchronized (deferred) {
+            deferred.push(managed);
+        }
+        return new Managed() {
+            @Override
+            public void start() throws Exception {
+                managed.start();
+            }
+
+            @Override
+            public void stop() {
+                // stopped by the coordinator
+            }
+        };
+    }
+
+    /**
+     * @return a phase stopping the deferred managed objects in the reverse order of their registration
+     */
+    public ShutdownPhase stopDeferred() {
+        return remaining -> {
+            synchronized (deferred) {
+                for (final Managed managed : deferred) {
+                    try {
+                        managed.stop();
+                    } catch (final Exception e) {
+                        log.warn("Unable to stop managed: " + managed, e);
+                    }
+                }
+                deferred.clear();
+            }
+        };
+    }
+
+    /**
+     * Run the shutdown sequence from a JVM shutdown hook until the server starts serving, Jetty then stopping the
+     * servlet context triggers it instead. Covers the commands not running the server, and startup failures.
+     */
+    public void registerShutdownHook() {
+        if (shutdownHookRegistered.compareAndSet(false, true)) {
+            Runtime.getRuntime()
+                   .addShutdownHook(shutdownHook);
+        }
+    }
+
+    /**
+     * Remove the JVM shutdown hook, if registered, so that it no longer retains the phases.
+     */
+    public void removeShutdownHook() {
+        if (shutdownHookRegistered.compareAndSet(true, false)) {
+            try {
+                Runtime.getRuntime()
+                       .removeShutdownHook(shutdownHook);
+            } catch (final IllegalStateException e) {
+                // The JVM is shutting down, the hook may be the caller
+            }
+        }
+    }
+
+    /**
+     * Record that the servlet context started, its destruction running the shutdown sequence instead of the JVM
+     * shutdown hook.
+     */
+    public void markServing() {
+        removeShutdownHook();
+    }
+
+    /**
+     * Run the phases, once: later calls return immediately.
+     */
+    public void shutdown() {
+        if (!shutdown.compareAndSet(false, true)) {
+            return;
+        }
+        removeShutdownHook();
+        final long start = System.nanoTime();
+        final long deadline = start + timeout.toNanoseconds();
+        phases.forEach((name, phase) -> {
+            final long phaseStart = System.nanoTime();
+            try {
+                phase.run(Duration.nanoseconds(Math.max(deadline - phaseStart, 0)));
+            } catch (final Exception e) {
+                log.warn("Shutdown phase " + name + " failed", e);
+            }
+            final long elapsed = System.nanoTime() - phaseStart;
+            durations.put(name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            metrics.timer(name(ShutdownCoordinator.class, name))
+                   .update(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Shutdown phase {} took {} ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        });
+        log.info("Shut down in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * @return the duration of the phases run, in milliseconds, by name
+     */
+    public Map<String, Long> getDurations() {
+        synchronized (durations) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(durations));
+        }
+    }
+}
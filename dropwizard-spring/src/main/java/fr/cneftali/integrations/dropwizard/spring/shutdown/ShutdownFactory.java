@@ -0,0 +1,32 @@
+package fr.cneftali.integrations.dropwizard.spring.shutdown;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the shutdown of the Spring integration, see {@link ShutdownCoordinator}.
+ */
+@Getter
+@Setter
+public class ShutdownFactory {
+
+    /**
+     * Once Jetty stopped accepting connections, drain the in-flight requests and the executors, stop the managed
+     * beans, then close the Spring contexts, in that order. Otherwise, the Spring contexts are closed by their own JVM
+     * shutdown hooks, concurrently with Jetty.
+     */
+    @JsonProperty
+    private boolean coordinated = false;
+
+    /**
+     * The time budget to drain the in-flight requests and the executors. The managed beans and the contexts are
+     * stopped even when it is exhausted.
+     */
+    @NotNull
+    @JsonProperty
+    private Duration timeout = Duration.seconds(30);
+}
@@ -0,0 +1,16 @@
+package fr.cneftali.integrations.dropwizard.spring.shutdown;
+
+import io.dropwizard.util.Duration;
+
+/**
+ * A step of the shutdown sequence, see {@link ShutdownCoordinator}.
+ */
+@FunctionalInterface
+public interface ShutdownPhase {
+
+    /**
+     * @param remaining what is left of the time budget of the shutdown, possibly nothing
+     * @throws Exception if the phase failed, the next ones still run
+     */
+    void run(Duration remaining) throws Exception;
+}
@@ -0,0 +1,169 @@
+package fr.cneftali.integrations.dropwizard.spring.validation;
+
+import com.google.common.reflect.TypeToken;
+import fr.cneftali.integrations.dropwizard.spring.ParameterNameProvider;
+import fr.cneftali.integrations.dropwizard.spring.async.AsyncResourceFeature;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.Valid;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.ElementDescriptor;
+import javax.validation.metadata.MethodDescriptor;
+import javax.validation.metadata.MethodType;
+import javax.validation.metadata.ParameterDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import javax.ws.rs.HttpMethod;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Pre-computes the Bean Validation metadata of resources, which Hibernate Validator otherwise builds on their first
+ * request, under contention when many requests arrive at once:
+ * <ul>
+ * <li>the parameter names of the resource methods, if resolved by the {@link ParameterNameProvider},</li>
+ * <li>the constraint metadata of the resources and of the entities they validate,</li>
+ * <li>the interpolation of the message templates of their constraints, cached by the message interpolator.</li>
+ * </ul>
+ */
+public final class ResourceValidation {
+
+    private ResourceValidation() {
+    }
+
+    /**
+     * Pre-compute the validation metadata of the given resources.
+     *
+     * @param validatorFactory the validator factory
+     * @param resourceClasses  the classes of the resources
+     * @return the number of classes described
+     */
+    public static int preCompute(final ValidatorFactory validatorFactory, final Collection<Class<?>> resourceClasses) {
+        if (validatorFactory.getParameterNameProvider() instanceof ParameterNameProvider) {
+            final ParameterNameProvider parameterNameProvider = (ParameterNameProvider) validatorFactory.getParameterNameProvider();
+            resourceClasses.forEach(parameterNameProvider::preload);
+        }
+        final Set<Class<?>> validatedClasses = new LinkedHashSet<>(resourceClasses);
+        resourceClasses.forEach(resourceClass -> addEntityClasses(resourceClass, validatedClasses));
+
+        final Validator validator = validatorFactory.getValidator();
+        final MessageInterpolator messageInterpolator = validatorFactory.getMessageInterpolator();
+        for (final Class<?> validatedClass : validatedClasses) {
+            final BeanDescriptor beanDescriptor = validator.getConstraintsForClass(validatedClass);
+            interpolate(messageInterpolator, beanDescriptor);
+            for (final PropertyDescriptor propertyDescriptor : beanDescriptor.getConstrainedProperties()) {
+                interpolate(messageInterpolator, propertyDescriptor);
+            }
+            for (final MethodDescriptor methodDescriptor : beanDescriptor.getConstrainedMethods(MethodType.GETTER,
+                                                                                                MethodType.NON_GETTER)) {
+                for (final ParameterDescriptor parameterDescriptor : methodDescriptor.getParameterDescriptors()) {
+                    interpolate(messageInterpolator, parameterDescriptor);
+                }
+                interpolate(messageInterpolator, methodDescriptor.getCrossParameterDescriptor());
+                interpolate(messageInterpolator, methodDescriptor.getReturnValueDescriptor());
+            }
+        }
+        return validatedClasses.size();
+    }
+
+    /**
+     * Add the classes of the entities validated by the resource methods: their parameters and return values
+     * annotated with {@link Valid}, and the type arguments of these, e.g. the elements of a list.
+     */
+    private static void addEntityClasses(final Class<?> resourceClass, final Set<Class<?>> validatedClasses) {
+        for (final Method method : ReflectionUtils.getUniqueDeclaredMethods(resourceClass)) {
+            if (AnnotationUtils.findAnnotation(method, HttpMethod.class) == null) {
+                continue;
+            }
+            if (AnnotationUtils.findAnnotation(method, Valid.class) != null) {
+                addClasses(AsyncResourceFeature.entityType(method), validatedClasses);
+            }
+            final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+            for (int i = 0; i < parameterAnnotations.length; i++) {
+                for (final Annotation annotation : parameterAnnotations[i]) {
+                    if (annotation instanceof Valid) {
+                        addClasses(method.getGenericParameterTypes()[i], validatedClasses);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addClasses(final Type type, final Set<Class<?>> validatedClasses) {
+        final Class<?> rawType = TypeToken.of(type)
+                                          .getRawType();
+        if (!rawType.isPrimitive() && !rawType.getName()
+                                              .startsWith("java.")) {
+            validatedClasses.add(rawType);
+        }
+        if (type instanceof ParameterizedType) {
+            for (final Type typeArgument : ((ParameterizedType) type).getActualTypeArguments()) {
+                addClasses(typeArgument, validatedClasses);
+            }
+        }
+    }
+
+    private static void interpolate(final MessageInterpolator messageInterpolator, final ElementDescriptor descriptor) {
+        if (descriptor == null) {
+            return;
+        }
+        for (final ConstraintDescriptor<?> constraintDescriptor : descriptor.getConstraintDescriptors()) {
+            interpolate(messageInterpolator, constraintDescriptor);
+        }
+    }
+
+    private static void interpolate(final MessageInterpolator messageInterpolator,
+                                    final ConstraintDescriptor<?> constraintDescriptor) {
+        try {
+            messageInterpolator.interpolate(constraintDescriptor.getMessageTemplate(),
+                                            new TemplateContext(constraintDescriptor),
+                                            Locale.getDefault());
+        } catch (final ValidationException e) {
+            // Left to be interpolated on the first violation, with its validated value
+        }
+        for (final ConstraintDescriptor<?> composingConstraint : constraintDescriptor.getComposingConstraints()) {
+            interpolate(messageInterpolator, composingConstraint);
+        }
+    }
+
+    /**
+     * The context of a message template interpolated ahead of any validation, without validated value.
+     */
+    private static class TemplateContext implements MessageInterpolator.Context {
+
+        private final ConstraintDescriptor<?> constraintDescriptor;
+
+        TemplateContext(final ConstraintDescriptor<?> constraintDescriptor) {
+            this.constraintDescriptor = constraintDescriptor;
+        }
+
+        @Override
+        public ConstraintDescriptor<?> getConstraintDescriptor() {
+            return constraintDescriptor;
+        }
+
+        @Override
+        public Object getValidatedValue() {
+            return null;
+        }
+
+        @Override
+        public <T> T unwrap(final Class<T> type) {
+            if (type.isInstance(this)) {
+                return type.cast(this);
+            }
+            throw new ValidationException("Unable to unwrap to " + type);
+        }
+    }
+}
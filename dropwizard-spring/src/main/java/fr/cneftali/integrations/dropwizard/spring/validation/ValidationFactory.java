@@ -0,0 +1,26 @@
+package fr.cneftali.integrations.dropwizard.spring.validation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration of the Bean Validation of the resources registered from Spring.
+ */
+@Getter
+@Setter
+public class ValidationFactory {
+
+    /**
+     * Build the constraint metadata and parameter names of the resources and their entities, and interpolate their
+     * message templates, at startup rather than on their first request, see {@link ResourceValidation}.
+     */
+    @JsonProperty
+    private boolean preCompute = true;
+
+    /**
+     * Stop validating a request at its first constraint violation, instead of reporting them all.
+     */
+    @JsonProperty
+    private boolean failFast = false;
+}
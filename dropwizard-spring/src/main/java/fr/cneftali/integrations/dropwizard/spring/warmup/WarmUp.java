@@ -0,0 +1,16 @@
+package fr.cneftali.integrations.dropwizard.spring.warmup;
+
+/**
+ * A Spring bean warming up what the first requests would otherwise pay for (caches, connection pools, lazily built
+ * structures, code paths to compile), before the application reports ready, see {@link WarmUpRunner}.
+ */
+@FunctionalInterface
+public interface WarmUp {
+
+    /**
+     * Warm up, once the server started.
+     *
+     * @throws Exception if the warm-up failed, which does not prevent the others from running
+     */
+    void warmUp() throws Exception;
+}
@@ -0,0 +1,46 @@
+package fr.cneftali.integrations.dropwizard.spring.warmup;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the warm-up run once the server started, see {@link WarmUpRunner}.
+ */
+@Getter
+@Setter
+public class WarmUpFactory {
+
+    /**
+     * Run the {@link WarmUp} beans and replay the {@link #requests}, the {@code spring-warm-up} health check being
+     * unhealthy until they are done.
+     */
+    @JsonProperty
+    private boolean enabled = true;
+
+    /**
+     * The number of times the {@link #requests} are replayed.
+     */
+    @Min(0)
+    @JsonProperty
+    private int iterations = 1000;
+
+    /**
+     * The maximum time spent warming up, after which the remaining iterations are skipped.
+     */
+    @NotNull
+    @JsonProperty
+    private Duration timeBudget = Duration.seconds(30);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private List<WarmUpRequestFactory> requests = new ArrayList<>();
+}
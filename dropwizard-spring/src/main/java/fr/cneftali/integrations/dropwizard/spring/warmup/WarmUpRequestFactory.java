@@ -0,0 +1,61 @@
+package fr.cneftali.integrations.dropwizard.spring.warmup;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.hibernate.validator.constraints.NotEmpty;
+
+import javax.validation.constraints.NotNull;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Configuration of a sample request replayed in-process against the Jersey resources during the warm-up.
+ */
+@Getter
+@Setter
+public class WarmUpRequestFactory {
+
+    @NotEmpty
+    @JsonProperty
+    private String method = "GET";
+
+    /**
+     * The path of the request, with its query, relative to the root path of Jersey.
+     */
+    @NotEmpty
+    @JsonProperty
+    private String path;
+
+    @NotNull
+    @JsonProperty
+    private Map<String, String> headers = new LinkedHashMap<>();
+
+    /**
+     * The entity of the request, if any; set its {@code Content-Type} in the {@link #headers}.
+     */
+    @JsonProperty
+    private String entity;
+
+    /**
+     * Build a new request, each request having its own entity stream.
+     *
+     * @param baseUri the base URI of the Jersey application
+     * @return the request
+     */
+    public ContainerRequest build(final URI baseUri) {
+        final URI requestUri = baseUri.resolve(path.startsWith("/") ? path.substring(1) : path);
+        final ContainerRequest request = new ContainerRequest(baseUri, requestUri, method, null, new MapPropertiesDelegate());
+        headers.forEach(request::header);
+        if (entity != null) {
+            request.setEntityStream(new ByteArrayInputStream(entity.getBytes(UTF_8)));
+        }
+        return request;
+    }
+}
@@ -0,0 +1,166 @@
+package fr.cneftali.integrations.dropwizard.spring.warmup;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.health.HealthCheck;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import fr.cneftali.integrations.dropwizard.spring.metrics.ResourceMetricsListener;
+import io.dropwizard.lifecycle.ServerLifecycleListener;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.server.Server;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.servlet.ServletContainer;
+
+import javax.servlet.Servlet;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Warms the application up once the server started, in a background thread: runs the {@link WarmUp} beans, then
+ * replays the sample requests in-process against Jersey, for {@link WarmUpFactory#getIterations()} or until
+ * {@link WarmUpFactory#getTimeBudget()} elapsed. The beans still running past the budget are interrupted and the
+ * requests skipped.
+ * <p/>
+ * As a health check, it reports unhealthy until the warm-up is done, so that the load balancer keeps the instance out
+ * of rotation meanwhile. The duration of the warm-up, in milliseconds, the latencies of the replayed requests, and
+ * the mean latency of the last iteration, in milliseconds, are reported to the metrics. The replayed requests are left
+ * out of the {@link ResourceMetricsListener resource metrics}.
+ */
+@Slf4j
+public class WarmUpRunner extends HealthCheck implements ServerLifecycleListener {
+
+    private static final URI BASE_URI = URI.create("http://localhost/");
+
+    private final Map<String, WarmUp> warmUps;
+    private final WarmUpFactory warmUpFactory;
+    private final Servlet jerseyContainer;
+    private final Timer requests;
+    private volatile boolean done;
+    private volatile long durationMillis;
+    private volatile double latencyMillis;
+
+    /**
+     * @param warmUps         the warm-up beans, by bean name
+     * @param warmUpFactory   the warm-up configuration
+     * @param jerseyContainer the Jersey servlet container of the application, whose handler is ready once started
+     * @param metrics         the metric registry
+     */
+    public WarmUpRunner(final Map<String, WarmUp> warmUps,
+                        final WarmUpFactory warmUpFactory,
+                        final Servlet jerseyContainer,
+                        final MetricRegistry metrics) {
+        this.warmUps = requireNonNull(warmUps);
+        this.warmUpFactory = requireNonNull(warmUpFactory);
+        this.jerseyContainer = jerseyContainer;
+        this.requests = metrics.timer(name(WarmUpRunner.class, "requests"));
+        metrics.remove(name(WarmUpRunner.class, "duration"));
+        metrics.register(name(WarmUpRunner.class, "duration"), (Gauge<Long>) () -> durationMillis);
+        metrics.remove(name(WarmUpRunner.class, "latency"));
+        metrics.register(name(WarmUpRunner.class, "latency"), (Gauge<Double>) () -> latencyMillis);
+    }
+
+    @Override
+    public void serverStarted(final Server server) {
+        final Thread thread = new Thread(this::warmUp, "spring-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    protected Result check() throws Exception {
+        return done ? Result.healthy("Warmed up in " + durationMillis + " ms") : Result.unhealthy("Warming up");
+    }
+
+    /**
+     * Run the warm-up beans, then replay the sample requests.
+     */
+    public void warmUp() {
+        final long start = System.nanoTime();
+        final long deadline = start + warmUpFactory.getTimeBudget()
+                                                   .toNanoseconds();
+        final List<WarmUpRequestFactory> samples = warmUpFactory.getRequests();
+        int iterations = 0;
+        try {
+            warmUpBeans(deadline);
+            if (!samples.isEmpty() && jerseyContainer instanceof ServletContainer) {
+                final ApplicationHandler applicationHandler = ((ServletContainer) jerseyContainer).getApplicationHandler();
+                for (; iterations < warmUpFactory.getIterations() && System.nanoTime() < deadline; iterations++) {
+                    final long iterationStart = System.nanoTime();
+                    for (final WarmUpRequestFactory sample : samples) {
+                        replay(applicationHandler, sample, iterations == 0);
+                    }
+                    latencyMillis = (System.nanoTime() - iterationStart) / 1e6 / samples.size();
+                }
+            }
+        } finally {
+            durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            done = true;
+        }
+        log.info("Warmed up {} beans and replayed {} iterations of {} requests in {} ms, down to {} ms per request",
+                 warmUps.size(), iterations, samples.size(), durationMillis, String.format("%.3f", latencyMillis));
+    }
+
+    /**
+     * Run the warm-up beans one after another on a thread of their own, interrupted past the deadline.
+     *
+     * @param deadline the deadline of the warm-up, in {@link System#nanoTime()} nanoseconds
+     */
+    private void warmUpBeans(final long deadline) {
+        if (warmUps.isEmpty()) {
+            return;
+        }
+        final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("spring-warm-up-beans")
+                                                                                                     .setDaemon(true)
+                                                                                                     .build());
+        final Future<?> beans = executor.submit(() -> warmUps.forEach((beanName, warmUp) -> {
+            try {
+                warmUp.warmUp();
+            } catch (final Exception e) {
+                log.warn("Unable to warm up bean: " + beanName, e);
+            }
+        }));
+        try {
+            beans.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            log.warn("The warm-up beans were still running after {}, interrupting them", warmUpFactory.getTimeBudget());
+        } catch (final ExecutionException e) {
+            log.warn("Unable to warm up the beans", e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void replay(final ApplicationHandler applicationHandler,
+                        final WarmUpRequestFactory sample,
+                        final boolean first) {
+        try (Timer.Context ignored = requests.time()) {
+            final ContainerRequest request = sample.build(BASE_URI);
+            request.setProperty(ResourceMetricsListener.UNMETERED_PROPERTY, Boolean.TRUE);
+            final ContainerResponse response = applicationHandler.apply(request)
+                                                                 .get();
+            if (first && response.getStatus() >= 400) {
+                log.warn("Warm-up request {} {} answered {}", sample.getMethod(), sample.getPath(), response.getStatus());
+            }
+        } catch (final Exception e) {
+            if (first) {
+                log.warn("Unable to replay warm-up request " + sample.getMethod() + " " + sample.getPath(), e);
+            }
+        }
+    }
+}
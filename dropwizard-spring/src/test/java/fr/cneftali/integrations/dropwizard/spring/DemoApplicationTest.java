@@ -0,0 +1,333 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.health.HealthCheck;
+import com.fasterxml.jackson.databind.JsonNode;
+import fr.cneftali.integrations.dropwizard.spring.example.DemoApplication;
+import fr.cneftali.integrations.dropwizard.spring.example.DemoConfiguration;
+import fr.cneftali.integrations.dropwizard.spring.example.resources.HelloWorldResourceImpl;
+import fr.cneftali.integrations.dropwizard.spring.example.resources.StreamingGreetingResource;
+import fr.cneftali.integrations.dropwizard.spring.resource.ScopedResourceFeature;
+import fr.cneftali.integrations.dropwizard.spring.warmup.WarmUpRunner;
+import io.dropwizard.db.ManagedPooledDataSource;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import javax.ws.rs.core.Response;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.stream.StreamSupport;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DemoApplicationTest {
+
+    private static final String CONFIG_PATH = ResourceHelpers.resourceFilePath("test-default-config.yml");
+
+
+    @ClassRule
+    public static final DropwizardAppRule<DemoConfiguration> DROPWIZARD = new DropwizardAppRule<>(DemoApplication.class,
+                                                                                                  CONFIG_PATH);
+
+
+    @Test
+    public void healthCheck() throws Exception {
+        // Given
+        awaitWarmUp();
+
+        // When
+        final Response response = this.DROPWIZARD.client()
+                                                 .target("http://localhost:" + DROPWIZARD.getAdminPort())
+                                                 .path("healthcheck")
+                                                 .queryParam("pretty",
+                                                             true)
+                                                 .request(APPLICATION_JSON_TYPE)
+                                                 .get();
+
+        // Then
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+    }
+
+    @Test
+    public void beanProfileTask() throws Exception {
+        // Given
+
+        // When
+        final Response response = this.DROPWIZARD.client()
+                                                 .target("http://localhost:" + DROPWIZARD.getAdminPort())
+                                                 .path("tasks/spring-bean-profile")
+                                                 .queryParam("limit",
+                                                             5)
+                                                 .request(APPLICATION_JSON_TYPE)
+                                                 .post(null);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(response.readEntity(String.class)).contains("\"slowest\"",
+                                                               "\"beanName\"",
+                                                               "\"criticalPath\"");
+    }
+
+    @Test
+    public void contextIntrospectionTask() throws Exception {
+        // Given
+
+        // When
+        final Response response = this.DROPWIZARD.client()
+                                                 .target("http://localhost:" + DROPWIZARD.getAdminPort())
+                                                 .path("tasks/spring-context")
+                                                 .queryParam("context", "application")
+                                                 .queryParam("clearCaches", true)
+                                                 .request(APPLICATION_JSON_TYPE)
+                                                 .post(null);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        final JsonNode introspection = DROPWIZARD.getObjectMapper()
+                                                 .readTree(response.readEntity(String.class));
+        assertThat(introspection.path("contexts")).hasSize(1);
+        final JsonNode resource = StreamSupport.stream(introspection.path("contexts")
+                                                                    .path(0)
+                                                                    .path("beans")
+                                                                    .spliterator(), false)
+                                               .filter(bean -> bean.path("name")
+                                                                   .asText()
+                                                                   .equals("helloWorldResourceImpl"))
+                                               .findFirst()
+                                               .orElseThrow(AssertionError::new);
+        assertThat(resource.path("scope")
+                           .asText()).isEqualTo("singleton");
+        assertThat(resource.path("retainedBytes")
+                           .asLong()).isPositive();
+        assertThat(resource.has("creationMillis")).isTrue();
+        assertThat(introspection.path("caches")
+                                .has("freedBytes")).isTrue();
+    }
+
+    @Test
+    public void resourceMetrics() throws Exception {
+        // Given
+        final long count = DROPWIZARD.getEnvironment()
+                                     .metrics()
+                                     .timer(name(HelloWorldResourceImpl.class, "get", "requests"))
+                                     .getCount();
+
+        // When
+        final Response response = this.DROPWIZARD.client()
+                                                 .target("http://localhost:" + DROPWIZARD.getLocalPort())
+                                                 .path("hello-world")
+                                                 .queryParam("says",
+                                                             "hello")
+                                                 .request(APPLICATION_JSON_TYPE)
+                                                 .get();
+
+        // Then the request is timed once Jersey finished with it, after the response is sent
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        final Timer timer = DROPWIZARD.getEnvironment()
+                                      .metrics()
+                                      .timer(name(HelloWorldResourceImpl.class, "get", "requests"));
+        for (int i = 0; i < 100 && timer.getCount() == count; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(timer.getCount()).isEqualTo(count + 1);
+        assertThat(DROPWIZARD.getEnvironment()
+                             .metrics()
+                             .counter(name(HelloWorldResourceImpl.class, "get", "in-flight"))
+                             .getCount()).isZero();
+    }
+
+    @Test
+    public void asyncResource() throws Exception {
+        // Given
+
+        // When
+        final Response response = this.DROPWIZARD.client()
+                                                 .target("http://localhost:" + DROPWIZARD.getLocalPort())
+                                                 .path("async-greetings")
+                                                 .queryParam("name",
+                                                             "world")
+                                                 .request(APPLICATION_JSON_TYPE)
+                                                 .get();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(response.readEntity(String.class)).startsWith("[")
+                                                      .contains("\"Hello\"", "\"world\"");
+    }
+
+    @Test
+    public void streamingResource() throws Exception {
+        // Given
+        final int closed = StreamingGreetingResource.CLOSED.get();
+
+        // When
+        final String response = DROPWIZARD.client()
+                                          .target("http://localhost:" + DROPWIZARD.getLocalPort())
+                                          .path("streaming-greetings")
+                                          .queryParam("count", 1000)
+                                          .request(APPLICATION_JSON_TYPE)
+                                          .get(String.class);
+
+        // Then
+        assertThat(DROPWIZARD.getEnvironment()
+                             .getObjectMapper()
+                             .readValue(response, String[].class)).hasSize(1000)
+                                                                  .startsWith("Hello 0")
+                                                                  .endsWith("Hello 999");
+        assertThat(StreamingGreetingResource.CLOSED.get()).isEqualTo(closed + 1);
+    }
+
+    @Test
+    public void requestScopedResource() throws Exception {
+        // Given
+        final String first = DROPWIZARD.client()
+                                       .target("http://localhost:" + DROPWIZARD.getLocalPort())
+                                       .path("request-scoped")
+                                       .request()
+                                       .get(String.class);
+
+        // When
+        final String second = DROPWIZARD.client()
+                                        .target("http://localhost:" + DROPWIZARD.getLocalPort())
+                                        .path("request-scoped")
+                                        .request()
+                                        .get(String.class);
+
+        // Then
+        assertThat(second).isNotEqualTo(first);
+    }
+
+    @Test
+    public void pooledResource() throws Exception {
+        // Given
+        final String idle = name(ScopedResourceFeature.class, "pooledResource", "idle");
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            assertThat(DROPWIZARD.client()
+                                 .target("http://localhost:" + DROPWIZARD.getLocalPort())
+                                 .path("pooled")
+                                 .request()
+                                 .get(String.class)).isEqualTo("pooled");
+        }
+
+        // Then the instance is returned once the request is closed, after the response is sent
+        final Gauge<?> gauge = DROPWIZARD.getEnvironment()
+                                         .metrics()
+                                         .getGauges()
+                                         .get(idle);
+        for (int i = 0; i < 100 && !Integer.valueOf(1).equals(gauge.getValue()); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(gauge.getValue()).isEqualTo(1);
+    }
+
+    @Test
+    public void moduleResource() throws Exception {
+        // Given
+        final SpringBundle<?> springBundle = ((DemoApplication) DROPWIZARD.getApplication()).getSpringBundle();
+
+        // When
+        final String response = DROPWIZARD.client()
+                                          .target("http://localhost:" + DROPWIZARD.getLocalPort())
+                                          .path("module")
+                                          .request()
+                                          .get(String.class);
+
+        // Then the module shares the parent of the application context
+        assertThat(response).isEqualTo(DROPWIZARD.getApplication()
+                                                 .getName());
+        assertThat(springBundle.getModules()
+                               .get("greeting")
+                               .getParent()).isSameAs(springBundle.getContext()
+                                                                  .getParent());
+    }
+
+    @Test
+    public void configurationPropertySource() throws Exception {
+        // Given
+        final SpringBundle<?> springBundle = ((DemoApplication) DROPWIZARD.getApplication()).getSpringBundle();
+
+        // When
+        final String iterations = springBundle.getModules()
+                                              .get("greeting")
+                                              .getEnvironment()
+                                              .resolvePlaceholders("${spring.warmUp.iterations}");
+
+        // Then
+        assertThat(iterations).isEqualTo("10");
+        assertThat(springBundle.getContext()
+                               .getEnvironment()
+                               .getProperty("myConfigurationElement")).isEqualTo("default value");
+    }
+
+    @Test
+    public void dataSource() throws Exception {
+        // Given
+        final DataSource dataSource = ((DemoApplication) DROPWIZARD.getApplication()).getSpringBundle()
+                                                                                    .getContext()
+                                                                                    .getBean("demoDataSource", DataSource.class);
+
+        // When
+        final int answer;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT 42")) {
+            resultSet.next();
+            answer = resultSet.getInt(1);
+        }
+
+        // Then
+        assertThat(answer).isEqualTo(42);
+        assertThat(DROPWIZARD.getEnvironment()
+                             .healthChecks()
+                             .runHealthCheck(SpringBundle.DATA_SOURCE_HEALTH_CHECK_PREFIX + "demoDataSource")
+                             .isHealthy()).isTrue();
+        assertThat(DROPWIZARD.getEnvironment()
+                             .metrics()
+                             .timer(name(ManagedPooledDataSource.class, "demoDataSource", "usage"))
+                             .getCount()).isGreaterThanOrEqualTo(3);
+        assertThat(DROPWIZARD.getEnvironment()
+                             .metrics()
+                             .getGauges()
+                             .get(name(ManagedPooledDataSource.class, "demoDataSource", "size"))
+                             .getValue()).isEqualTo(2);
+    }
+
+    @Test
+    public void warmUp() throws Exception {
+        // Given
+
+        // When
+        final HealthCheck.Result result = awaitWarmUp();
+
+        // Then
+        assertThat(result.isHealthy()).isTrue();
+        assertThat(DROPWIZARD.getEnvironment()
+                             .metrics()
+                             .timer(name(WarmUpRunner.class, "requests"))
+                             .getCount()).isEqualTo(10);
+    }
+
+    private static HealthCheck.Result awaitWarmUp() throws InterruptedException {
+        HealthCheck.Result result = DROPWIZARD.getEnvironment()
+                                              .healthChecks()
+                                              .runHealthCheck(SpringBundle.WARM_UP_HEALTH_CHECK_NAME);
+        for (int i = 0; i < 500 && !result.isHealthy(); i++) {
+            Thread.sleep(10);
+            result = DROPWIZARD.getEnvironment()
+                               .healthChecks()
+                               .runHealthCheck(SpringBundle.WARM_UP_HEALTH_CHECK_NAME);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+import fr.cneftali.integrations.dropwizard.spring.example.resources.HelloWorldResource;
+import fr.cneftali.integrations.dropwizard.spring.example.resources.HelloWorldResourceImpl;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParameterNameProviderTest {
+
+    private final ParameterNameProvider parameterNameProvider = new ParameterNameProvider();
+
+    @Test
+    public void getParameterNamesFromJaxRSInterface() throws Exception {
+        // Given
+        final Method method = HelloWorldResourceImpl.class.getMethod("get", String.class);
+
+        // When
+        final List<String> names = parameterNameProvider.getParameterNames(method);
+
+        // Then
+        assertThat(names).containsExactly("The query param 'says'");
+        assertThat(parameterNameProvider.getJaxRSMethod(method)).isEqualTo(HelloWorldResource.class.getMethod("get", String.class));
+    }
+
+    @Test
+    public void getParameterNamesIsCached() throws Exception {
+        // Given
+        final Method method = HelloWorldResourceImpl.class.getMethod("get", String.class);
+        parameterNameProvider.preload(HelloWorldResourceImpl.class);
+
+        // When
+        final List<String> names = parameterNameProvider.getParameterNames(method);
+
+        // Then
+        assertThat(names).isSameAs(parameterNameProvider.getParameterNames(method));
+    }
+}
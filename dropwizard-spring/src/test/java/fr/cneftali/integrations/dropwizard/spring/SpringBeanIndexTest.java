@@ -0,0 +1,102 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+import fr.cneftali.integrations.dropwizard.spring.example.health.HelloWorldHealthCheck;
+import fr.cneftali.integrations.dropwizard.spring.example.resources.HelloWorldResourceImpl;
+import fr.cneftali.integrations.dropwizard.spring.example.resources.RequestScopedResource;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpringBeanIndexTest {
+
+    @Test
+    public void buildIndexesBeansByRole() throws Exception {
+        // Given
+        final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(HelloWorldHealthCheck.class,
+                                                                                                  HelloWorldResourceImpl.class);
+        final BeanRole custom = BeanRole.assignableTo(HelloWorldResourceImpl.class);
+
+        // When
+        final SpringBeanIndex index = SpringBeanIndex.build(context.getBeanFactory(),
+                                                            ImmutableList.<BeanRole>builder()
+                                                                         .addAll(BeanRoles.ALL)
+                                                                         .add(custom)
+                                                                         .build());
+
+        // Then
+        assertThat(index.getBeans(BeanRoles.HEALTH_CHECK)).containsOnlyKeys("helloWorldHealthCheck");
+        assertThat(index.getBeans(BeanRoles.RESOURCE)).containsOnlyKeys("helloWorldResourceImpl");
+        assertThat(index.getBeans(BeanRoles.MANAGED)).isEmpty();
+        assertThat(index.getBeans(custom).get("helloWorldResourceImpl")).isSameAs(context.getBean(HelloWorldResourceImpl.class));
+        context.close();
+    }
+
+    @Test
+    public void buildIndexesScopedBeansByType() throws Exception {
+        // Given
+        final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(HelloWorldResourceImpl.class,
+                                                                                                  RequestScopedResource.class);
+
+        // When
+        final SpringBeanIndex index = SpringBeanIndex.build(context.getBeanFactory(), BeanRoles.ALL);
+
+        // Then
+        assertThat(index.getBeans(BeanRoles.RESOURCE)).containsOnlyKeys("helloWorldResourceImpl");
+        assertThat(index.getScopedBeans(BeanRoles.RESOURCE)).containsEntry("requestScopedResource", RequestScopedResource.class)
+                                                            .hasSize(1);
+        context.close();
+    }
+
+    @Test
+    public void buildInstantiatesPrototypesFillingOtherRolesOnce() throws Exception {
+        // Given
+        final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBeanDefinition("prototypeHealthCheck", BeanDefinitionBuilder.genericBeanDefinition(HelloWorldHealthCheck.class)
+                                                                                    .setScope(BeanDefinition.SCOPE_PROTOTYPE)
+                                                                                    .getBeanDefinition());
+        context.refresh();
+
+        // When
+        final SpringBeanIndex index = SpringBeanIndex.build(context.getBeanFactory(), BeanRoles.ALL);
+
+        // Then
+        assertThat(index.getBeans(BeanRoles.HEALTH_CHECK)).containsOnlyKeys("prototypeHealthCheck");
+        assertThat(index.getBeans(BeanRoles.HEALTH_CHECK)
+                        .get("prototypeHealthCheck")).isInstanceOf(HelloWorldHealthCheck.class);
+        assertThat(index.getScopedBeans(BeanRoles.HEALTH_CHECK)).isEmpty();
+        context.close();
+    }
+
+    @Test
+    public void mergeTracksTheBeanFactoryOfEachBean() throws Exception {
+        // Given
+        final AnnotationConfigApplicationContext application = new AnnotationConfigApplicationContext(HelloWorldResourceImpl.class);
+        final AnnotationConfigApplicationContext module = new AnnotationConfigApplicationContext(HelloWorldHealthCheck.class);
+
+        // When
+        final SpringBeanIndex index = SpringBeanIndex.merge(ImmutableList.of(SpringBeanIndex.build(application.getBeanFactory(), BeanRoles.ALL),
+                                                                             SpringBeanIndex.build(module.getBeanFactory(), BeanRoles.ALL)));
+
+        // Then
+        assertThat(index.getBeans(BeanRoles.RESOURCE)).containsOnlyKeys("helloWorldResourceImpl");
+        assertThat(index.getBeans(BeanRoles.HEALTH_CHECK)).containsOnlyKeys("helloWorldHealthCheck");
+        assertThat(index.getBeanFactory("helloWorldHealthCheck")).isSameAs(module.getBeanFactory());
+        application.close();
+        module.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void mergeRejectsBeansDefinedInSeveralContexts() throws Exception {
+        // Given
+        final AnnotationConfigApplicationContext application = new AnnotationConfigApplicationContext(HelloWorldResourceImpl.class);
+        final AnnotationConfigApplicationContext module = new AnnotationConfigApplicationContext(HelloWorldResourceImpl.class);
+
+        // When
+        SpringBeanIndex.merge(ImmutableList.of(SpringBeanIndex.build(application.getBeanFactory(), BeanRoles.ALL),
+                                               SpringBeanIndex.build(module.getBeanFactory(), BeanRoles.ALL)));
+    }
+}
@@ -0,0 +1,330 @@
+package fr.cneftali.integrations.dropwizard.spring;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import fr.cneftali.integrations.dropwizard.spring.cache.ConfiguredCacheManager;
+import fr.cneftali.integrations.dropwizard.spring.event.MeteredApplicationEventMulticaster;
+import io.dropwizard.Configuration;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.setup.Environment;
+import org.junit.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SpringBundleTest {
+
+    @Test
+    public void failedRefreshClosesTheRefreshedContexts() throws Exception {
+        failedRefreshClosesTheRefreshedContexts(false);
+    }
+
+    @Test
+    public void failedParallelRefreshClosesTheRefreshedContexts() throws Exception {
+        failedRefreshClosesTheRefreshedContexts(true);
+    }
+
+    @Test
+    public void failedStartupClosesTheContextsWhenTheShutdownIsCoordinated() throws Exception {
+        // Given a health check defined in two contexts, failing once they are refreshed
+        final TestConfiguration configuration = new TestConfiguration();
+        configuration.getSpringFactory()
+                     .getShutdown()
+                     .setCoordinated(true);
+        final SpringBundle<TestConfiguration> bundle = new SpringBundle<>("test", ApplicationBeans.class, HealthCheckBeans.class);
+        bundle.addModule("duplicate", HealthCheckBeans.class);
+        final int destroyed = Destroyable.DESTROYED.get();
+
+        // When
+        final Throwable thrown = catchThrowable(() -> bundle.run(configuration, newEnvironment()));
+
+        // Then
+        assertThat(thrown).isInstanceOf(IllegalStateException.class)
+                          .hasMessageContaining("healthCheck");
+        assertThat(Destroyable.DESTROYED.get()).isEqualTo(destroyed + 1);
+        assertThat(bundle.getContext()
+                         .isActive()).isFalse();
+        assertThat(bundle.getModules()
+                         .get("duplicate")
+                         .isActive()).isFalse();
+        assertThat(((ConfigurableApplicationContext) bundle.getContext()
+                                                           .getParent()).isActive()).isFalse();
+    }
+
+    @Test
+    public void keepTheEventMulticasterOfTheApplication() throws Exception {
+        // Given
+        final TestConfiguration configuration = new TestConfiguration();
+        configuration.getSpringFactory()
+                     .getEvents()
+                     .setEnabled(true);
+        configuration.getSpringFactory()
+                     .getShutdown()
+                     .setCoordinated(false);
+        final SpringBundle<TestConfiguration> bundle = new SpringBundle<>("test", MulticasterBeans.class);
+        bundle.addModule("metered");
+
+        // When
+        bundle.run(configuration, newEnvironment());
+
+        // Then
+        try {
+            assertThat(bundle.getContext()
+                             .getBean(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)).isSameAs(MulticasterBeans.MULTICASTER);
+            assertThat(bundle.getModules()
+                             .get("metered")
+                             .getBean(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)).isInstanceOf(MeteredApplicationEventMulticaster.class);
+        } finally {
+            close(bundle);
+        }
+    }
+
+    @Test
+    public void injectTheExecutorOfTheApplicationByType() throws Exception {
+        // Given
+        final TestConfiguration configuration = new TestConfiguration();
+        configuration.getSpringFactory()
+                     .getShutdown()
+                     .setCoordinated(false);
+        final SpringBundle<TestConfiguration> bundle = new SpringBundle<>("test", ExecutorBeans.class);
+
+        // When
+        bundle.run(configuration, newEnvironment());
+
+        // Then
+        try {
+            assertThat(bundle.getContext()
+                             .getBean(ExecutorBeans.class).executor).isSameAs(bundle.getContext()
+                                                                                     .getBean("myPool"));
+            assertThat(bundle.getContext()
+                             .getBean(SpringBundle.ASYNC_EXECUTOR_BEAN_NAME)).isNotSameAs(bundle.getContext()
+                                                                                              .getBean("myPool"));
+        } finally {
+            close(bundle);
+        }
+    }
+
+    @Test
+    public void injectTheCacheManagerOfTheApplicationByType() throws Exception {
+        // Given
+        final TestConfiguration configuration = new TestConfiguration();
+        configuration.getSpringFactory()
+                     .getShutdown()
+                     .setCoordinated(false);
+        final SpringBundle<TestConfiguration> bundle = new SpringBundle<>("test", CacheManagerBeans.class);
+        bundle.addModule("cached");
+
+        // When
+        bundle.run(configuration, newEnvironment());
+
+        // Then
+        try {
+            assertThat(bundle.getContext()
+                             .getBean(CacheManagerBeans.class).cacheManager).isSameAs(CacheManagerBeans.CACHE_MANAGER);
+            assertThat(bundle.getModules()
+                             .get("cached")
+                             .getBean(CacheManager.class)).isInstanceOf(ConfiguredCacheManager.class);
+        } finally {
+            close(bundle);
+        }
+    }
+
+    @Test
+    public void lazyInitializationOnlyCreatesTheBeansOfARole() throws Exception {
+        // Given
+        final TestConfiguration configuration = new TestConfiguration();
+        configuration.getSpringFactory()
+                     .setLazyInitialization(true);
+        final SpringBundle<TestConfiguration> bundle = new SpringBundle<>("test", HealthCheckBeans.class, ApplicationBeans.class);
+
+        // When
+        bundle.run(configuration, newEnvironment());
+
+        // Then
+        try {
+            assertThat(bundle.getContext()
+                             .getBeanFactory()
+                             .containsSingleton("healthCheck")).isTrue();
+            assertThat(bundle.getContext()
+                             .getBeanFactory()
+                             .containsSingleton("destroyable")).isFalse();
+        } finally {
+            close(bundle);
+        }
+    }
+
+    @Test
+    public void skipThePropertySourceOfAConfigurationNotSerializable() throws Exception {
+        // Given
+        final TestConfiguration configuration = new UnserializableConfiguration();
+        configuration.getSpringFactory()
+                     .setPropertySource(true);
+        final SpringBundle<TestConfiguration> bundle = new SpringBundle<>("test", ApplicationBeans.class);
+
+        // When
+        bundle.run(configuration, newEnvironment());
+
+        // Then
+        try {
+            assertThat(bundle.getContext()
+                             .isActive()).isTrue();
+            assertThat(catchThrowable(bundle::getPropertySource)).isInstanceOf(IllegalStateException.class);
+        } finally {
+            close(bundle);
+        }
+    }
+
+    private void failedRefreshClosesTheRefreshedContexts(final boolean parallelRefresh) throws Exception {
+        // Given
+        final TestConfiguration configuration = new TestConfiguration();
+        configuration.getSpringFactory()
+                     .setParallelRefresh(parallelRefresh);
+        configuration.getSpringFactory()
+                     .getShutdown()
+                     .setCoordinated(false);
+        final SpringBundle<TestConfiguration> bundle = new SpringBundle<>("test", ApplicationBeans.class);
+        bundle.addModule("failing", FailingBeans.class);
+        final int destroyed = Destroyable.DESTROYED.get();
+
+        // When
+        final Throwable thrown = catchThrowable(() -> bundle.run(configuration, newEnvironment()));
+
+        // Then
+        assertThat(thrown).hasStackTraceContaining("Refresh failure");
+        assertThat(Destroyable.DESTROYED.get()).isEqualTo(destroyed + 1);
+        assertThat(bundle.getContext()
+                         .isActive()).isFalse();
+        assertThat(((ConfigurableApplicationContext) bundle.getContext()
+                                                           .getParent()).isActive()).isFalse();
+    }
+
+    private static void close(final SpringBundle<?> bundle) {
+        bundle.getModules()
+              .values()
+              .forEach(ConfigurableApplicationContext::close);
+        bundle.getContext()
+              .close();
+        ((ConfigurableApplicationContext) bundle.getContext()
+                                                .getParent()).close();
+    }
+
+    private Environment newEnvironment() {
+        return new Environment("test",
+                               Jackson.newObjectMapper(),
+                               Validators.newValidator(),
+                               new MetricRegistry(),
+                               getClass().getClassLoader());
+    }
+
+    public static class TestConfiguration extends Configuration implements SpringConfiguration {
+
+        private final SpringFactory springFactory = new SpringFactory();
+
+        @Override
+        public SpringFactory getSpringFactory() {
+            return springFactory;
+        }
+    }
+
+    public static class UnserializableConfiguration extends TestConfiguration {
+
+        public Object getUnserializable() {
+            throw new UnsupportedOperationException("Not serializable");
+        }
+    }
+
+    public static class Destroyable implements DisposableBean {
+
+        static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        @Override
+        public void destroy() {
+            DESTROYED.incrementAndGet();
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    public static class ApplicationBeans {
+
+        @Bean
+        public Destroyable destroyable() {
+            return new Destroyable();
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    public static class HealthCheckBeans {
+
+        @Bean
+        public HealthCheck healthCheck() {
+            return new HealthCheck() {
+                @Override
+                protected Result check() {
+                    return Result.healthy();
+                }
+            };
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    public static class MulticasterBeans {
+
+        static final ApplicationEventMulticaster MULTICASTER = new SimpleApplicationEventMulticaster();
+
+        @Bean
+        public ApplicationEventMulticaster applicationEventMulticaster() {
+            return MULTICASTER;
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    public static class ExecutorBeans {
+
+        @Autowired
+        ExecutorService executor;
+
+        @Bean
+        public ExecutorService myPool() {
+            return Executors.newSingleThreadExecutor();
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    public static class CacheManagerBeans {
+
+        static final CacheManager CACHE_MANAGER = new ConcurrentMapCacheManager();
+
+        @Autowired
+        CacheManager cacheManager;
+
+        @Bean
+        public CacheManager myCacheManager() {
+            return CACHE_MANAGER;
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    public static class FailingBeans {
+
+        @Bean
+        public Object failing() throws InterruptedException {
+            // Let the application context refresh first
+            Thread.sleep(100);
+            throw new IllegalStateException("Refresh failure");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package fr.cneftali.integrations.dropwizard.spring.cache;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.google.common.collect.ImmutableMultimap;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfiguredCacheManagerTest {
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    @Test
+    public void cachesAreConfiguredAndMetered() throws Exception {
+        // Given
+        final CacheFactory greetings = new CacheFactory();
+        greetings.setMaximumSize(10L);
+        greetings.setRefreshAfterWrite(Duration.minutes(1));
+        greetings.setLoader("greetingLoader");
+        final CachesFactory cachesFactory = new CachesFactory();
+        cachesFactory.setDynamic(false);
+        cachesFactory.getCaches()
+                     .put("greetings", greetings);
+        beanFactory.registerSingleton("greetingLoader", (CacheLoader<Object, Object>) key -> "Hello " + key);
+        final ConfiguredCacheManager cacheManager = new ConfiguredCacheManager(cachesFactory, beanFactory, metrics);
+
+        // When
+        final Cache cache = cacheManager.getCache("greetings");
+        cache.get("world");
+        cache.get("world");
+
+        // Then
+        assertThat(cache.getNativeCache()).isInstanceOf(LoadingCache.class);
+        assertThat(cacheManager.getCache("unknown")).isNull();
+        assertThat(cacheManager.getCacheNames()).containsExactly("greetings");
+        assertThat(metrics.getGauges()
+                          .get(name(ConfiguredCacheManager.class, "greetings", "hits"))
+                          .getValue()).isEqualTo(1L);
+        assertThat(metrics.getGauges()
+                          .get(name(ConfiguredCacheManager.class, "greetings", "misses"))
+                          .getValue()).isEqualTo(1L);
+    }
+
+    @Test
+    public void loadersAreLookedUpInEveryBeanFactory() throws Exception {
+        // Given
+        final CacheFactory greetings = new CacheFactory();
+        greetings.setLoader("greetingLoader");
+        final CachesFactory cachesFactory = new CachesFactory();
+        cachesFactory.getCaches()
+                     .put("greetings", greetings);
+        final DefaultListableBeanFactory moduleBeanFactory = new DefaultListableBeanFactory();
+        moduleBeanFactory.registerSingleton("greetingLoader", (CacheLoader<Object, Object>) key -> "Hello " + key);
+        final ConfiguredCacheManager cacheManager = new ConfiguredCacheManager(cachesFactory,
+                                                                               Arrays.asList(beanFactory, moduleBeanFactory),
+                                                                               metrics);
+
+        // When
+        final Cache cache = cacheManager.getCache("greetings");
+
+        // Then
+        assertThat(cache.get("world")
+                        .get()).isEqualTo("Hello world");
+    }
+
+    @Test
+    public void dynamicCachesAreBoundedByDefault() throws Exception {
+        // Given
+        final ConfiguredCacheManager cacheManager = new ConfiguredCacheManager(new CachesFactory(), beanFactory, metrics);
+
+        // When
+        final CaffeineCache cache = cacheManager.getCache("greetings");
+
+        // Then
+        assertThat(cache.getNativeCache()
+                        .policy()
+                        .eviction()
+                        .map(Policy.Eviction::getMaximum)).contains(CachesFactory.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    @Test
+    public void cacheTaskInvalidatesCaches() throws Exception {
+        // Given
+        final ConfiguredCacheManager cacheManager = new ConfiguredCacheManager(new CachesFactory(), beanFactory, metrics);
+        cacheManager.getCache("greetings")
+                    .put("world", "Hello world");
+        final StringWriter output = new StringWriter();
+
+        // When
+        new CacheTask(cacheManager, Jackson.newObjectMapper()).execute(ImmutableMultimap.of("invalidate", "true"),
+                                                                      new PrintWriter(output));
+
+        // Then
+        assertThat(cacheManager.getCache("greetings")
+                               .get("world")).isNull();
+        assertThat(output.toString()).contains("\"greetings\"", "\"size\":0");
+    }
+}
@@ -0,0 +1,49 @@
+package fr.cneftali.integrations.dropwizard.spring.context;
+
+import fr.cneftali.integrations.dropwizard.spring.example.DemoConfiguration;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigurationPropertySourceTest {
+
+    @Test
+    public void flattensTheConfigurationTree() throws Exception {
+        // Given
+        final DemoConfiguration configuration = new DemoConfiguration();
+        configuration.getSpringFactory()
+                     .getHealthChecks()
+                     .setTimeout(Duration.seconds(2));
+
+        // When
+        final ConfigurationPropertySource propertySource = new ConfigurationPropertySource("dwConf",
+                                                                                           configuration,
+                                                                                           Jackson.newObjectMapper());
+
+        // Then
+        assertThat(propertySource.getProperty("myConfigurationElement")).isEqualTo("default value");
+        assertThat(propertySource.getProperty("spring.lazyInitialization")).isEqualTo(false);
+        assertThat(propertySource.getProperty("spring.healthChecks.timeout")).isEqualTo("2 seconds");
+        assertThat(propertySource.getProperty("server.applicationConnectors[0].port")).isEqualTo(8080);
+        assertThat(propertySource.getPropertyNames()).contains("spring.warmUp.iterations");
+    }
+
+    @Test
+    public void reloadReplacesTheProperties() throws Exception {
+        // Given
+        final DemoConfiguration configuration = new DemoConfiguration();
+        final ConfigurationPropertySource propertySource = new ConfigurationPropertySource("dwConf",
+                                                                                           configuration,
+                                                                                           Jackson.newObjectMapper());
+        final DemoConfiguration reloaded = new DemoConfiguration();
+        reloaded.setMyConfigurationElement("reloaded");
+
+        // When
+        propertySource.reload(reloaded);
+
+        // Then
+        assertThat(propertySource.getProperty("myConfigurationElement")).isEqualTo("reloaded");
+    }
+}
@@ -0,0 +1,135 @@
+package fr.cneftali.integrations.dropwizard.spring.context;
+
+import fr.cneftali.integrations.dropwizard.spring.context.indexed.IndexedComponent;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IndexedAnnotationConfigWebApplicationContextTest {
+
+    private static final String PACKAGE = "fr.cneftali.integrations.dropwizard.spring.context.indexed";
+    private static final String PACKAGE_PATH = PACKAGE.replace('.', '/');
+
+    private final IndexedAnnotationConfigWebApplicationContext context = new IndexedAnnotationConfigWebApplicationContext();
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    @Test
+    public void scanReadsTheIndexWhenItCoversThePackage() throws Exception {
+        // Given
+        context.setComponentIndex(index(Collections.singleton(root())));
+
+        // When
+        context.scan(PACKAGE);
+        context.refresh();
+
+        // Then only the indexed component is found
+        assertThat(context.containsBean("indexedComponent")).isTrue();
+        assertThat(context.containsBean("unindexedComponent")).isFalse();
+    }
+
+    @Test
+    public void scanWalksTheClassPathWhenARootHasNoIndex() throws Exception {
+        // Given
+        context.setComponentIndex(index(Collections.emptySet()));
+
+        // When
+        context.scan(PACKAGE);
+        context.refresh();
+
+        // Then
+        assertThat(context.containsBean("indexedComponent")).isTrue();
+        assertThat(context.containsBean("unindexedComponent")).isTrue();
+    }
+
+    @Test
+    public void componentScanReadsTheIndexWhenItCoversThePackage() throws Exception {
+        // Given
+        context.setComponentIndex(index(Collections.singleton(root())));
+
+        // When
+        context.register(ScanConfiguration.class);
+        context.refresh();
+
+        // Then only the indexed component is found
+        assertThat(context.containsBean("indexedComponent")).isTrue();
+        assertThat(context.containsBean("unindexedComponent")).isFalse();
+    }
+
+    @Test
+    public void componentScanWalksTheClassPathWhenARootHasNoIndex() throws Exception {
+        // Given
+        context.setComponentIndex(index(Collections.emptySet()));
+
+        // When
+        context.register(ScanConfiguration.class);
+        context.refresh();
+
+        // Then
+        assertThat(context.containsBean("indexedComponent")).isTrue();
+        assertThat(context.containsBean("unindexedComponent")).isTrue();
+    }
+
+    @Test
+    public void otherLookupsIgnoreTheIndex() throws Exception {
+        // Given
+        context.setComponentIndex(index(Collections.singleton(root())));
+
+        // When
+        final Resource[] resources = context.getResources("classpath*:" + PACKAGE_PATH + "/**/*.class");
+
+        // Then
+        assertThat(resources).hasSize(2);
+    }
+
+    @Test
+    public void scannerWalksTheClassPathWithIncludeFilters() throws Exception {
+        // Given
+        final IndexedClassPathBeanDefinitionScanner scanner = new IndexedClassPathBeanDefinitionScanner(new DefaultListableBeanFactory(),
+                                                                                                          new StandardEnvironment(),
+                                                                                                          new DefaultResourceLoader(),
+                                                                                                          index(Collections.singleton(root())));
+        scanner.addIncludeFilter(new AssignableTypeFilter(Object.class));
+
+        // When
+        final int count = scanner.scan(PACKAGE);
+
+        // Then the filter matches classes the index does not list
+        assertThat(count).isGreaterThanOrEqualTo(2);
+        assertThat(scanner.getRegistry()
+                          .containsBeanDefinition("unindexedComponent")).isTrue();
+    }
+
+    @Configuration
+    @ComponentScan(PACKAGE)
+    public static class ScanConfiguration {
+    }
+
+    private static CandidateComponentsIndex index(final Set<String> roots) {
+        return new CandidateComponentsIndex(Collections.singleton(IndexedComponent.class.getName()), roots);
+    }
+
+    /**
+     * The class path root holding the test classes.
+     */
+    private static String root() {
+        final String location = IndexedAnnotationConfigWebApplicationContextTest.class.getClassLoader()
+                                                                                     .getResource(PACKAGE_PATH + "/")
+                                                                                     .toString();
+        return location.substring(0, location.length() - PACKAGE_PATH.length() - 1);
+    }
+}
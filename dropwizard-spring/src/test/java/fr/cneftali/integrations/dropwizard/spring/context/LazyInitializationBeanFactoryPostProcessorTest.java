@@ -0,0 +1,41 @@
+package fr.cneftali.integrations.dropwizard.spring.context;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyInitializationBeanFactoryPostProcessorTest {
+
+    private final GenericApplicationContext context = new GenericApplicationContext();
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    @Test
+    public void deferTheApplicationSingletons() throws Exception {
+        // Given
+        final RootBeanDefinition infrastructure = new RootBeanDefinition(Object.class);
+        infrastructure.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+        context.registerBeanDefinition("eager", infrastructure);
+        context.registerBeanDefinition("lazy", new RootBeanDefinition(Object.class));
+        context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor());
+
+        // When
+        context.refresh();
+
+        // Then
+        assertThat(context.getBeanFactory()
+                          .containsSingleton("eager")).isTrue();
+        assertThat(context.getBeanFactory()
+                          .containsSingleton("lazy")).isFalse();
+        context.getBean("lazy");
+        assertThat(context.getBeanFactory()
+                          .containsSingleton("lazy")).isTrue();
+    }
+}
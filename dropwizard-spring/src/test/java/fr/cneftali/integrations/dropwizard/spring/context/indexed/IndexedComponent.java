@@ -0,0 +1,7 @@
+package fr.cneftali.integrations.dropwizard.spring.context.indexed;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class IndexedComponent {
+}
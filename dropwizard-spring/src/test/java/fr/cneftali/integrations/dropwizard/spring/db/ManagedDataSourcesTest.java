@@ -0,0 +1,69 @@
+package fr.cneftali.integrations.dropwizard.spring.db;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.ManagedPooledDataSource;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ManagedDataSourcesTest {
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final ManagedDataSources dataSources = new ManagedDataSources(Collections.singletonMap("h2", h2()), metrics);
+
+    @After
+    public void stop() throws Exception {
+        dataSources.stop();
+    }
+
+    @Test
+    public void warmUpValidatesTheInitialConnections() throws Exception {
+        // Given
+
+        // When
+        dataSources.warmUp();
+        dataSources.start();
+
+        // Then the pool is started once, its initial connections borrowed and given back
+        assertThat(metrics.timer(name(ManagedPooledDataSource.class, "h2", "wait"))
+                          .getCount()).isEqualTo(3);
+        assertThat(metrics.timer(name(ManagedPooledDataSource.class, "h2", "usage"))
+                          .getCount()).isEqualTo(3);
+        assertThat(metrics.getGauges()
+                          .get(name(ManagedPooledDataSource.class, "h2", "active"))
+                          .getValue()).isEqualTo(0);
+        assertThat(metrics.getGauges()
+                          .get(name(ManagedPooledDataSource.class, "h2", "idle"))
+                          .getValue()).isEqualTo(3);
+    }
+
+    @Test
+    public void healthChecksRunTheValidationQuery() throws Exception {
+        // Given
+        dataSources.start();
+
+        // When
+        final boolean healthy = dataSources.getHealthChecks()
+                                           .get("h2")
+                                           .execute()
+                                           .isHealthy();
+
+        // Then
+        assertThat(healthy).isTrue();
+    }
+
+    private static DataSourceFactory h2() {
+        final DataSourceFactory factory = new DataSourceFactory();
+        factory.setDriverClass("org.h2.Driver");
+        factory.setUrl("jdbc:h2:mem:managed-data-sources");
+        factory.setUser("sa");
+        factory.setInitialSize(3);
+        factory.setMinSize(3);
+        return factory;
+    }
+}
@@ -0,0 +1,156 @@
+package fr.cneftali.integrations.dropwizard.spring.event;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MeteredApplicationEventMulticasterTest {
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final EventsFactory eventsFactory = new EventsFactory();
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final Executor executor = tasks::add;
+
+    @Test
+    public void synchronousListenersAreTimedOnThePublisherThread() {
+        // Given
+        final SynchronousListener listener = new SynchronousListener();
+        final MeteredApplicationEventMulticaster multicaster = multicaster(executor);
+        multicaster.addApplicationListener(listener);
+
+        // When
+        multicaster.multicastEvent(event("hello"));
+
+        // Then
+        assertThat(listener.payloads).containsExactly("hello");
+        assertThat(tasks).isEmpty();
+        assertThat(metrics.timer(name(MeteredApplicationEventMulticaster.class, "MeteredApplicationEventMulticasterTest.SynchronousListener", "latency"))
+                          .getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void asynchronousListenersReceiveTheirEventsInBatches() {
+        // Given
+        eventsFactory.setBatchSize(2);
+        final DroppingListener listener = new DroppingListener();
+        final MeteredApplicationEventMulticaster multicaster = multicaster(executor);
+        multicaster.addApplicationListener(listener);
+
+        // When
+        multicaster.multicastEvent(event("first"));
+        multicaster.multicastEvent(event("second"));
+        multicaster.multicastEvent(event("third"));
+
+        // Then a single task is scheduled, delivering two events before scheduling the next one
+        assertThat(listener.payloads).isEmpty();
+        assertThat(tasks).hasSize(1);
+        assertThat(queued()).isEqualTo(3);
+        tasks.remove(0)
+             .run();
+        assertThat(listener.payloads).containsExactly("first", "second");
+        assertThat(tasks).hasSize(1);
+        tasks.remove(0)
+             .run();
+        assertThat(listener.payloads).containsExactly("first", "second", "third");
+        assertThat(queued()).isEqualTo(0);
+    }
+
+    @Test
+    public void fullQueuesApplyTheBackpressurePolicy() {
+        // Given
+        eventsFactory.setQueueSize(1);
+        final DroppingListener listener = new DroppingListener();
+        final MeteredApplicationEventMulticaster multicaster = multicaster(executor);
+        multicaster.addApplicationListener(listener);
+
+        // When
+        multicaster.multicastEvent(event("kept"));
+        multicaster.multicastEvent(event("dropped"));
+        tasks.remove(0)
+             .run();
+
+        // Then
+        assertThat(listener.payloads).containsExactly("kept");
+        assertThat(metrics.meter(name(MeteredApplicationEventMulticaster.class, "MeteredApplicationEventMulticasterTest.DroppingListener", "dropped"))
+                          .getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void callerRunsDeliversTheQueuedEventsFirst() {
+        // Given
+        eventsFactory.setQueueSize(1);
+        final CallerRunsListener listener = new CallerRunsListener();
+        final MeteredApplicationEventMulticaster multicaster = multicaster(executor);
+        multicaster.addApplicationListener(listener);
+
+        // When
+        multicaster.multicastEvent(event("queued"));
+        multicaster.multicastEvent(event("published"));
+
+        // Then delivered in order on the publisher thread, the scheduled task finding nothing left
+        assertThat(listener.payloads).containsExactly("queued", "published");
+        tasks.remove(0)
+             .run();
+        assertThat(listener.payloads).containsExactly("queued", "published");
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    public void eventsAreDeliveredOnThePublisherThreadOnceTheExecutorIsStopped() {
+        // Given
+        eventsFactory.setAsync(true);
+        final SynchronousListener listener = new SynchronousListener();
+        final MeteredApplicationEventMulticaster multicaster = multicaster(task -> {
+            throw new RejectedExecutionException("stopped");
+        });
+        multicaster.addApplicationListener(listener);
+
+        // When
+        multicaster.multicastEvent(event("closing"));
+
+        // Then
+        assertThat(listener.payloads).containsExactly("closing");
+    }
+
+    private MeteredApplicationEventMulticaster multicaster(final Executor executor) {
+        return new MeteredApplicationEventMulticaster(new DefaultListableBeanFactory(), executor, eventsFactory, metrics);
+    }
+
+    private Object queued() {
+        return metrics.getGauges()
+                      .get(name(MeteredApplicationEventMulticaster.class, "MeteredApplicationEventMulticasterTest.DroppingListener", "queued"))
+                      .getValue();
+    }
+
+    private static PayloadApplicationEvent<String> event(final String payload) {
+        return new PayloadApplicationEvent<>(MeteredApplicationEventMulticasterTest.class, payload);
+    }
+
+    private static class SynchronousListener implements ApplicationListener<PayloadApplicationEvent<String>> {
+
+        final List<String> payloads = new ArrayList<>();
+
+        @Override
+        public void onApplicationEvent(final PayloadApplicationEvent<String> event) {
+            payloads.add(event.getPayload());
+        }
+    }
+
+    @AsyncListener(backpressure = BackpressurePolicy.DROP)
+    private static class DroppingListener extends SynchronousListener {
+    }
+
+    @AsyncListener(backpressure = BackpressurePolicy.CALLER_RUNS)
+    private static class CallerRunsListener extends SynchronousListener {
+    }
+}
@@ -1,6 +1,8 @@
 package fr.cneftali.integrations.dropwizard.spring.example;
 
 import fr.cneftali.integrations.dropwizard.spring.AbstractSpringApplication;
+import fr.cneftali.integrations.dropwizard.spring.example.module.GreetingModule;
+import io.dropwizard.setup.Bootstrap;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,4 +14,9 @@ public class DemoApplication extends AbstractSpringApplication<DemoConfiguration
     public static void main(final String[] args) throws Exception {
         new DemoApplication().run(args);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void onInitialize(final Bootstrap<DemoConfiguration> bootstrap) {
+        getSpringBundle().addModule("greeting", GreetingModule.class);
+    }
+}
@@ -0,0 +1,34 @@
+package fr.cneftali.integrations.dropwizard.spring.example;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import fr.cneftali.integrations.dropwizard.spring.SpringConfiguration;
+import fr.cneftali.integrations.dropwizard.spring.SpringFactory;
+import fr.cneftali.integrations.dropwizard.spring.db.DataSourcesConfiguration;
+import io.dropwizard.Configuration;
+import io.dropwizard.db.DataSourceFactory;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+public class DemoConfiguration extends Configuration implements SpringConfiguration, DataSourcesConfiguration {
+
+    @NotNull
+    @JsonProperty("myConfigurationElement")
+    private String myConfigurationElement = "default value";
+
+    @Valid
+    @NotNull
+    @JsonProperty("spring")
+    private SpringFactory springFactory = new SpringFactory();
+
+    @Valid
+    @NotNull
+    @JsonProperty("dataSources")
+    private Map<String, DataSourceFactory> dataSourceFactories = new LinkedHashMap<>();
+}
@@ -0,0 +1,9 @@
+package fr.cneftali.integrations.dropwizard.spring.example.module;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ComponentScan("fr.cneftali.integrations.dropwizard.spring.example.module")
+public class GreetingModule {
+}
@@ -0,0 +1,28 @@
+package fr.cneftali.integrations.dropwizard.spring.example.module;
+
+import fr.cneftali.integrations.dropwizard.spring.SpringBundle;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+
+@Component
+@Path("/module")
+@Produces(TEXT_PLAIN)
+public class ModuleResource {
+
+    private final String applicationName;
+
+    public ModuleResource(@Qualifier(SpringBundle.APPLICATION_NAME_BEAN_NAME) final String applicationName) {
+        this.applicationName = applicationName;
+    }
+
+    @GET
+    public String get() {
+        return applicationName;
+    }
+}
@@ -0,0 +1,33 @@
+package fr.cneftali.integrations.dropwizard.spring.example.resources;
+
+import fr.cneftali.integrations.dropwizard.spring.SpringBundle;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+@Component
+@Path("/async-greetings")
+@Produces(APPLICATION_JSON)
+public class AsyncGreetingResource {
+
+    private final ExecutorService executor;
+
+    public AsyncGreetingResource(@Value("#{" + SpringBundle.ASYNC_EXECUTOR_BEAN_NAME + "}") final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    @GET
+    public CompletableFuture<List<String>> get(@QueryParam("name") final String name) {
+        return CompletableFuture.supplyAsync(() -> Arrays.asList("Hello", name), executor);
+    }
+}
@@ -0,0 +1,25 @@
+package fr.cneftali.integrations.dropwizard.spring.example.resources;
+
+import fr.cneftali.integrations.dropwizard.spring.resource.Pooled;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+
+@Component
+@Pooled(maxIdle = 4)
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+@Path("/pooled")
+@Produces(TEXT_PLAIN)
+public class PooledResource {
+
+    @GET
+    public String get() {
+        return "pooled";
+    }
+}
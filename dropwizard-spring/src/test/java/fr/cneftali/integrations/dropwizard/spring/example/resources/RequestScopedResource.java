@@ -0,0 +1,28 @@
+package fr.cneftali.integrations.dropwizard.spring.example.resources;
+
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+
+@Component
+@Scope(WebApplicationContext.SCOPE_REQUEST)
+@Path("/request-scoped")
+@Produces(TEXT_PLAIN)
+public class RequestScopedResource {
+
+    private static final AtomicLong INSTANCES = new AtomicLong();
+
+    private final long instance = INSTANCES.incrementAndGet();
+
+    @GET
+    public String get() {
+        return String.valueOf(instance);
+    }
+}
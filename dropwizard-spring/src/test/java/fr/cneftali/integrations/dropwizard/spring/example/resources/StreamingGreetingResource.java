@@ -0,0 +1,28 @@
+package fr.cneftali.integrations.dropwizard.spring.example.resources;
+
+import org.springframework.stereotype.Component;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+@Component
+@Path("/streaming-greetings")
+@Produces(APPLICATION_JSON)
+public class StreamingGreetingResource {
+
+    public static final AtomicInteger CLOSED = new AtomicInteger();
+
+    @GET
+    public Stream<String> get(@QueryParam("count") final int count) {
+        return IntStream.range(0, count)
+                        .mapToObj(i -> "Hello " + i)
+                        .onClose(CLOSED::incrementAndGet);
+    }
+}
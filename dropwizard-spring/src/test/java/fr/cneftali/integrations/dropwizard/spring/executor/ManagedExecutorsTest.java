@@ -0,0 +1,68 @@
+package fr.cneftali.integrations.dropwizard.spring.executor;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ManagedExecutorsTest {
+
+    private final MetricRegistry metrics = new MetricRegistry();
+
+    @Test
+    public void instrumentAndDrainThreadPoolTaskExecutor() throws Exception {
+        // Given
+        final ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(1);
+        taskExecutor.setMaxPoolSize(1);
+        taskExecutor.setQueueCapacity(1);
+        taskExecutor.initialize();
+        final ManagedExecutors executors = new ManagedExecutors(ImmutableMap.of("taskExecutor", taskExecutor),
+                                                                Duration.seconds(5),
+                                                                metrics);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean drained = new AtomicBoolean();
+        taskExecutor.execute(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        taskExecutor.execute(() -> drained.set(true));
+        running.await();
+
+        // When
+        final Throwable rejected = catchThrowable(() -> taskExecutor.execute(() -> { }));
+        final long queued = (Integer) metrics.getGauges()
+                                             .get(name(ManagedExecutors.class, "taskExecutor", "queued"))
+                                             .getValue();
+        release.countDown();
+        executors.stop();
+
+        // Then
+        assertThat(rejected).isInstanceOf(TaskRejectedException.class);
+        assertThat(queued).isEqualTo(1);
+        assertThat(metrics.meter(name(ManagedExecutors.class, "taskExecutor", "rejected"))
+                          .getCount()).isEqualTo(1);
+        assertThat(drained.get()).isTrue();
+        assertThat(taskExecutor.getThreadPoolExecutor()
+                               .isTerminated()).isTrue();
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package fr.cneftali.integrations.dropwizard.spring.health;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachedHealthCheckTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final HealthChecksFactory healthChecksFactory = new HealthChecksFactory();
+    private final Meter timeouts = new Meter();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void answerFromMemoryWithinTtl() throws Exception {
+        // Given
+        final AtomicInteger evaluations = new AtomicInteger();
+        healthChecksFactory.setTtl(Duration.minutes(1));
+        final CachedHealthCheck healthCheck = new CachedHealthCheck(new HealthCheck() {
+            @Override
+            protected Result check() {
+                return Result.healthy("evaluation " + evaluations.incrementAndGet());
+            }
+        }, executor, scheduler, healthChecksFactory, timeouts);
+
+        // When
+        final HealthCheck.Result first = healthCheck.execute();
+        final HealthCheck.Result second = healthCheck.execute();
+
+        // Then
+        assertThat(first.isHealthy()).isTrue();
+        assertThat(second.getMessage()).isEqualTo("evaluation 1");
+        assertThat(evaluations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void evaluateTheGroupTogether() throws Exception {
+        // Given two health checks waiting for each other
+        final CountDownLatch started = new CountDownLatch(2);
+        healthChecksFactory.setTtl(Duration.minutes(1));
+        final CachedHealthCheck first = new CachedHealthCheck(awaiting(started), executor, scheduler, healthChecksFactory, timeouts);
+        final CachedHealthCheck second = new CachedHealthCheck(awaiting(started), executor, scheduler, healthChecksFactory, timeouts);
+        final List<CachedHealthCheck> group = Arrays.asList(first, second);
+        first.setGroup(group);
+        second.setGroup(group);
+
+        // When
+        final HealthCheck.Result firstResult = first.execute();
+        final HealthCheck.Result secondResult = second.execute();
+
+        // Then both ran at the same time
+        assertThat(firstResult.isHealthy()).isTrue();
+        assertThat(secondResult.isHealthy()).isTrue();
+        assertThat(timeouts.getCount()).isZero();
+    }
+
+    @Test
+    public void reportUnhealthyAndInterruptOnTimeout() throws Exception {
+        // Given
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        healthChecksFactory.setTimeout(Duration.milliseconds(50));
+        final CachedHealthCheck healthCheck = new CachedHealthCheck(new HealthCheck() {
+            @Override
+            protected Result check() {
+                try {
+                    Thread.sleep(10_000);
+                } catch (final InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return Result.healthy();
+            }
+        }, executor, scheduler, healthChecksFactory, timeouts);
+
+        // When
+        final HealthCheck.Result result = healthCheck.execute();
+
+        // Then
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).isEqualTo("Timed out after 50 milliseconds");
+        interrupted.await();
+        assertThat(timeouts.getCount()).isEqualTo(1);
+    }
+
+    private static HealthCheck awaiting(final CountDownLatch started) {
+        return new HealthCheck() {
+            @Override
+            protected Result check() throws Exception {
+                started.countDown();
+                return started.await(1, TimeUnit.SECONDS) ? Result.healthy() : Result.unhealthy("Alone");
+            }
+        };
+    }
+}
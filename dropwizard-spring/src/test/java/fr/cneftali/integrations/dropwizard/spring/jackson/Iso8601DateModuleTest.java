@@ -0,0 +1,88 @@
+package fr.cneftali.integrations.dropwizard.spring.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ISO8601DateFormat;
+import io.dropwizard.jackson.Jackson;
+import org.junit.Test;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Date;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Iso8601DateModuleTest {
+
+    private final ObjectMapper legacy = Jackson.newObjectMapper()
+                                               .disable(WRITE_DATES_AS_TIMESTAMPS)
+                                               .setDateFormat(new ISO8601DateFormat());
+
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper()
+                                                     .disable(WRITE_DATES_AS_TIMESTAMPS)
+                                                     .registerModule(new Iso8601DateModule())
+                                                     .setDateFormat(new ISO8601DateFormat());
+
+    @Test
+    public void serializeLikeISO8601DateFormat() throws Exception {
+        // Given
+        final Date date = new Date(1500000000123L);
+
+        // When
+        final String json = objectMapper.writeValueAsString(date);
+
+        // Then
+        assertThat(json).isEqualTo(legacy.writeValueAsString(date))
+                        .isEqualTo("\"2017-07-14T02:40:00Z\"");
+    }
+
+    @Test
+    public void deserializeLikeISO8601DateFormat() throws Exception {
+        // Given
+        final String json = "\"2017-07-14T04:40:00.123+02:00\"";
+
+        // When
+        final Date date = objectMapper.readValue(json, Date.class);
+
+        // Then
+        assertThat(date).isEqualTo(legacy.readValue(json, Date.class))
+                        .isEqualTo(new Date(1500000000123L));
+        assertThat(objectMapper.readValue("1500000000123", Date.class)).isEqualTo(date);
+    }
+
+    @Test
+    public void serializeSqlDateLikeISO8601DateFormat() throws Exception {
+        // Given
+        final java.sql.Date date = new java.sql.Date(1500000000123L);
+
+        // When
+        final String json = objectMapper.writeValueAsString(date);
+
+        // Then
+        assertThat(json).isEqualTo(legacy.writeValueAsString(date));
+    }
+
+    @Test
+    public void serializeSqlTimeLikeISO8601DateFormat() throws Exception {
+        // Given
+        final Time time = new Time(1500000000123L);
+
+        // When
+        final String json = objectMapper.writeValueAsString(time);
+
+        // Then
+        assertThat(json).isEqualTo(legacy.writeValueAsString(time));
+    }
+
+    @Test
+    public void serializeSqlTimestampLikeISO8601DateFormat() throws Exception {
+        // Given
+        final Timestamp timestamp = new Timestamp(1500000000123L);
+
+        // When
+        final String json = objectMapper.writeValueAsString(timestamp);
+
+        // Then
+        assertThat(json).isEqualTo(legacy.writeValueAsString(timestamp));
+    }
+}
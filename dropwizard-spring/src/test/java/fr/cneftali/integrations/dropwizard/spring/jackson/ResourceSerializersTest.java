@@ -0,0 +1,91 @@
+package fr.cneftali.integrations.dropwizard.spring.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.cneftali.integrations.dropwizard.spring.example.resources.HelloWorldResourceImpl;
+import io.dropwizard.jackson.Jackson;
+import org.junit.Test;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.UriInfo;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceSerializersTest {
+
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+
+    @Test
+    public void preResolveEntityTypes() {
+        // Given
+        final List<Class<?>> resourceClasses = Arrays.asList(HelloWorldResourceImpl.class, EntityResource.class);
+
+        // When
+        final int resolved = ResourceSerializers.preResolve(objectMapper, resourceClasses);
+
+        // Then
+        assertThat(resolved).isEqualTo(2);
+    }
+
+    @Test
+    public void preResolveAnnotatedEntityTypes() {
+        // Given
+        final List<Class<?>> resourceClasses = Arrays.<Class<?>>asList(ValidatedEntityResource.class);
+
+        // When
+        final int resolved = ResourceSerializers.preResolve(objectMapper, resourceClasses);
+
+        // Then
+        assertThat(resolved).isEqualTo(1);
+    }
+
+    @Test
+    public void compactProfileDisablesIndentation() {
+        // Given
+        ObjectMapperProfile.PRETTY.configure(objectMapper);
+
+        // When
+        ObjectMapperProfile.COMPACT.configure(objectMapper);
+
+        // Then
+        assertThat(objectMapper.isEnabled(INDENT_OUTPUT)).isFalse();
+    }
+
+    public static class Entity {
+        public String name;
+    }
+
+    @Path("/entities")
+    public static class EntityResource {
+
+        @GET
+        public List<Entity> list(@QueryParam("name") final String name) {
+            return null;
+        }
+
+        @POST
+        public void create(final Entity entity) {
+        }
+    }
+
+    @Path("/validated-entities")
+    public static class ValidatedEntityResource {
+
+        @PUT
+        @Path("{id}")
+        public void update(@PathParam("id") final String id,
+                           @Valid @NotNull final Entity entity,
+                           @Context final UriInfo uriInfo) {
+        }
+    }
+}
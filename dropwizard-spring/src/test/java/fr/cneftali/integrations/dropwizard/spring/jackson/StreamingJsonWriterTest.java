@@ -0,0 +1,122 @@
+package fr.cneftali.integrations.dropwizard.spring.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
+import org.junit.Test;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamingJsonWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+
+    @Test
+    public void writeFlushesByBatch() throws Exception {
+        // Given
+        final StreamJsonWriter writer = new StreamJsonWriter(objectMapper, 10);
+        final AtomicInteger flushes = new AtomicInteger();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        final AtomicInteger closed = new AtomicInteger();
+        final Stream<Integer> stream = IntStream.range(0, 25)
+                                                .boxed()
+                                                .onClose(closed::incrementAndGet);
+
+        // When
+        writer.writeTo(stream, stream.getClass(), Stream.class, new Annotation[0], APPLICATION_JSON_TYPE,
+                       new MultivaluedHashMap<>(), bytes);
+
+        // Then 2 batches, then the end of the array
+        assertThat(objectMapper.readValue(bytes.toByteArray(), int[].class)).hasSize(25)
+                                                                            .endsWith(24);
+        assertThat(flushes.get()).isEqualTo(3);
+        assertThat(closed.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void writeClosesTheIteratorWhenTheClientDisconnects() throws Exception {
+        // Given
+        final IteratorJsonWriter writer = new IteratorJsonWriter(objectMapper, 1);
+        final CloseableIterator iterator = new CloseableIterator();
+        final OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When
+        assertThatThrownBy(() -> writer.writeTo(iterator, iterator.getClass(), Iterator.class, new Annotation[0],
+                                                APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), disconnected))
+                .isInstanceOf(IOException.class);
+
+        // Then
+        assertThat(iterator.closed).isTrue();
+        assertThat(iterator.next.get()).isLessThan(10);
+    }
+
+    @Test
+    public void writeLeavesTheArrayOpenWhenTheSequenceFails() throws Exception {
+        // Given
+        final StreamJsonWriter writer = new StreamJsonWriter(objectMapper, 1);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final AtomicInteger closed = new AtomicInteger();
+        final Stream<Integer> stream = IntStream.range(0, 10)
+                                                .boxed()
+                                                .map(i -> {
+                                                    if (i == 5) {
+                                                        throw new IllegalStateException("Sequence failure");
+                                                    }
+                                                    return i;
+                                                })
+                                                .onClose(closed::incrementAndGet);
+
+        // When
+        assertThatThrownBy(() -> writer.writeTo(stream, stream.getClass(), Stream.class, new Annotation[0],
+                                                APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), bytes))
+                .hasMessage("Sequence failure");
+
+        // Then the elements written so far are not ended as a valid array
+        assertThat(bytes.toString("UTF-8")).isEqualTo("[0,1,2,3,4");
+        assertThatThrownBy(() -> objectMapper.readValue(bytes.toByteArray(), int[].class)).isInstanceOf(IOException.class);
+        assertThat(closed.get()).isEqualTo(1);
+    }
+
+    private static class CloseableIterator implements Iterator<Long>, AutoCloseable {
+
+        private final AtomicLong next = new AtomicLong();
+        private boolean closed;
+
+        @Override
+        public boolean hasNext() {
+            return !closed;
+        }
+
+        @Override
+        public Long next() {
+            return next.getAndIncrement();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package fr.cneftali.integrations.dropwizard.spring.lifecycle;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class DependencyAwareLifecycleTest {
+
+    private static final List<String> EVENTS = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final MetricRegistry metrics = new MetricRegistry();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        EVENTS.clear();
+    }
+
+    @Test
+    public void startAndStopFollowDependencies() throws Exception {
+        // Given
+        final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(LifecycleConfiguration.class);
+        final DependencyAwareLifecycle lifecycle = new DependencyAwareLifecycle(context.getBeansOfType(Managed.class),
+                                                                                context.getBeanFactory(),
+                                                                                executor,
+                                                                                Duration.seconds(5),
+                                                                                Duration.seconds(5),
+                                                                                metrics);
+
+        // When
+        lifecycle.start();
+        lifecycle.stop();
+
+        // Then
+        assertThat(lifecycle.getWaves()).hasSize(3);
+        assertThat(lifecycle.getWaves().get(0)).containsOnly("pool", "cache");
+        assertThat(lifecycle.getWaves().get(1)).containsOnly("consumer");
+        assertThat(lifecycle.getWaves().get(2)).containsOnly("server");
+        assertThat(EVENTS.subList(2, 6)).containsExactly("start consumer", "start server", "stop server", "stop consumer");
+        assertThat(metrics.timer(MetricRegistry.name(DependencyAwareLifecycle.class, "consumer", "start"))
+                          .getCount()).isEqualTo(1);
+        context.close();
+    }
+
+    @Test
+    public void failedStartStopsTheStartedBeans() throws Exception {
+        // Given
+        final Map<String, Managed> beans = new LinkedHashMap<>();
+        beans.put("pool", new RecordingManaged("pool"));
+        beans.put("consumer", new RecordingManaged("consumer"));
+        beans.put("failing", new FailingManaged());
+        final DependencyAwareLifecycle lifecycle = lifecycle(beans, Duration.seconds(5));
+
+        // When
+        final Throwable thrown = catchThrowable(lifecycle::start);
+        lifecycle.stop();
+
+        // Then the beans are stopped once, in reverse wave order
+        assertThat(thrown).isInstanceOf(IllegalStateException.class)
+                          .hasMessage("Unable to start bean failing");
+        assertThat(EVENTS).containsExactly("start pool", "start consumer", "stop consumer", "stop pool");
+    }
+
+    @Test
+    public void startTimeoutIsSharedByTheWave() throws Exception {
+        // Given a wave of two beans, each starting within the timeout but not both one after the other
+        final Map<String, Managed> beans = new LinkedHashMap<>();
+        beans.put("pool", new RecordingManaged("pool"));
+        beans.put("consumer", new SlowManaged("consumer", 150));
+        beans.put("failing", new SlowManaged("failing", 300));
+        final DependencyAwareLifecycle lifecycle = lifecycle(beans, Duration.milliseconds(200));
+
+        // When
+        final Throwable thrown = catchThrowable(lifecycle::start);
+
+        // Then
+        assertThat(thrown).isInstanceOf(TimeoutException.class)
+                          .hasMessage("Bean failing did not start within 200 milliseconds");
+        assertThat(EVENTS).containsExactly("start pool", "start consumer", "stop consumer", "stop pool");
+    }
+
+    /**
+     * "consumer" and "failing" depend on "pool".
+     */
+    private DependencyAwareLifecycle lifecycle(final Map<String, Managed> beans, final Duration startTimeout) {
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beans.forEach(beanFactory::registerSingleton);
+        beanFactory.registerDependentBean("pool", "consumer");
+        beanFactory.registerDependentBean("pool", "failing");
+        return new DependencyAwareLifecycle(beans, beanFactory, executor, startTimeout, Duration.seconds(5), metrics);
+    }
+
+    @Configuration
+    static class LifecycleConfiguration {
+
+        @Bean
+        Managed pool() {
+            return new RecordingManaged("pool");
+        }
+
+        @Bean
+        Managed cache() {
+            return new RecordingManaged("cache");
+        }
+
+        @Bean
+        @DependsOn("pool")
+        Managed consumer() {
+            return new RecordingManaged("consumer");
+        }
+
+        @Bean
+        Object service(final Managed consumer) {
+            return new Object();
+        }
+
+        @Bean
+        @DependsOn("service")
+        Managed server() {
+            return new RecordingManaged("server");
+        }
+    }
+
+    static class RecordingManaged implements Managed {
+
+        private final String name;
+
+        RecordingManaged(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void start() {
+            EVENTS.add("start " + name);
+        }
+
+        @Override
+        public void stop() {
+            EVENTS.add("stop " + name);
+        }
+    }
+
+    static class FailingManaged implements Managed {
+
+        @Override
+        public void start() {
+            throw new IllegalStateException("failing");
+        }
+
+        @Override
+        public void stop() {
+            EVENTS.add("stop failing");
+        }
+    }
+
+    static class SlowManaged extends RecordingManaged {
+
+        private final long millis;
+
+        SlowManaged(final String name, final long millis) {
+            super(name);
+            this.millis = millis;
+        }
+
+        @Override
+        public void start() {
+            try {
+                Thread.sleep(millis);
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            super.start();
+        }
+    }
+}
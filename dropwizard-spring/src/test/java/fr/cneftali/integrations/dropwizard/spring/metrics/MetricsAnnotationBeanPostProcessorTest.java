@@ -0,0 +1,66 @@
+package fr.cneftali.integrations.dropwizard.spring.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.annotation.ExceptionMetered;
+import com.codahale.metrics.annotation.Gauge;
+import com.codahale.metrics.annotation.Timed;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class MetricsAnnotationBeanPostProcessorTest {
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    @Test
+    public void annotatedBeansAreMetered() throws Exception {
+        // Given
+        context.getBeanFactory()
+               .addBeanPostProcessor(new MetricsAnnotationBeanPostProcessor(metrics, new MetricsFactory()));
+        context.register(GreetingService.class);
+        context.refresh();
+        final GreetingService service = context.getBean(GreetingService.class);
+
+        // When
+        service.greet("world");
+        final Throwable thrown = catchThrowable(() -> service.greet(null));
+
+        // Then
+        assertThat(AopUtils.isCglibProxy(service)).isTrue();
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+        assertThat(metrics.timer(name(GreetingService.class, "greet"))
+                          .getCount()).isEqualTo(2);
+        assertThat(metrics.meter(name(GreetingService.class, "greet", "exceptions"))
+                          .getCount()).isEqualTo(1);
+        assertThat(metrics.getGauges()
+                          .get(name(GreetingService.class, "greeted", "gauge"))
+                          .getValue()).isEqualTo(1);
+    }
+
+    public static class GreetingService {
+
+        @Gauge
+        private int greeted;
+
+        @Timed
+        @ExceptionMetered
+        public String greet(final String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("name");
+            }
+            greeted++;
+            return "Hello " + name;
+        }
+    }
+}
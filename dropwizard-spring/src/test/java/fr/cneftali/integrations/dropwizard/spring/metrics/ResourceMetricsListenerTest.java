@@ -0,0 +1,148 @@
+package fr.cneftali.integrations.dropwizard.spring.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.WebApplicationException;
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ResourceMetricsListenerTest {
+
+    private final MetricRegistry metrics = new MetricRegistry();
+
+    private final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig().register(new MeteredResource())
+                                                                                          .register(new ResourceMetricsListener(ImmutableSet.of(MeteredResource.class),
+                                                                                                                                metrics,
+                                                                                                                                new MetricsFactory())));
+
+    @Test
+    public void timeRequests() throws Exception {
+        // Given
+
+        // When
+        final ContainerResponse response = get("/metered/ok").get();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(metrics.timer(name(MeteredResource.class, "ok", "requests"))
+                          .getCount()).isEqualTo(1);
+        assertThat(metrics.counter(name(MeteredResource.class, "ok", "in-flight"))
+                          .getCount()).isZero();
+        assertThat(metrics.meter(name(MeteredResource.class, "ok", "exceptions"))
+                          .getCount()).isZero();
+    }
+
+    @Test
+    public void meterMappedServerErrors() throws Exception {
+        // Given
+
+        // When
+        final ContainerResponse response = get("/metered/mapped").get();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(metrics.meter(name(MeteredResource.class, "mapped", "exceptions"))
+                          .getCount()).isEqualTo(1);
+        assertThat(metrics.counter(name(MeteredResource.class, "mapped", "in-flight"))
+                          .getCount()).isZero();
+    }
+
+    @Test
+    public void meterUnmappedExceptions() throws Exception {
+        // Given
+
+        // When
+        final Throwable thrown = catchThrowable(() -> get("/metered/unmapped").get());
+
+        // Then
+        assertThat(thrown).isInstanceOf(ExecutionException.class);
+        assertThat(metrics.timer(name(MeteredResource.class, "unmapped", "requests"))
+                          .getCount()).isEqualTo(1);
+        assertThat(metrics.meter(name(MeteredResource.class, "unmapped", "exceptions"))
+                          .getCount()).isEqualTo(1);
+        assertThat(metrics.counter(name(MeteredResource.class, "unmapped", "in-flight"))
+                          .getCount()).isZero();
+    }
+
+    @Test
+    public void skipUnmeteredMethods() throws Exception {
+        // Given
+
+        // When
+        get("/metered/unmetered").get();
+
+        // Then
+        assertThat(metrics.getNames()).doesNotContain(name(MeteredResource.class, "unmetered", "requests"));
+    }
+
+    @Test
+    public void skipUnmeteredRequests() throws Exception {
+        // Given
+        final ContainerRequest request = request("/metered/ok");
+        request.setProperty(ResourceMetricsListener.UNMETERED_PROPERTY, Boolean.TRUE);
+
+        // When
+        final ContainerResponse response = handler.apply(request)
+                                                  .get();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(metrics.timer(name(MeteredResource.class, "ok", "requests"))
+                          .getCount()).isZero();
+    }
+
+    private Future<ContainerResponse> get(final String path) {
+        return handler.apply(request(path));
+    }
+
+    private static ContainerRequest request(final String path) {
+        return new ContainerRequest(URI.create("http://localhost/"),
+                                    URI.create("http://localhost" + path),
+                                    "GET",
+                                    null,
+                                    new MapPropertiesDelegate());
+    }
+
+    @Path("/metered")
+    public static class MeteredResource {
+
+        @GET
+        @Path("ok")
+        public String ok() {
+            return "ok";
+        }
+
+        @GET
+        @Path("mapped")
+        public String mapped() {
+            throw new WebApplicationException(503);
+        }
+
+        @GET
+        @Path("unmapped")
+        public String unmapped() {
+            throw new IllegalStateException("unmapped");
+        }
+
+        @GET
+        @Unmetered
+        @Path("unmetered")
+        public String unmetered() {
+            return "unmetered";
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package fr.cneftali.integrations.dropwizard.spring.profiling;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetainedSizeEstimatorTest {
+
+    @Test
+    public void estimateChargesTheHeldObjects() throws Exception {
+        // Given
+        final RetainedSizeEstimator estimator = new RetainedSizeEstimator(object -> false, 1000);
+        final Holder holder = new Holder(new byte[1000]);
+
+        // When
+        final long size = estimator.estimate(holder);
+
+        // Then header and reference, plus the array header and its bytes
+        assertThat(size).isEqualTo(16 + 1016);
+    }
+
+    @Test
+    public void estimateStopsAtTheBoundary() throws Exception {
+        // Given
+        final byte[] shared = new byte[1000];
+        final RetainedSizeEstimator estimator = new RetainedSizeEstimator(object -> object == shared, 1000);
+        final List<Object> holders = new ArrayList<>();
+        holders.add(new Holder(shared));
+        holders.add(new Holder(shared));
+
+        // When
+        final long size = estimator.estimate(holders);
+
+        // Then
+        assertThat(size).isLessThan(1000);
+    }
+
+    private static class Holder {
+
+        private final Object value;
+
+        Holder(final Object value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package fr.cneftali.integrations.dropwizard.spring.shutdown;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShutdownCoordinatorTest {
+
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final ShutdownCoordinator coordinator = new ShutdownCoordinator(Duration.seconds(30), metrics);
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    public void shutdownRunsThePhasesInOrderOnce() throws Exception {
+        // Given
+        coordinator.deferStop(new RecordingManaged("first"))
+                   .stop();
+        coordinator.deferStop(new RecordingManaged("second"));
+        coordinator.addPhase("requests", remaining -> events.add("requests"));
+        coordinator.addPhase("failing", remaining -> {
+            throw new IllegalStateException("failing");
+        });
+        coordinator.addPhase("managed", coordinator.stopDeferred());
+
+        // When
+        coordinator.shutdown();
+        coordinator.shutdown();
+
+        // Then the deferred managed objects are stopped by their phase only, in reverse order
+        assertThat(events).containsExactly("requests", "stop second", "stop first");
+        assertThat(coordinator.getDurations()).containsOnlyKeys("requests", "failing", "managed");
+        assertThat(metrics.timer(name(ShutdownCoordinator.class, "managed"))
+                          .getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void phasesShareTheTimeBudget() throws Exception {
+        // Given
+        final ShutdownCoordinator coordinator = new ShutdownCoordinator(Duration.milliseconds(50), metrics);
+        final List<Duration> remainings = new ArrayList<>();
+        coordinator.addPhase("slow", remaining -> Thread.sleep(100));
+        coordinator.addPhase("next", remainings::add);
+
+        // When
+        coordinator.shutdown();
+
+        // Then
+        assertThat(remainings).containsExactly(Duration.nanoseconds(0));
+    }
+
+    @Test
+    public void servingRemovesTheShutdownHook() throws Exception {
+        // Given
+        coordinator.registerShutdownHook();
+
+        // When
+        coordinator.markServing();
+
+        // Then
+        assertThat(Runtime.getRuntime()
+                          .removeShutdownHook(coordinator.shutdownHook)).isFalse();
+    }
+
+    @Test
+    public void shutdownRemovesTheShutdownHook() throws Exception {
+        // Given
+        coordinator.registerShutdownHook();
+
+        // When
+        coordinator.shutdown();
+
+        // Then
+        assertThat(Runtime.getRuntime()
+                          .removeShutdownHook(coordinator.shutdownHook)).isFalse();
+    }
+
+    private class RecordingManaged implements Managed {
+
+        private final String name;
+
+        RecordingManaged(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void start() {
+            events.add("start " + name);
+        }
+
+        @Override
+        public void stop() {
+            events.add("stop " + name);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package fr.cneftali.integrations.dropwizard.spring.validation;
+
+import fr.cneftali.integrations.dropwizard.spring.ParameterNameProvider;
+import io.dropwizard.validation.BaseValidator;
+import org.hibernate.validator.constraints.NotEmpty;
+import org.junit.Test;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.Valid;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceValidationTest {
+
+    @Test
+    public void preComputeResourcesAndEntities() {
+        // Given
+        final Set<String> templates = ConcurrentHashMap.newKeySet();
+        final ValidatorFactory validatorFactory = BaseValidator.newConfiguration()
+                                                               .parameterNameProvider(new ParameterNameProvider())
+                                                               .messageInterpolator(new RecordingMessageInterpolator(templates))
+                                                               .buildValidatorFactory();
+
+        // When
+        final int described = ResourceValidation.preCompute(validatorFactory,
+                                                            Collections.singletonList(ValidatedResource.class));
+
+        // Then
+        assertThat(described).isEqualTo(2);
+        assertThat(templates).contains("{javax.validation.constraints.NotNull.message}",
+                                       "{org.hibernate.validator.constraints.NotEmpty.message}");
+    }
+
+    @Path("/validated")
+    public static class ValidatedResource {
+
+        @POST
+        public String post(@NotNull @QueryParam("id") final String id, @Valid final List<Entity> entities) {
+            return id;
+        }
+    }
+
+    public static class Entity {
+
+        @NotEmpty
+        private String name;
+    }
+
+    private static class RecordingMessageInterpolator implements MessageInterpolator {
+
+        private final Set<String> templates;
+
+        RecordingMessageInterpolator(final Set<String> templates) {
+            this.templates = templates;
+        }
+
+        @Override
+        public String interpolate(final String messageTemplate, final Context context) {
+            return interpolate(messageTemplate, context, Locale.getDefault());
+        }
+
+        @Override
+        public String interpolate(final String messageTemplate, final Context context, final Locale locale) {
+            templates.add(messageTemplate);
+            return messageTemplate;
+        }
+    }
+}
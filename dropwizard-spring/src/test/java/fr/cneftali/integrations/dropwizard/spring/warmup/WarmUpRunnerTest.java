@@ -0,0 +1,58 @@
+package fr.cneftali.integrations.dropwizard.spring.warmup;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WarmUpRunnerTest {
+
+    private final WarmUpFactory warmUpFactory = new WarmUpFactory();
+    private final Map<String, WarmUp> warmUps = new LinkedHashMap<>();
+
+    @Test
+    public void interruptTheBeansPastTheTimeBudget() throws Exception {
+        // Given
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        warmUpFactory.setTimeBudget(Duration.milliseconds(50));
+        warmUps.put("hanging", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        final WarmUpRunner warmUpRunner = new WarmUpRunner(warmUps, warmUpFactory, null, new MetricRegistry());
+
+        // When
+        warmUpRunner.warmUp();
+
+        // Then
+        assertThat(warmUpRunner.execute()
+                               .isHealthy()).isTrue();
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void reportHealthyWhenABeanThrowsAnError() throws Exception {
+        // Given
+        warmUps.put("failing", () -> {
+            throw new AssertionError("failing");
+        });
+        final WarmUpRunner warmUpRunner = new WarmUpRunner(warmUps, warmUpFactory, null, new MetricRegistry());
+
+        // When
+        warmUpRunner.warmUp();
+
+        // Then
+        final HealthCheck.Result result = warmUpRunner.execute();
+        assertThat(result.isHealthy()).isTrue();
+    }
+}